@@ -0,0 +1,48 @@
+package uz.garantbank.okrTrackingSystem.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import uz.garantbank.okrTrackingSystem.entity.Department;
+import uz.garantbank.okrTrackingSystem.entity.Division;
+import uz.garantbank.okrTrackingSystem.entity.Objective;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full recomputation of objective, department and division scores over a synthetic org.
+ * Each operation scores the whole org at that level, including the key results below it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationBenchmark {
+
+    @Benchmark
+    public void calculateObjectiveScore(OrgState state, Blackhole bh) {
+        for (Objective objective : state.org.objectives()) {
+            bh.consume(state.scoreService.calculateObjectiveScore(objective.getKeyResults()));
+        }
+    }
+
+    @Benchmark
+    public void calculateDepartmentScore(OrgState state, Blackhole bh) {
+        for (Department department : state.org.departments()) {
+            bh.consume(state.scoreService.calculateDepartmentScore(department.getObjectives()));
+        }
+    }
+
+    @Benchmark
+    public void calculateDivisionScore(OrgState state, Blackhole bh) {
+        for (Division division : state.org.divisions()) {
+            bh.consume(state.scoreService.calculateDivisionScore(division.getDepartments()));
+        }
+    }
+}
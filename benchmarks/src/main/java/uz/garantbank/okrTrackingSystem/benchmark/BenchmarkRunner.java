@@ -0,0 +1,35 @@
+package uz.garantbank.okrTrackingSystem.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of benchmarks.jar. Accepts the regular JMH command line and always adds
+ * the GC profiler, so every run reports allocation rate (gc.alloc.rate.norm = bytes per operation).
+ */
+public final class BenchmarkRunner {
+
+    private static final List<String> INFO_FLAGS = List.of("-h", "-l", "-lp", "-lprof", "-lrf");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.stream(args).anyMatch(INFO_FLAGS::contains)) {
+            Main.main(args);
+            return;
+        }
+
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
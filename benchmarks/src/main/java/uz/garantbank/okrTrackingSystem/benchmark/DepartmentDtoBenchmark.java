@@ -0,0 +1,52 @@
+package uz.garantbank.okrTrackingSystem.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import uz.garantbank.okrTrackingSystem.entity.Department;
+import uz.garantbank.okrTrackingSystem.service.OkrService;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OkrService.toDepartmentDTO over every department of a synthetic org: DTO building
+ * plus key result and objective scoring, as on the create/update paths.
+ * The method is private, so it is called through a MethodHandle resolved once in setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DepartmentDtoBenchmark {
+
+    private OkrService okrService;
+    private MethodHandle toDepartmentDTO;
+
+    @Setup
+    public void setUp(OrgState state) throws ReflectiveOperationException {
+        okrService = Fixtures.okrService(state.scoreService);
+        Method method = OkrService.class.getDeclaredMethod("toDepartmentDTO", Department.class);
+        method.setAccessible(true);
+        toDepartmentDTO = MethodHandles.lookup().unreflect(method);
+    }
+
+    @Benchmark
+    public void toDepartmentDTO(OrgState state, Blackhole bh) throws Throwable {
+        for (Department department : state.org.departments()) {
+            bh.consume(toDepartmentDTO.invoke(okrService, department));
+        }
+    }
+}
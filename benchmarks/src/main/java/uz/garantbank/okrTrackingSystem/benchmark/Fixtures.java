@@ -0,0 +1,70 @@
+package uz.garantbank.okrTrackingSystem.benchmark;
+
+import uz.garantbank.okrTrackingSystem.repository.EvaluationRepository;
+import uz.garantbank.okrTrackingSystem.repository.ScoreLevelRepository;
+import uz.garantbank.okrTrackingSystem.repository.UserRepository;
+import uz.garantbank.okrTrackingSystem.service.DepartmentAccessService;
+import uz.garantbank.okrTrackingSystem.service.OkrService;
+import uz.garantbank.okrTrackingSystem.service.ScoreCalculationService;
+import uz.garantbank.okrTrackingSystem.service.ScoreLevelRegistry;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+
+/**
+ * Wires the services under test without a Spring context or database.
+ * Repositories are stubs that fail on use, so a benchmark that unexpectedly
+ * hits the database fails instead of measuring a stub.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * Scoring service with the given number of DB-configured score levels (0 = built-in defaults)
+     */
+    static ScoreCalculationService scoreService(int levelCount) {
+        ScoreLevelRegistry registry = new ScoreLevelRegistry(unsupported(ScoreLevelRepository.class));
+        registry.publish(SyntheticOrg.scoreLevels(levelCount));
+        return new ScoreCalculationService(registry, unsupported(EvaluationRepository.class));
+    }
+
+    /**
+     * OkrService with only the collaborators used by DTO conversion.
+     * Outside a request no user is resolved, so progress stays hidden as for anonymous reads.
+     */
+    static OkrService okrService(ScoreCalculationService scoreService) {
+        OkrService okrService = new OkrService();
+        inject(okrService, "scoreService", scoreService);
+        inject(okrService, "accessService", new DepartmentAccessService(unsupported(UserRepository.class), null));
+        return okrService;
+    }
+
+    static <T> T unsupported(Class<T> type) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return type.getSimpleName() + " stub";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    throw new UnsupportedOperationException(
+                            type.getSimpleName() + "." + method.getName() + " is not available in benchmarks");
+            }
+        });
+        return type.cast(stub);
+    }
+
+    private static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + fieldName, e);
+        }
+    }
+}
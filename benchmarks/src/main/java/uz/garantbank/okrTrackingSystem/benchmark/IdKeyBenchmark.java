@@ -0,0 +1,161 @@
+package uz.garantbank.okrTrackingSystem.benchmark;
+
+import org.hibernate.id.uuid.UuidVersion7Strategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primary key layouts on an in-memory H2 database shaped like objectives / key_results:
+ * <ul>
+ *     <li>VARCHAR_RANDOM: VARCHAR(36) random (v4) UUID strings, the layout before native uuid IDs</li>
+ *     <li>UUID_RANDOM: native uuid with random (v4) values</li>
+ *     <li>UUID_V7: native uuid with time-ordered (v7) values, the current layout</li>
+ * </ul>
+ * Measures batched inserts into a populated table (index page splits), point lookups by primary key
+ * and the parent-to-children join. Run e.g. {@code java -jar target/benchmarks.jar IdKey -p rows=1000000}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdKeyBenchmark {
+
+    public enum KeyType {
+        VARCHAR_RANDOM("VARCHAR(36)"),
+        UUID_RANDOM("UUID"),
+        UUID_V7("UUID");
+
+        private final String columnType;
+
+        KeyType(String columnType) {
+            this.columnType = columnType;
+        }
+
+        Object next() {
+            UUID uuid = this == UUID_V7 ? UuidVersion7Strategy.INSTANCE.generateUuid(null) : UUID.randomUUID();
+            return this == VARCHAR_RANDOM ? uuid.toString() : uuid;
+        }
+    }
+
+    private static final int INSERT_BATCH = 500;
+    private static final int CHILDREN_PER_PARENT = 4;
+
+    @Param({"VARCHAR_RANDOM", "UUID_RANDOM", "UUID_V7"})
+    public KeyType keyType;
+
+    /** Parent rows loaded before measuring (children = 4x) */
+    @Param({"100000"})
+    public int rows;
+
+    private Connection connection;
+    private PreparedStatement insertParent;
+    private PreparedStatement insertChild;
+    private PreparedStatement selectParent;
+    private PreparedStatement selectChildren;
+    private List<Object> parentIds;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:idkey-" + keyType + ";DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP ALL OBJECTS");
+            ddl.execute("CREATE TABLE objectives (id " + keyType.columnType + " PRIMARY KEY, name VARCHAR(255))");
+            ddl.execute("CREATE TABLE key_results (id " + keyType.columnType + " PRIMARY KEY, name VARCHAR(255), "
+                    + "objective_id " + keyType.columnType + " NOT NULL REFERENCES objectives (id))");
+        }
+        insertParent = connection.prepareStatement("INSERT INTO objectives (id, name) VALUES (?, ?)");
+        insertChild = connection.prepareStatement("INSERT INTO key_results (id, name, objective_id) VALUES (?, ?, ?)");
+        selectParent = connection.prepareStatement("SELECT name FROM objectives WHERE id = ?");
+        selectChildren = connection.prepareStatement("SELECT kr.id, kr.name FROM objectives o "
+                + "JOIN key_results kr ON kr.objective_id = o.id WHERE o.id = ?");
+
+        parentIds = new ArrayList<>(rows);
+        for (int done = 0; done < rows; done += INSERT_BATCH) {
+            insertBatch(Math.min(INSERT_BATCH, rows - done));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSERT_BATCH)
+    public void insert() throws SQLException {
+        insertBatch(INSERT_BATCH);
+    }
+
+    @Benchmark
+    public void lookupById(Blackhole bh) throws SQLException {
+        selectParent.setObject(1, parentIds.get(random.nextInt(rows)));
+        try (ResultSet rs = selectParent.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getString(1));
+            }
+        }
+    }
+
+    @Benchmark
+    public void joinChildren(Blackhole bh) throws SQLException {
+        selectChildren.setObject(1, parentIds.get(random.nextInt(rows)));
+        try (ResultSet rs = selectChildren.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getObject(1));
+                bh.consume(rs.getString(2));
+            }
+        }
+    }
+
+    /**
+     * Insert parents with their children, one JDBC batch per table
+     */
+    private void insertBatch(int count) throws SQLException {
+        for (int i = 0; i < count; i++) {
+            Object parentId = keyType.next();
+            insertParent.setObject(1, parentId);
+            insertParent.setString(2, "Objective " + parentIds.size());
+            insertParent.addBatch();
+            for (int c = 0; c < CHILDREN_PER_PARENT; c++) {
+                insertChild.setObject(1, keyType.next());
+                insertChild.setString(2, "Key result " + c);
+                insertChild.setObject(3, parentId);
+                insertChild.addBatch();
+            }
+            parentIds.add(parentId);
+        }
+        insertParent.executeBatch();
+        insertChild.executeBatch();
+    }
+}
@@ -0,0 +1,62 @@
+package uz.garantbank.okrTrackingSystem.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import uz.garantbank.okrTrackingSystem.entity.KeyResult;
+import uz.garantbank.okrTrackingSystem.service.ScoreCalculationService;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScoreCalculationService.calculateKeyResultScore per metric type,
+ * with the built-in default levels (levelCount = 0) and with DB-configured levels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyResultScoreBenchmark {
+
+    private static final int BATCH = 1024;
+
+    @Param({"HIGHER_BETTER", "LOWER_BETTER", "QUALITATIVE"})
+    public KeyResult.MetricType metricType;
+
+    @Param({"0", "5", "7"})
+    public int levelCount;
+
+    private ScoreCalculationService scoreService;
+    private KeyResult[] keyResults;
+
+    @Setup
+    public void setUp() {
+        scoreService = Fixtures.scoreService(levelCount);
+        SplittableRandom random = new SplittableRandom(42);
+        keyResults = new KeyResult[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            keyResults[i] = SyntheticOrg.keyResult("kr-" + i, metricType, random);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void calculateKeyResultScore(Blackhole bh) {
+        for (KeyResult kr : keyResults) {
+            bh.consume(scoreService.calculateKeyResultScore(kr));
+        }
+    }
+}
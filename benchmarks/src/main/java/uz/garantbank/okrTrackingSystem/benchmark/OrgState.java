@@ -0,0 +1,46 @@
+package uz.garantbank.okrTrackingSystem.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uz.garantbank.okrTrackingSystem.service.ScoreCalculationService;
+
+/**
+ * Shared benchmark state: a synthetic organization and a scoring service.
+ * Every dimension is a JMH parameter and can be overridden with -p, e.g.
+ * {@code -p divisions=20 -p mix=0:0:100 -p levelCount=7}.
+ */
+@State(Scope.Benchmark)
+public class OrgState {
+
+    @Param({"4"})
+    public int divisions;
+
+    @Param({"5"})
+    public int departmentsPerDivision;
+
+    @Param({"4"})
+    public int objectivesPerDepartment;
+
+    @Param({"5"})
+    public int keyResultsPerObjective;
+
+    /** higher:lower:qualitative */
+    @Param({"100:0:0", "0:100:0", "0:0:100", "50:30:20"})
+    public String mix;
+
+    /** 0 = built-in default levels */
+    @Param({"0", "5"})
+    public int levelCount;
+
+    public SyntheticOrg org;
+    public ScoreCalculationService scoreService;
+
+    @Setup
+    public void setUp() {
+        org = SyntheticOrg.generate(divisions, departmentsPerDivision, objectivesPerDepartment,
+                keyResultsPerObjective, SyntheticOrg.MetricMix.parse(mix), 42);
+        scoreService = Fixtures.scoreService(levelCount);
+    }
+}
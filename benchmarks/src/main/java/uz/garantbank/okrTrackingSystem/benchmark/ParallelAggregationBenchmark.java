@@ -0,0 +1,77 @@
+package uz.garantbank.okrTrackingSystem.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import uz.garantbank.okrTrackingSystem.dto.DepartmentScoreResult;
+import uz.garantbank.okrTrackingSystem.dto.ScoreResult;
+import uz.garantbank.okrTrackingSystem.entity.Department;
+import uz.garantbank.okrTrackingSystem.entity.Evaluation;
+import uz.garantbank.okrTrackingSystem.entity.EvaluatorType;
+import uz.garantbank.okrTrackingSystem.service.ParallelScoreService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Combined department scores of a large org (OKR score plus director, HR and business block
+ * evaluations, as in the calibration views) through ParallelScoreService,
+ * sequential (threshold above the org size) versus split across the score pool.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelAggregationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        /** 0 = one worker per available CPU */
+        @Param({"0"})
+        public int parallelism;
+
+        /** 1 = always parallel, Integer.MAX_VALUE = always sequential */
+        @Param({"1", "2147483647"})
+        public int threshold;
+
+        public ParallelScoreService parallelScores;
+        public Map<String, ScoreResult> okrScores;
+        public Map<String, Map<EvaluatorType, Evaluation>> evaluations;
+
+        @Setup
+        public void setUp(OrgState org) {
+            parallelScores = new ParallelScoreService(org.scoreService, parallelism, threshold);
+            okrScores = new LinkedHashMap<>();
+            evaluations = new LinkedHashMap<>();
+            for (Department dept : org.org.departments()) {
+                okrScores.put(dept.getId(), org.scoreService.calculateDepartmentScore(dept.getObjectives()));
+                evaluations.put(dept.getId(), Map.of(
+                        EvaluatorType.DIRECTOR, Evaluation.builder().numericRating(4.5).build(),
+                        EvaluatorType.HR, Evaluation.builder().letterRating("B").build(),
+                        EvaluatorType.BUSINESS_BLOCK, Evaluation.builder().numericRating(4.0).build()));
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            parallelScores.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Map<String, DepartmentScoreResult> calculateDepartmentScoresWithEvaluations(PoolState pool) {
+        return pool.parallelScores.calculateDepartmentScoresWithEvaluations(pool.okrScores, pool.evaluations);
+    }
+}
@@ -0,0 +1,198 @@
+package uz.garantbank.okrTrackingSystem.benchmark;
+
+import uz.garantbank.okrTrackingSystem.entity.Department;
+import uz.garantbank.okrTrackingSystem.entity.Division;
+import uz.garantbank.okrTrackingSystem.entity.KeyResult;
+import uz.garantbank.okrTrackingSystem.entity.Objective;
+import uz.garantbank.okrTrackingSystem.entity.ScoreLevel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic in-memory organization (divisions / departments / objectives / key results)
+ * for benchmarks. Entities are wired both ways, like a fully fetched JPA graph.
+ */
+public final class SyntheticOrg {
+
+    private static final String[] GRADES = {"A", "B", "C", "D", "E"};
+    private static final String[] LEVEL_COLORS = {"#d9534f", "#f0ad4e", "#5cb85c", "#28a745", "#1e7b34"};
+
+    private final List<Division> divisions = new ArrayList<>();
+    private final List<Department> departments = new ArrayList<>();
+    private final List<Objective> objectives = new ArrayList<>();
+    private final List<KeyResult> keyResults = new ArrayList<>();
+
+    private SyntheticOrg() {
+    }
+
+    /**
+     * Generate an organization.
+     *
+     * @param divisions                number of divisions
+     * @param departmentsPerDivision   departments in each division
+     * @param objectivesPerDepartment  objectives in each department
+     * @param keyResultsPerObjective   key results in each objective
+     * @param mix                      metric type mix
+     * @param seed                     random seed (same seed, same org)
+     */
+    public static SyntheticOrg generate(int divisions, int departmentsPerDivision, int objectivesPerDepartment,
+                                        int keyResultsPerObjective, MetricMix mix, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        SyntheticOrg org = new SyntheticOrg();
+
+        for (int dv = 0; dv < divisions; dv++) {
+            Division division = new Division();
+            division.setId("div-" + dv);
+            division.setName("Division " + dv);
+            org.divisions.add(division);
+
+            for (int dp = 0; dp < departmentsPerDivision; dp++) {
+                Department department = Department.builder()
+                        .id(division.getId() + "-dept-" + dp)
+                        .name("Department " + dv + "." + dp)
+                        .division(division)
+                        .build();
+                division.getDepartments().add(department);
+                org.departments.add(department);
+
+                for (int o = 0; o < objectivesPerDepartment; o++) {
+                    Objective objective = Objective.builder()
+                            .id(department.getId() + "-obj-" + o)
+                            .name("Objective " + o)
+                            .weight(100 / objectivesPerDepartment)
+                            .department(department)
+                            .build();
+                    department.getObjectives().add(objective);
+                    org.objectives.add(objective);
+
+                    for (int k = 0; k < keyResultsPerObjective; k++) {
+                        KeyResult kr = keyResult(objective.getId() + "-kr-" + k, mix.pick(random), random);
+                        kr.setWeight(100 / keyResultsPerObjective);
+                        kr.setObjective(objective);
+                        objective.getKeyResults().add(kr);
+                        org.keyResults.add(kr);
+                    }
+                }
+            }
+        }
+        return org;
+    }
+
+    /**
+     * A single key result of the given type with random thresholds and actual value
+     */
+    public static KeyResult keyResult(String id, KeyResult.MetricType type, SplittableRandom random) {
+        KeyResult kr = KeyResult.builder()
+                .id(id)
+                .name("Key result " + id)
+                .metricType(type)
+                .unit("%")
+                .weight(100)
+                .progress(random.nextInt(101))
+                .build();
+
+        if (type == KeyResult.MetricType.QUALITATIVE) {
+            kr.applyActualValue(GRADES[random.nextInt(GRADES.length)]);
+            return kr;
+        }
+
+        // Five ascending thresholds; LOWER_BETTER uses them in reverse
+        double base = random.nextInt(10, 100);
+        double step = random.nextInt(5, 25);
+        double[] t = {base, base + step, base + 2 * step, base + 3 * step, base + 4 * step};
+        if (type == KeyResult.MetricType.LOWER_BETTER) {
+            kr.setThresholdBelow(t[4]);
+            kr.setThresholdMeets(t[3]);
+            kr.setThresholdGood(t[2]);
+            kr.setThresholdVeryGood(t[1]);
+            kr.setThresholdExceptional(t[0]);
+        } else {
+            kr.setThresholdBelow(t[0]);
+            kr.setThresholdMeets(t[1]);
+            kr.setThresholdGood(t[2]);
+            kr.setThresholdVeryGood(t[3]);
+            kr.setThresholdExceptional(t[4]);
+        }
+        // Actual values cover the whole range, including values outside the thresholds
+        double actual = base - step + random.nextDouble() * 6 * step;
+        kr.applyActualValue(String.format(Locale.ROOT, "%.2f", actual));
+        return kr;
+    }
+
+    /**
+     * Score levels as configured in the database, evenly spread over 0.0-1.0.
+     * A count of 0 returns an empty list, i.e. the built-in default levels.
+     */
+    public static List<ScoreLevel> scoreLevels(int count) {
+        List<ScoreLevel> levels = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            double value = count == 1 ? 0.0 : (double) i / (count - 1);
+            levels.add(ScoreLevel.builder()
+                    .id("level-" + i)
+                    .name("Level " + i)
+                    .scoreValue(Math.round(value * 100) / 100.0)
+                    .color(LEVEL_COLORS[i % LEVEL_COLORS.length])
+                    .displayOrder(i)
+                    .isDefault(false)
+                    .build());
+        }
+        return levels;
+    }
+
+    public List<Division> divisions() {
+        return divisions;
+    }
+
+    public List<Department> departments() {
+        return departments;
+    }
+
+    public List<Objective> objectives() {
+        return objectives;
+    }
+
+    public List<KeyResult> keyResults() {
+        return keyResults;
+    }
+
+    /**
+     * Share of each metric type, written as "higher:lower:qualitative" (e.g. "50:30:20")
+     */
+    public record MetricMix(int higherBetter, int lowerBetter, int qualitative) {
+
+        public MetricMix {
+            if (higherBetter < 0 || lowerBetter < 0 || qualitative < 0
+                    || higherBetter + lowerBetter + qualitative == 0) {
+                throw new IllegalArgumentException("Metric mix needs at least one positive share");
+            }
+        }
+
+        public static MetricMix parse(String mix) {
+            String[] parts = mix.split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Metric mix must look like 50:30:20, got " + mix);
+            }
+            return new MetricMix(Integer.parseInt(parts[0].trim()),
+                    Integer.parseInt(parts[1].trim()),
+                    Integer.parseInt(parts[2].trim()));
+        }
+
+        public static MetricMix only(KeyResult.MetricType type) {
+            return switch (type) {
+                case HIGHER_BETTER -> new MetricMix(1, 0, 0);
+                case LOWER_BETTER -> new MetricMix(0, 1, 0);
+                case QUALITATIVE -> new MetricMix(0, 0, 1);
+            };
+        }
+
+        KeyResult.MetricType pick(SplittableRandom random) {
+            int n = random.nextInt(higherBetter + lowerBetter + qualitative);
+            if (n < higherBetter) return KeyResult.MetricType.HIGHER_BETTER;
+            if (n < higherBetter + lowerBetter) return KeyResult.MetricType.LOWER_BETTER;
+            return KeyResult.MetricType.QUALITATIVE;
+        }
+    }
+}
@@ -18,7 +18,7 @@ DROP TABLE IF EXISTS users;
 -- USERS TABLE
 -- ============================================
 CREATE TABLE users (
-    id              UUID PRIMARY KEY,
+    id              UUID PRIMARY KEY,         -- time-ordered (v7)
     username        VARCHAR(255) NOT NULL UNIQUE,
     email           VARCHAR(255) NOT NULL UNIQUE,
     password        VARCHAR(255) NOT NULL,
@@ -31,6 +31,8 @@ CREATE TABLE users (
     is_active       BOOLEAN NOT NULL DEFAULT TRUE,
     can_edit_assigned_departments BOOLEAN NOT NULL DEFAULT FALSE,
     last_login      TIMESTAMP,
+    last_seen       TIMESTAMP,
+    tokens_valid_after TIMESTAMP,          -- JWTs issued at or before this time are rejected
     created_at      TIMESTAMP NOT NULL,
     updated_at      TIMESTAMP
 );
@@ -39,7 +41,7 @@ CREATE TABLE users (
 -- DIVISION TABLE
 -- ============================================
 CREATE TABLE division (
-    id              VARCHAR(36) PRIMARY KEY,  -- UUID as string
+    id              UUID PRIMARY KEY,         -- time-ordered (v7)
     name            VARCHAR(255),
     leader_id       UUID,
     created_at      TIMESTAMP,
@@ -53,10 +55,13 @@ CREATE TABLE division (
 -- DEPARTMENT TABLE
 -- ============================================
 CREATE TABLE department (
-    id              VARCHAR(36) PRIMARY KEY,  -- UUID as string
+    id              UUID PRIMARY KEY,         -- time-ordered (v7)
     name            VARCHAR(255) NOT NULL,
-    division_id     VARCHAR(36) NOT NULL,
+    division_id     UUID NOT NULL,
     leader_id       UUID,
+    score           DOUBLE PRECISION,  -- Persisted OKR score (0.0-1.0)
+    score_level     INTEGER,  -- Persisted score level index, 0 = lowest
+    score_percentage DOUBLE PRECISION,  -- Persisted score as percentage
     created_at      TIMESTAMP,
     updated_at      TIMESTAMP,
 
@@ -71,7 +76,7 @@ CREATE TABLE department (
 -- ============================================
 CREATE TABLE user_departments (
     user_id         UUID NOT NULL,
-    department_id   VARCHAR(36) NOT NULL,
+    department_id   UUID NOT NULL,
 
     PRIMARY KEY (user_id, department_id),
     CONSTRAINT fk_ud_user
@@ -84,12 +89,15 @@ CREATE TABLE user_departments (
 -- OBJECTIVES TABLE
 -- ============================================
 CREATE TABLE objectives (
-    id              VARCHAR(36) PRIMARY KEY,  -- UUID as string
+    id              UUID PRIMARY KEY,         -- time-ordered (v7)
     name            VARCHAR(255) NOT NULL,
     weight          INTEGER NOT NULL,  -- Percentage 0-100
-    department_id   VARCHAR(36),
+    department_id   UUID,
     employee_id     UUID,
     level           VARCHAR(50) NOT NULL,  -- ENUM: DEPARTMENT, INDIVIDUAL
+    score           DOUBLE PRECISION,  -- Persisted score (0.0-1.0)
+    score_level     INTEGER,  -- Persisted score level index, 0 = lowest
+    score_percentage DOUBLE PRECISION,  -- Persisted score as percentage
 
     CONSTRAINT fk_objective_department
         FOREIGN KEY (department_id) REFERENCES department(id),
@@ -101,7 +109,7 @@ CREATE TABLE objectives (
 -- KEY_RESULTS TABLE
 -- ============================================
 CREATE TABLE key_results (
-    id                      VARCHAR(36) PRIMARY KEY,  -- UUID as string
+    id                      UUID PRIMARY KEY,         -- time-ordered (v7)
     name                    VARCHAR(255) NOT NULL,
     description             TEXT,
     metric_type             VARCHAR(50) NOT NULL,  -- ENUM: HIGHER_BETTER, LOWER_BETTER, QUALITATIVE
@@ -113,7 +121,12 @@ CREATE TABLE key_results (
     threshold_very_good     DOUBLE PRECISION,
     threshold_exceptional   DOUBLE PRECISION,
     actual_value            VARCHAR(255),
-    objective_id            VARCHAR(36) NOT NULL,
+    actual_numeric          DOUBLE PRECISION,  -- Parsed actual_value (quantitative KRs)
+    actual_grade            VARCHAR(1),  -- Parsed actual_value (qualitative KRs): A-E
+    score                   DOUBLE PRECISION,  -- Persisted score (0.0-1.0)
+    score_level             INTEGER,  -- Persisted score level index, 0 = lowest
+    score_percentage        DOUBLE PRECISION,  -- Persisted score as percentage
+    objective_id            UUID NOT NULL,
 
     CONSTRAINT fk_kr_objective
         FOREIGN KEY (objective_id) REFERENCES objectives(id)
@@ -123,7 +136,7 @@ CREATE TABLE key_results (
 -- EVALUATIONS TABLE
 -- ============================================
 CREATE TABLE evaluations (
-    id              UUID PRIMARY KEY,
+    id              UUID PRIMARY KEY,         -- time-ordered (v7)
     evaluator_id    UUID NOT NULL,
     evaluator_type  VARCHAR(50) NOT NULL,  -- ENUM: DIRECTOR, HR, BUSINESS_BLOCK
     target_type     VARCHAR(50) NOT NULL,  -- 'DEPARTMENT' or 'EMPLOYEE'
@@ -143,7 +156,7 @@ CREATE TABLE evaluations (
 -- SCORE_LEVELS TABLE
 -- ============================================
 CREATE TABLE score_levels (
-    id              VARCHAR(36) PRIMARY KEY,  -- UUID as string
+    id              UUID PRIMARY KEY,         -- time-ordered (v7)
     name            VARCHAR(255) NOT NULL,    -- e.g., "Below", "Meets", "Good"
     score_value     DOUBLE PRECISION NOT NULL,-- e.g., 3.0, 4.25, 4.5
     color           VARCHAR(20) NOT NULL,     -- e.g., "#d9534f"
@@ -154,11 +167,20 @@ CREATE TABLE score_levels (
 -- ============================================
 -- INDEXES (for better query performance)
 -- ============================================
+-- Lookup indexes: src/main/resources/db/migration/V1__hot_path_indexes.sql
+-- Foreign key columns (leader_id, division_id, department_id, employee_id, objective_id) are indexed
+-- by H2 together with their constraints; add indexes for them on databases that do not do this.
 CREATE INDEX idx_users_role ON users(role);
-CREATE INDEX idx_users_username ON users(username);
-CREATE INDEX idx_department_division ON department(division_id);
-CREATE INDEX idx_objectives_department ON objectives(department_id);
-CREATE INDEX idx_objectives_employee ON objectives(employee_id);
-CREATE INDEX idx_key_results_objective ON key_results(objective_id);
-CREATE INDEX idx_evaluations_target ON evaluations(target_type, target_id);
-CREATE INDEX idx_evaluations_evaluator ON evaluations(evaluator_id);
+CREATE INDEX idx_division_name ON division(name);
+CREATE INDEX idx_department_name ON department(name);
+CREATE INDEX idx_user_departments_department ON user_departments(department_id, user_id);
+CREATE INDEX idx_evaluations_target ON evaluations(target_type, target_id, status, evaluator_type);
+CREATE INDEX idx_evaluations_evaluator ON evaluations(evaluator_id, target_type, target_id, evaluator_type);
+CREATE INDEX idx_score_levels_display_order ON score_levels(display_order);
+-- Persisted score indexes: @Table(indexes) on the entities
+CREATE INDEX idx_department_score_level ON department(score_level, score);
+CREATE INDEX idx_department_score ON department(score);
+CREATE INDEX idx_objectives_score_level ON objectives(score_level, score);
+CREATE INDEX idx_objectives_score ON objectives(score);
+CREATE INDEX idx_key_results_score_level ON key_results(score_level, score);
+CREATE INDEX idx_key_results_score ON key_results(score);
@@ -0,0 +1,51 @@
+package uz.garantbank.okrTrackingSystem.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import uz.garantbank.okrTrackingSystem.entity.KeyResult;
+import uz.garantbank.okrTrackingSystem.repository.KeyResultRepository;
+
+import java.util.List;
+
+/**
+ * Backfills the parsed actual value columns (actual_numeric / actual_grade) of key results
+ * stored before those columns existed.
+ *
+ * Safe to run multiple times - only acts on rows with a raw value and no parsed value.
+ * Values that cannot be parsed are logged and keep scoring as before (lowest level).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Order(2) // After DataMigrationConfig, before the score tree is built on ApplicationReadyEvent
+public class ActualValueMigration implements ApplicationRunner {
+
+    private final KeyResultRepository keyResultRepository;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        List<KeyResult> unparsed = keyResultRepository.findWithUnparsedActualValue();
+        if (unparsed.isEmpty()) {
+            log.debug("No unparsed actual values found - migration not needed");
+            return;
+        }
+
+        int parsed = 0;
+        for (KeyResult kr : unparsed) {
+            if (kr.applyActualValue(kr.getActualValue())) {
+                parsed++;
+            } else {
+                log.warn("Key result '{}' ({}) has invalid actual value '{}' for {}",
+                        kr.getName(), kr.getId(), kr.getActualValue(), kr.getMetricType());
+            }
+        }
+        keyResultRepository.saveAll(unparsed);
+        log.info("Actual value migration complete: {} of {} key results parsed", parsed, unparsed.size());
+    }
+}
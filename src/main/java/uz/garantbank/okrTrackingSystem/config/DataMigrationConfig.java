@@ -7,12 +7,11 @@ import org.springframework.boot.ApplicationRunner;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import uz.garantbank.okrTrackingSystem.entity.Department;
 import uz.garantbank.okrTrackingSystem.entity.Division;
 import uz.garantbank.okrTrackingSystem.repository.DepartmentRepository;
 import uz.garantbank.okrTrackingSystem.repository.DivisionRepository;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 /**
  * Migrates existing departments to divisions on application startup.
@@ -38,13 +37,7 @@ public class DataMigrationConfig implements ApplicationRunner {
     @Transactional
     public void run(ApplicationArguments args) {
         // Check if we need to migrate
-        List<Department> orphanDepartments = departmentRepository.findByDivisionIsNull();
-
-        if (!orphanDepartments.isEmpty()) {
-            log.info("Found {} departments without division - starting migration", orphanDepartments.size());
-            System.out.println("=".repeat(80));
-            System.out.println("DIVISION MIGRATION: Found " + orphanDepartments.size() + " departments without division");
-
+        if (departmentRepository.existsByDivisionIsNull()) {
             // Find or create default division
             Division defaultDivision = divisionRepository.findByName(DEFAULT_DIVISION_NAME)
                     .orElseGet(() -> {
@@ -54,16 +47,10 @@ public class DataMigrationConfig implements ApplicationRunner {
                         return divisionRepository.save(div);
                     });
 
-            // Assign all orphan departments to default division
-            for (Department dept : orphanDepartments) {
-                dept.setDivision(defaultDivision);
-                log.info("Migrating department '{}' to division '{}'", dept.getName(), DEFAULT_DIVISION_NAME);
-            }
-            departmentRepository.saveAll(orphanDepartments);
+            // Assign all orphan departments to default division in one UPDATE
+            int migrated = departmentRepository.assignDivisionToOrphans(defaultDivision, LocalDateTime.now());
 
-            System.out.println("Migrated " + orphanDepartments.size() + " departments to '" + DEFAULT_DIVISION_NAME + "'");
-            System.out.println("=".repeat(80));
-            log.info("Migration complete: {} departments assigned to '{}'", orphanDepartments.size(), DEFAULT_DIVISION_NAME);
+            log.info("Division migration complete: {} departments assigned to '{}'", migrated, DEFAULT_DIVISION_NAME);
         } else {
             log.debug("No orphan departments found - migration not needed");
         }
@@ -0,0 +1,124 @@
+package uz.garantbank.okrTrackingSystem.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Applies the versioned SQL scripts in {@code classpath:db/migration} on startup.
+ *
+ * Scripts are named {@code V<version>__<description>.sql} and run once each, in version order,
+ * after Hibernate's ddl-auto=update has created the tables. This happens while the context starts,
+ * so the web server only accepts requests once the indexes exist. Applied versions are recorded with a
+ * checksum in {@code schema_migrations}; changing a script that has already been applied stops
+ * startup, add a new version instead.
+ *
+ * Scripts should be idempotent (e.g. CREATE INDEX IF NOT EXISTS), so a script that failed halfway
+ * can simply run again on the next startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@DependsOn("entityManagerFactory") // The tables are created with the entity manager factory
+public class SchemaMigrationRunner implements InitializingBean {
+
+    static final String LOCATION = "classpath:db/migration/V*__*.sql";
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    /**
+     * One migration script found on the classpath
+     */
+    record Migration(int version, String description, Resource script, long checksum) {
+    }
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                "version INT PRIMARY KEY, " +
+                "description VARCHAR(255) NOT NULL, " +
+                "checksum BIGINT NOT NULL, " +
+                "applied_at TIMESTAMP NOT NULL)");
+
+        Map<Integer, Long> applied = new HashMap<>();
+        jdbcTemplate.query("SELECT version, checksum FROM schema_migrations",
+                rs -> { applied.put(rs.getInt(1), rs.getLong(2)); });
+
+        int count = 0;
+        for (Migration migration : findMigrations()) {
+            Long checksum = applied.get(migration.version());
+            if (checksum != null) {
+                if (checksum != migration.checksum()) {
+                    throw new IllegalStateException("Schema migration V" + migration.version()
+                            + " was changed after it was applied (" + migration.script().getFilename() + ")");
+                }
+                continue;
+            }
+
+            log.info("Applying schema migration V{}: {}", migration.version(), migration.description());
+            new ResourceDatabasePopulator(migration.script()).execute(dataSource);
+            jdbcTemplate.update("INSERT INTO schema_migrations (version, description, checksum, applied_at) " +
+                            "VALUES (?, ?, ?, ?)",
+                    migration.version(), migration.description(), migration.checksum(), LocalDateTime.now());
+            count++;
+        }
+
+        if (count == 0) {
+            log.debug("Schema is up to date - no migrations to apply");
+        } else {
+            log.info("Schema migration complete: {} migrations applied", count);
+        }
+    }
+
+    /**
+     * All migration scripts, ordered by version
+     */
+    static List<Migration> findMigrations() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        for (Resource script : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            Matcher matcher = FILE_NAME.matcher(script.getFilename());
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Invalid schema migration file name: " + script.getFilename());
+            }
+            migrations.add(new Migration(Integer.parseInt(matcher.group(1)),
+                    matcher.group(2).replace('_', ' '), script, checksum(script)));
+        }
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                throw new IllegalStateException("Duplicate schema migration version V" + migrations.get(i).version());
+            }
+        }
+        return migrations;
+    }
+
+    private static long checksum(Resource script) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = script.getInputStream()) {
+            crc.update(in.readAllBytes());
+        }
+        return crc.getValue();
+    }
+}
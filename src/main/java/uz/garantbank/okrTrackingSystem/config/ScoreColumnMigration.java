@@ -0,0 +1,44 @@
+package uz.garantbank.okrTrackingSystem.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import uz.garantbank.okrTrackingSystem.repository.DepartmentRepository;
+import uz.garantbank.okrTrackingSystem.repository.KeyResultRepository;
+import uz.garantbank.okrTrackingSystem.repository.ObjectiveRepository;
+import uz.garantbank.okrTrackingSystem.service.PersistedScoreService;
+
+/**
+ * Backfills the persisted score columns (score / score_level / score_percentage) of rows
+ * stored before those columns existed.
+ *
+ * Safe to run multiple times - does nothing once every key result, objective and department has a score.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Order(3) // After ActualValueMigration, so key results are scored from parsed values
+public class ScoreColumnMigration implements ApplicationRunner {
+
+    private final KeyResultRepository keyResultRepository;
+    private final ObjectiveRepository objectiveRepository;
+    private final DepartmentRepository departmentRepository;
+    private final PersistedScoreService persistedScores;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        if (!keyResultRepository.existsByScoreIsNull()
+                && !objectiveRepository.existsByScoreIsNull()
+                && !departmentRepository.existsByScoreIsNull()) {
+            log.debug("All persisted scores present - migration not needed");
+            return;
+        }
+        persistedScores.refreshAll();
+        log.info("Score column migration complete");
+    }
+}
@@ -19,7 +19,9 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import uz.garantbank.okrTrackingSystem.security.JwtAuthenticationFilter;
 import uz.garantbank.okrTrackingSystem.security.JwtTokenProvider;
+import uz.garantbank.okrTrackingSystem.security.TokenRevocationService;
 import uz.garantbank.okrTrackingSystem.security.UserDetailsServiceImpl;
+import uz.garantbank.okrTrackingSystem.service.AuditTimestampBuffer;
 
 import java.util.Arrays;
 import java.util.List;
@@ -36,13 +38,16 @@ public class SecurityConfig {
 
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+    private final AuditTimestampBuffer auditTimestampBuffer;
 
     /**
      * JWT authentication filter bean
      */
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService);
+        return new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, tokenRevocationService,
+                auditTimestampBuffer);
     }
 
     /**
@@ -80,6 +85,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("http://localhost:5173", "http://localhost:3000")); // React dev servers
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(List.of("X-Total-Count")); // Paginated lists
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -100,6 +106,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints (no authentication required)
                         .requestMatchers("/api/auth/**").permitAll()
+                        // Export jobs write files on the server: only for logged-in users
+                        .requestMatchers("/api/export/jobs/**").authenticated()
                         .requestMatchers("/api/export/**").permitAll() // Excel export
                         .requestMatchers("/uploads/**").permitAll() // Uploaded files (profile photos)
                         .requestMatchers("/h2-console/**").permitAll() // H2 database console
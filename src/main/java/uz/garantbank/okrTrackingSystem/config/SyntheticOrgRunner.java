@@ -0,0 +1,54 @@
+package uz.garantbank.okrTrackingSystem.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import uz.garantbank.okrTrackingSystem.dto.SyntheticOrgRequest;
+import uz.garantbank.okrTrackingSystem.dto.SyntheticOrgResultDTO;
+import uz.garantbank.okrTrackingSystem.service.SyntheticOrgGenerator;
+
+/**
+ * Generates a synthetic organization from the command line, e.g.
+ * {@code java -jar okr.jar --spring.profiles.active=generate --app.generate.divisions=100 --app.generate.seed=7}.
+ *
+ * The request is bound from {@code app.generate.*} (see application-generate.properties). The
+ * application exits once the data is generated unless {@code app.generate.exit=false}.
+ */
+@Component
+@Profile("generate")
+@RequiredArgsConstructor
+@Slf4j
+@Order(10) // After all schema and data migrations
+public class SyntheticOrgRunner implements ApplicationRunner {
+
+    private final SyntheticOrgGenerator generator;
+    private final Environment environment;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Binder binder = Binder.get(environment);
+        SyntheticOrgRequest request = binder.bind("app.generate", Bindable.ofInstance(new SyntheticOrgRequest()))
+                .orElseGet(SyntheticOrgRequest::new);
+        log.info("Generating synthetic organization (seed {})", request.getSeed());
+
+        SyntheticOrgResultDTO result = generator.generate(request);
+        log.info("Generated {} divisions, {} departments, {} objectives, {} key results, {} users, {} evaluations " +
+                        "(insert {} ms, scoring {} ms)",
+                result.getDivisions(), result.getDepartments(), result.getObjectives(), result.getKeyResults(),
+                result.getUsers(), result.getEvaluations(), result.getInsertMillis(), result.getScoringMillis());
+
+        if (binder.bind("app.generate.exit", Boolean.class).orElse(true)) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
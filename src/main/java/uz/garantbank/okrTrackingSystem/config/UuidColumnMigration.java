@@ -0,0 +1,134 @@
+package uz.garantbank.okrTrackingSystem.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Converts the ID and foreign key columns of databases created before IDs were stored as native
+ * uuid from VARCHAR(36) to UUID (16 bytes instead of 36 characters per key and index entry).
+ *
+ * Hibernate's ddl-auto=update never changes the type of an existing column, so this is done here:
+ * foreign keys on the affected columns are dropped, every column is converted, then the foreign
+ * keys are recreated. Keys that are not UUIDs (e.g. a hand-inserted "default-division-id-12345")
+ * get a fresh UUID, together with the rows referencing them. If a step fails, the next startup
+ * continues from where it stopped (and ddl-auto recreates any missing foreign key).
+ *
+ * Runs while the context starts, before the entity manager factory (and with it ddl-auto) is
+ * created, so neither Hibernate nor any request sees the old column types. On a new database
+ * there are no tables yet and nothing is done.
+ *
+ * Safe to run multiple times - only acts on columns that are still character columns.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UuidColumnMigration implements InitializingBean {
+
+    /**
+     * Makes the entity manager factory wait for this migration
+     */
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor uuidColumnMigrationDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(UuidColumnMigration.class);
+    }
+
+    /**
+     * A column holding an ID, with the table whose primary key it references (null for primary keys)
+     */
+    private record IdColumn(String table, String column, String references) {
+    }
+
+    // Primary keys first, so referenced columns are converted before the columns pointing at them
+    private static final List<IdColumn> COLUMNS = List.of(
+            new IdColumn("division", "id", null),
+            new IdColumn("department", "id", null),
+            new IdColumn("objectives", "id", null),
+            new IdColumn("key_results", "id", null),
+            new IdColumn("score_levels", "id", null),
+            new IdColumn("department", "division_id", "division"),
+            new IdColumn("user_departments", "department_id", "department"),
+            new IdColumn("objectives", "department_id", "department"),
+            new IdColumn("key_results", "objective_id", "objectives")
+    );
+
+    private static final String UUID_PATTERN = "^[0-9a-fA-F]{8}-([0-9a-fA-F]{4}-){3}[0-9a-fA-F]{12}$";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        List<IdColumn> pending = COLUMNS.stream().filter(this::isCharacterColumn).toList();
+        if (pending.isEmpty()) {
+            log.debug("All ID columns are uuid - migration not needed");
+            return;
+        }
+        log.info("Converting {} ID columns to uuid: {}", pending.size(), pending);
+
+        List<IdColumn> foreignKeys = pending.stream().filter(c -> c.references() != null).toList();
+        for (IdColumn fk : foreignKeys) {
+            for (String constraint : foreignKeyConstraints(fk)) {
+                jdbcTemplate.execute("ALTER TABLE " + fk.table() + " DROP CONSTRAINT " + constraint);
+            }
+        }
+        for (IdColumn column : pending) {
+            if (column.references() == null) {
+                replaceNonUuidKeys(column.table());
+            }
+        }
+        for (IdColumn column : pending) {
+            jdbcTemplate.execute("ALTER TABLE " + column.table()
+                    + " ALTER COLUMN " + column.column() + " SET DATA TYPE UUID");
+        }
+        for (IdColumn fk : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + fk.table()
+                    + " ADD CONSTRAINT fk_" + fk.table() + "_" + fk.column()
+                    + " FOREIGN KEY (" + fk.column() + ") REFERENCES " + fk.references() + " (id)");
+        }
+        log.info("ID column migration complete: {} columns converted", pending.size());
+    }
+
+    /**
+     * Give every primary key of the table that does not parse as a UUID a new one, updating references
+     */
+    private void replaceNonUuidKeys(String table) {
+        List<String> invalid = jdbcTemplate.queryForList(
+                "SELECT id FROM " + table + " WHERE NOT REGEXP_LIKE(id, '" + UUID_PATTERN + "')", String.class);
+        for (String oldId : invalid) {
+            String newId = UUID.randomUUID().toString();
+            jdbcTemplate.update("UPDATE " + table + " SET id = ? WHERE id = ?", newId, oldId);
+            for (IdColumn fk : COLUMNS) {
+                if (table.equals(fk.references())) {
+                    jdbcTemplate.update("UPDATE " + fk.table() + " SET " + fk.column() + " = ? WHERE "
+                            + fk.column() + " = ?", newId, oldId);
+                }
+            }
+            log.warn("Replaced non-UUID key '{}' of table {} with {}", oldId, table, newId);
+        }
+    }
+
+    private boolean isCharacterColumn(IdColumn column) {
+        List<String> types = jdbcTemplate.queryForList(
+                "SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = ? AND COLUMN_NAME = ?",
+                String.class, column.table().toUpperCase(), column.column().toUpperCase());
+        return !types.isEmpty() && types.get(0).startsWith("CHARACTER");
+    }
+
+    private List<String> foreignKeyConstraints(IdColumn column) {
+        return jdbcTemplate.queryForList(
+                "SELECT tc.CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc " +
+                        "JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE kcu " +
+                        "ON kcu.CONSTRAINT_SCHEMA = tc.CONSTRAINT_SCHEMA AND kcu.CONSTRAINT_NAME = tc.CONSTRAINT_NAME " +
+                        "WHERE tc.CONSTRAINT_TYPE = 'FOREIGN KEY' AND tc.TABLE_SCHEMA = SCHEMA() " +
+                        "AND tc.TABLE_NAME = ? AND kcu.COLUMN_NAME = ?",
+                String.class, column.table().toUpperCase(), column.column().toUpperCase());
+    }
+}
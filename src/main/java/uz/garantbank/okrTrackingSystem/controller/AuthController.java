@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -21,9 +22,13 @@ import uz.garantbank.okrTrackingSystem.dto.LoginResponse;
 import uz.garantbank.okrTrackingSystem.dto.RegisterRequest;
 import uz.garantbank.okrTrackingSystem.dto.UserDTO;
 import uz.garantbank.okrTrackingSystem.security.JwtTokenProvider;
+import uz.garantbank.okrTrackingSystem.security.LoginGuard;
 import uz.garantbank.okrTrackingSystem.security.UserDetailsImpl;
+import uz.garantbank.okrTrackingSystem.service.AuditTimestampBuffer;
 import uz.garantbank.okrTrackingSystem.service.UserService;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Controller for authentication endpoints
  */
@@ -37,6 +42,8 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserService userService;
+    private final LoginGuard loginGuard;
+    private final AuditTimestampBuffer auditTimestampBuffer;
 
     @Operation(
             summary = "User login",
@@ -46,34 +53,38 @@ public class AuthController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Login successful — returns JWT token and user details",
                     content = @Content(schema = @Schema(implementation = LoginResponse.class))),
-            @ApiResponse(responseCode = "401", description = "Invalid credentials", content = @Content)
+            @ApiResponse(responseCode = "401", description = "Invalid credentials", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Too many login attempts or login service busy", content = @Content)
     })
     @io.swagger.v3.oas.annotations.security.SecurityRequirements // No auth required for login
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@RequestBody LoginRequest request,
+                                                                  HttpServletRequest httpRequest) {
         log.info("Login attempt for user: {}", request.getUsername());
-        // Authenticate user
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
-        log.info("Authentication successful for user: {}", request.getUsername());
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+        // Client address as forwarded by a trusted proxy (server.forward-headers-strategy)
+        loginGuard.admit(request.getUsername(), httpRequest.getRemoteAddr());
 
-        // Generate JWT token
-        String jwt = jwtTokenProvider.generateToken(authentication);
-        // Get user details
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        // Password check runs on the login executor, the request thread is released meanwhile
+        return loginGuard.submit(() -> {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
+            );
+            log.info("Authentication successful for user: {}", request.getUsername());
 
-        // Update last login timestamp
-        userService.updateLastLogin(userDetails.getId());
+            // Generate JWT token
+            String jwt = jwtTokenProvider.generateToken(authentication);
+            // Get user details
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-        UserDTO userDTO = userService.getUserById(userDetails.getId());
+            // Last login timestamp is written in the next batched flush
+            auditTimestampBuffer.recordLogin(userDetails.getId());
 
-        log.info("Login completed for user: {}", request.getUsername());
+            UserDTO userDTO = userService.getUserById(userDetails.getId());
 
-        return ResponseEntity.ok(new LoginResponse(jwt, userDTO));
+            log.info("Login completed for user: {}", request.getUsername());
 
+            return ResponseEntity.ok(new LoginResponse(jwt, userDTO));
+        });
     }
 
     @Operation(
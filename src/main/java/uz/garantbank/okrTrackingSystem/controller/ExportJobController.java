@@ -0,0 +1,80 @@
+package uz.garantbank.okrTrackingSystem.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import uz.garantbank.okrTrackingSystem.dto.ExportJobDTO;
+import uz.garantbank.okrTrackingSystem.service.ExportJobService;
+
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/export/jobs")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+@Tag(name = "Export")
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+
+    @Operation(summary = "Start an Excel export job",
+            description = "Queues an export of all departments, objectives, and key results. " +
+                    "If the same data was exported before, the job is returned already finished (cached).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Job accepted",
+                    content = @Content(schema = @Schema(implementation = ExportJobDTO.class))),
+            @ApiResponse(responseCode = "503", description = "Too many exports queued", content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<ExportJobDTO> submit() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(exportJobService.submit());
+    }
+
+    @Operation(summary = "Get export job status", description = "Returns status and progress of an export job.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Job status",
+                    content = @Content(schema = @Schema(implementation = ExportJobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found", content = @Content)
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJobDTO> getJob(
+            @Parameter(description = "Job ID", required = true) @PathVariable String id) {
+        return ResponseEntity.ok(exportJobService.getJob(id));
+    }
+
+    @Operation(summary = "Download export result", description = "Downloads the Excel file of a finished export job.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Excel file",
+                    content = @Content(mediaType = "application/octet-stream")),
+            @ApiResponse(responseCode = "404", description = "Job not found or failed", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Job not finished yet", content = @Content)
+    })
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> download(
+            @Parameter(description = "Job ID", required = true) @PathVariable String id) {
+        Path result = exportJobService.getResult(id);
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment", "okr_export.xlsx");
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(new FileSystemResource(result));
+    }
+}
@@ -18,18 +18,33 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import uz.garantbank.okrTrackingSystem.dto.ActualValueUpdateDTO;
+import uz.garantbank.okrTrackingSystem.dto.BulkActualValueResultDTO;
 import uz.garantbank.okrTrackingSystem.dto.DepartmentDTO;
 import uz.garantbank.okrTrackingSystem.dto.DepartmentScoreResult;
+import uz.garantbank.okrTrackingSystem.dto.ExcelImportResultDTO;
 import uz.garantbank.okrTrackingSystem.dto.KeyResultDTO;
+import uz.garantbank.okrTrackingSystem.dto.KeyResultDepartmentRow;
 import uz.garantbank.okrTrackingSystem.dto.ObjectiveDTO;
+import uz.garantbank.okrTrackingSystem.dto.SyntheticOrgRequest;
+import uz.garantbank.okrTrackingSystem.dto.SyntheticOrgResultDTO;
 import uz.garantbank.okrTrackingSystem.entity.User;
 import uz.garantbank.okrTrackingSystem.repository.KeyResultRepository;
 import uz.garantbank.okrTrackingSystem.repository.ObjectiveRepository;
 import uz.garantbank.okrTrackingSystem.service.DepartmentAccessService;
 import uz.garantbank.okrTrackingSystem.service.ExcelExportService;
+import uz.garantbank.okrTrackingSystem.service.ExcelImportService;
 import uz.garantbank.okrTrackingSystem.service.OkrService;
+import uz.garantbank.okrTrackingSystem.service.SyntheticOrgGenerator;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api")
@@ -39,9 +54,11 @@ public class OkrController {
 
     private final OkrService okrService;
     private final ExcelExportService excelExportService;
+    private final ExcelImportService excelImportService;
     private final DepartmentAccessService accessService;
     private final ObjectiveRepository objectiveRepository;
     private final KeyResultRepository keyResultRepository;
+    private final SyntheticOrgGenerator syntheticOrgGenerator;
 
     // ==================== DEPARTMENTS ====================
 
@@ -271,6 +288,46 @@ public class OkrController {
         return ResponseEntity.ok(okrService.updateKeyResultActualValue(id, actualValue, file));
     }
 
+    @Tag(name = "Key Results")
+    @Operation(summary = "Bulk update key result actual values",
+            description = "Update the actual values of many key results in one transaction. " +
+                    "Permissions are checked once per department; affected objective and department scores " +
+                    "are recalculated once. All updates fail together if any of them is invalid.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Actual values updated and scores recalculated",
+                    content = @Content(schema = @Schema(implementation = BulkActualValueResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid or duplicate entry, or missing required attachment",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "No edit permission for one of the departments", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Key result not found", content = @Content)
+    })
+    @PutMapping(value = "/key-results/actual-values", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkActualValueResultDTO> updateKeyResultActualValues(
+            @RequestBody List<ActualValueUpdateDTO> updates) {
+        requireEditAccessForKeyResults(updates);
+        return ResponseEntity.ok(okrService.updateKeyResultActualValues(updates, Map.of()));
+    }
+
+    @Tag(name = "Key Results")
+    @Operation(summary = "Bulk update key result actual values with attachments",
+            description = "Same as the JSON bulk update; the `updates` part holds the JSON entries and each " +
+                    "attachment is sent as a file part named after its key result ID.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Actual values updated and scores recalculated",
+                    content = @Content(schema = @Schema(implementation = BulkActualValueResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid or duplicate entry, missing required attachment or invalid file",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "No edit permission for one of the departments", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Key result not found", content = @Content)
+    })
+    @PutMapping(value = "/key-results/actual-values", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkActualValueResultDTO> updateKeyResultActualValuesWithAttachments(
+            @RequestPart("updates") List<ActualValueUpdateDTO> updates,
+            MultipartHttpServletRequest request) {
+        requireEditAccessForKeyResults(updates);
+        return ResponseEntity.ok(okrService.updateKeyResultActualValues(updates, request.getFileMap()));
+    }
+
     @Tag(name = "Key Results")
     @Operation(summary = "Update key result progress",
             description = "Update the progress percentage (0-100) of a key result. " +
@@ -326,18 +383,19 @@ public class OkrController {
     })
     @io.swagger.v3.oas.annotations.security.SecurityRequirements // Public endpoint
     @GetMapping("/export/excel")
-    public ResponseEntity<byte[]> exportToExcel() {
+    public ResponseEntity<StreamingResponseBody> exportToExcel() {
         try {
             List<DepartmentDTO> departments = okrService.getAllDepartments();
-            byte[] excelData = excelExportService.exportToExcel(departments);
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
             headers.setContentDispositionFormData("attachment", "okr_export.xlsx");
 
+            // Workbook is streamed straight into the response instead of being buffered as byte[]
+            StreamingResponseBody body = outputStream -> excelExportService.writeExcel(departments, outputStream);
             return ResponseEntity.ok()
                     .headers(headers)
-                    .body(excelData);
+                    .body(body);
         } catch (Exception e) {
             System.err.println("Excel export failed: " + e.getMessage());
             e.printStackTrace();
@@ -345,6 +403,31 @@ public class OkrController {
         }
     }
 
+    // ==================== IMPORT ====================
+
+    @Tag(name = "Import")
+    @Operation(summary = "Import OKRs from Excel",
+            description = "Import an .xlsx file in the export layout. Departments, objectives and key results " +
+                    "are matched by name and created or updated; thresholds, type, unit and actual values are taken " +
+                    "from the sheet. Rows of departments the user cannot edit, and invalid rows, are skipped and " +
+                    "reported. Unknown departments are created in `divisionId` (ADMIN or DIRECTOR only).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import finished — counts and skipped rows",
+                    content = @Content(schema = @Schema(implementation = ExcelImportResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Not an .xlsx export or unknown division", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Read-only user", content = @Content)
+    })
+    @PostMapping(value = "/import/excel", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ExcelImportResultDTO> importFromExcel(
+            @Parameter(description = "Workbook in the export layout (.xlsx)", required = true)
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Division for departments that do not exist yet")
+            @RequestParam(value = "divisionId", required = false) String divisionId) {
+        User currentUser = accessService.getCurrentUser();
+        accessService.requireWriteAccess(currentUser);
+        return ResponseEntity.ok(excelImportService.importExcel(file, divisionId, currentUser));
+    }
+
     // ==================== DEMO DATA ====================
 
     @Tag(name = "Demo Data")
@@ -362,6 +445,25 @@ public class OkrController {
         return ResponseEntity.ok(okrService.loadDemoData());
     }
 
+    @Tag(name = "Demo Data")
+    @Operation(summary = "Generate synthetic organization", description = "Replace all OKR data, evaluations and " +
+            "non-ADMIN users with a generated organization of the requested size, for load and performance testing. " +
+            "The same request (including seed) always produces the same data. Omitted fields use the defaults. " +
+            "**Requires ADMIN role.**")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Organization generated — returns row counts and timings",
+                    content = @Content(schema = @Schema(implementation = SyntheticOrgResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid size, metric mix or distribution", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Only ADMIN can generate data", content = @Content)
+    })
+    @PostMapping("/demo/generate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SyntheticOrgResultDTO> generateSyntheticOrg(
+            @RequestBody(required = false) SyntheticOrgRequest request) {
+        accessService.requireWriteAccess(accessService.getCurrentUser());
+        return ResponseEntity.ok(syntheticOrgGenerator.generate(request != null ? request : new SyntheticOrgRequest()));
+    }
+
     // ==================== HELPER METHODS ====================
 
     private String getDepartmentIdFromObjective(String objectiveId) {
@@ -370,6 +472,34 @@ public class OkrController {
                 .orElseThrow(() -> new EntityNotFoundException("Objective not found: " + objectiveId));
     }
 
+    /**
+     * Check edit permission once per department owning the given key results
+     */
+    private void requireEditAccessForKeyResults(List<ActualValueUpdateDTO> updates) {
+        if (updates == null || updates.isEmpty()) {
+            return;
+        }
+        Set<String> ids = updates.stream()
+                .map(ActualValueUpdateDTO::getKeyResultId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        List<KeyResultDepartmentRow> rows = keyResultRepository.findDepartmentRows(ids);
+        if (rows.size() < ids.size()) {
+            Set<String> found = rows.stream().map(KeyResultDepartmentRow::keyResultId).collect(Collectors.toSet());
+            String missing = ids.stream().filter(id -> !found.contains(id)).findFirst().orElse(null);
+            throw new EntityNotFoundException("Key Result not found: " + missing);
+        }
+
+        User currentUser = accessService.getCurrentUser();
+        Set<String> departmentIds = new HashSet<>();
+        for (KeyResultDepartmentRow row : rows) {
+            if (departmentIds.add(row.departmentId())
+                    && !accessService.canEditDepartment(currentUser, row.departmentId())) {
+                throw new AccessDeniedException("You do not have permission to edit key results in this department");
+            }
+        }
+    }
+
     private String getDepartmentIdFromKeyResult(String keyResultId) {
         return keyResultRepository.findById(keyResultId)
                 .map(kr -> kr.getObjective().getDepartment().getId())
@@ -0,0 +1,42 @@
+package uz.garantbank.okrTrackingSystem.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import uz.garantbank.okrTrackingSystem.dto.DivisionRollupDTO;
+import uz.garantbank.okrTrackingSystem.service.OrgRollupService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/org")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+@Tag(name = "Organization", description = "Org-wide overview across divisions and departments")
+public class OrgRollupController {
+
+    private final OrgRollupService orgRollupService;
+
+    @Operation(summary = "Org-wide score rollup",
+            description = "Returns every division with its score (OKR + Director evaluation) and its departments " +
+                    "with their scores (OKR + Director, HR and Business Block evaluations), in one call. " +
+                    "Replaces calling /api/divisions, /api/divisions/{id}/score and /api/departments/{id}/scores " +
+                    "per node. Accessible to all authenticated users.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Division / department tree with scores",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = DivisionRollupDTO.class))))
+    })
+    @GetMapping("/rollup")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<DivisionRollupDTO>> getRollup() {
+        return ResponseEntity.ok(orgRollupService.getRollup());
+    }
+}
@@ -0,0 +1,121 @@
+package uz.garantbank.okrTrackingSystem.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import uz.garantbank.okrTrackingSystem.dto.ScoreRowDTO;
+import uz.garantbank.okrTrackingSystem.service.ScoreQueryService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/scores")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+@Tag(name = "Scores", description = "Filter, sort and page OKR nodes by their stored scores")
+public class ScoreQueryController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final ScoreQueryService scoreQueryService;
+
+    @Operation(summary = "Key results by score",
+            description = "Key results filtered by score level range and department, sorted and paged in the database. " +
+                    "Sort by score, level, percentage or name. The total count is returned in the X-Total-Count header.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of key results",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ScoreRowDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid paging or sort parameter", content = @Content)
+    })
+    @GetMapping("/key-results")
+    public ResponseEntity<List<ScoreRowDTO>> getKeyResults(
+            @Parameter(description = "Lowest score level index (inclusive, 0 = lowest level)", example = "0")
+            @RequestParam(required = false) Integer minLevel,
+            @Parameter(description = "Highest score level index (inclusive)", example = "1")
+            @RequestParam(required = false) Integer maxLevel,
+            @Parameter(description = "Only key results of this department")
+            @RequestParam(required = false) String departmentId,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 500)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort: score|level|percentage|name, asc|desc", example = "score,asc")
+            @RequestParam(defaultValue = "score,asc") String sort) {
+        checkSize(size);
+        return toResponse(scoreQueryService.findKeyResults(minLevel, maxLevel, departmentId, page, size, sort));
+    }
+
+    @Operation(summary = "Objectives by score",
+            description = "Objectives filtered by score level range and department, sorted and paged in the database. " +
+                    "Sort by score, level, percentage or name. The total count is returned in the X-Total-Count header.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of objectives",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ScoreRowDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid paging or sort parameter", content = @Content)
+    })
+    @GetMapping("/objectives")
+    public ResponseEntity<List<ScoreRowDTO>> getObjectives(
+            @Parameter(description = "Lowest score level index (inclusive, 0 = lowest level)", example = "0")
+            @RequestParam(required = false) Integer minLevel,
+            @Parameter(description = "Highest score level index (inclusive)", example = "1")
+            @RequestParam(required = false) Integer maxLevel,
+            @Parameter(description = "Only objectives of this department")
+            @RequestParam(required = false) String departmentId,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 500)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort: score|level|percentage|name, asc|desc", example = "score,asc")
+            @RequestParam(defaultValue = "score,asc") String sort) {
+        checkSize(size);
+        return toResponse(scoreQueryService.findObjectives(minLevel, maxLevel, departmentId, page, size, sort));
+    }
+
+    @Operation(summary = "Departments by score",
+            description = "Departments filtered by score level range and division, sorted and paged in the database. " +
+                    "Department scores here are OKR-only (without evaluation blending). " +
+                    "The total count is returned in the X-Total-Count header.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of departments",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ScoreRowDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid paging or sort parameter", content = @Content)
+    })
+    @GetMapping("/departments")
+    public ResponseEntity<List<ScoreRowDTO>> getDepartments(
+            @Parameter(description = "Lowest score level index (inclusive, 0 = lowest level)", example = "0")
+            @RequestParam(required = false) Integer minLevel,
+            @Parameter(description = "Highest score level index (inclusive)", example = "1")
+            @RequestParam(required = false) Integer maxLevel,
+            @Parameter(description = "Only departments of this division")
+            @RequestParam(required = false) String divisionId,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 500)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort: score|level|percentage|name, asc|desc", example = "score,asc")
+            @RequestParam(defaultValue = "score,asc") String sort) {
+        checkSize(size);
+        return toResponse(scoreQueryService.findDepartments(minLevel, maxLevel, divisionId, page, size, sort));
+    }
+
+    private static void checkSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static ResponseEntity<List<ScoreRowDTO>> toResponse(Page<ScoreRowDTO> result) {
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.getTotalElements()))
+                .body(result.getContent());
+    }
+}
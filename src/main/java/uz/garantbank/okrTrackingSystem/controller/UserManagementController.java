@@ -10,12 +10,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import uz.garantbank.okrTrackingSystem.dto.CacheStatsDTO;
 import uz.garantbank.okrTrackingSystem.dto.UserDTO;
 import uz.garantbank.okrTrackingSystem.dto.UserWithScoreDTO;
 import uz.garantbank.okrTrackingSystem.dto.user.AssignDepartmentsRequest;
@@ -25,6 +30,7 @@ import uz.garantbank.okrTrackingSystem.dto.user.UserProfileDTO;
 import uz.garantbank.okrTrackingSystem.entity.Role;
 import uz.garantbank.okrTrackingSystem.entity.User;
 import uz.garantbank.okrTrackingSystem.service.DepartmentAccessService;
+import uz.garantbank.okrTrackingSystem.service.UserSecurityCache;
 import uz.garantbank.okrTrackingSystem.service.UserService;
 
 import java.util.List;
@@ -39,6 +45,7 @@ public class UserManagementController {
 
     private final UserService userService;
     private final DepartmentAccessService accessService;
+    private final UserSecurityCache userSecurityCache;
 
     @Operation(summary = "Get all users",
             description = "Returns all users in the system. **Requires ADMIN or DIRECTOR role.**")
@@ -55,7 +62,9 @@ public class UserManagementController {
 
     @Operation(summary = "Get all users with scores",
             description = "Returns all users with their overall performance scores calculated from assigned departments. " +
-                    "Used for the Team Overview page. **Requires ADMIN or DIRECTOR role.**")
+                    "Used for the Team Overview page. Optional pagination (page/size) and sorting by overall score; " +
+                    "when paginated, the total number of users is returned in the X-Total-Count header. " +
+                    "**Requires ADMIN or DIRECTOR role.**")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "List of users with score data",
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = UserWithScoreDTO.class)))),
@@ -63,8 +72,47 @@ public class UserManagementController {
     })
     @GetMapping("/with-scores")
     @PreAuthorize("hasAnyRole('ADMIN', 'DIRECTOR')")
-    public ResponseEntity<List<UserWithScoreDTO>> getAllUsersWithScores() {
-        return ResponseEntity.ok(userService.getAllUsersWithScores());
+    public ResponseEntity<List<UserWithScoreDTO>> getAllUsersWithScores(
+            @Parameter(description = "Page number (0-based). Omit to get all users.", example = "0")
+            @RequestParam(required = false) Integer page,
+            @Parameter(description = "Page size", example = "50")
+            @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Sort by overall score: overallScore,asc or overallScore,desc", example = "overallScore,desc")
+            @RequestParam(required = false) String sort) {
+        if (page == null && sort == null) {
+            return ResponseEntity.ok(userService.getAllUsersWithScores());
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+
+        Sort sortOrder = Sort.unsorted();
+        if (sort != null && !sort.isBlank()) {
+            String[] parts = sort.split(",");
+            Sort.Direction direction = parts.length > 1 ? Sort.Direction.fromString(parts[1].trim()) : Sort.Direction.DESC;
+            sortOrder = Sort.by(direction, parts[0].trim());
+        }
+        Pageable pageable = page != null
+                ? PageRequest.of(page, size, sortOrder)
+                : PageRequest.of(0, Integer.MAX_VALUE, sortOrder);
+
+        Page<UserWithScoreDTO> result = userService.getUsersWithScores(pageable);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.getTotalElements()))
+                .body(result.getContent());
+    }
+
+    @Operation(summary = "User security cache statistics",
+            description = "Hit/miss counts of the cache of user permission data used for access checks. **Requires ADMIN role.**")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cache statistics since startup",
+                    content = @Content(schema = @Schema(implementation = CacheStatsDTO.class))),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions", content = @Content)
+    })
+    @GetMapping("/security-cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheStatsDTO> getSecurityCacheStats() {
+        return ResponseEntity.ok(userSecurityCache.stats());
     }
 
     @Operation(summary = "Get user by ID",
@@ -0,0 +1,21 @@
+package uz.garantbank.okrTrackingSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "New actual value for one key result in a bulk update")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActualValueUpdateDTO {
+    @Schema(description = "Key Result ID (also the multipart part name of its attachment, if any)",
+            example = "550e8400-e29b-41d4-a716-446655440000")
+    private String keyResultId;
+
+    @Schema(description = "Actual value: a number, or a grade A-E for qualitative key results", example = "85")
+    private String actualValue;
+}
@@ -0,0 +1,26 @@
+package uz.garantbank.okrTrackingSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Result of a bulk actual value update: updated key results and the recomputed parent scores")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkActualValueResultDTO {
+    @Schema(description = "Updated key results with their new scores")
+    private List<KeyResultDTO> keyResults;
+
+    @Schema(description = "Recomputed scores of the affected objectives, by objective ID")
+    private Map<String, ScoreResult> objectiveScores;
+
+    @Schema(description = "Recomputed OKR scores of the affected departments, by department ID")
+    private Map<String, ScoreResult> departmentScores;
+}
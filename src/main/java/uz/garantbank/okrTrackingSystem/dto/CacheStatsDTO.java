@@ -0,0 +1,35 @@
+package uz.garantbank.okrTrackingSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "Hit/miss statistics of an in-process cache since startup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsDTO {
+    @Schema(description = "Current number of entries", example = "42")
+    private int size;
+
+    @Schema(description = "Maximum number of entries before least recently used ones are evicted", example = "1000")
+    private int maxSize;
+
+    @Schema(description = "Lookups served from the cache", example = "1520")
+    private long hits;
+
+    @Schema(description = "Lookups that loaded from the database (absent or expired)", example = "48")
+    private long misses;
+
+    @Schema(description = "hits / (hits + misses)", example = "0.97")
+    private double hitRate;
+
+    @Schema(description = "Entries evicted because the cache was full", example = "0")
+    private long evictions;
+
+    @Schema(description = "Entries dropped because the underlying data changed", example = "3")
+    private long invalidations;
+}
@@ -0,0 +1,23 @@
+package uz.garantbank.okrTrackingSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "Department node of the org-wide rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DepartmentRollupDTO {
+    @Schema(description = "Department ID", example = "dept-001")
+    private String id;
+
+    @Schema(description = "Department name", example = "Software Development")
+    private String name;
+
+    @Schema(description = "Department score with multi-source evaluations")
+    private DepartmentScoreResult score;
+}
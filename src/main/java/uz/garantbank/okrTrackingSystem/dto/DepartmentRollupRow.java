@@ -0,0 +1,16 @@
+package uz.garantbank.okrTrackingSystem.dto;
+
+/**
+ * Department with its persisted OKR score and objective count, read by one grouped
+ * JPQL constructor-expression query for the org-wide rollup.
+ */
+public record DepartmentRollupRow(
+        String id,
+        String name,
+        String divisionId,
+        Double score,
+        Integer scoreLevel,
+        Double scorePercentage,
+        long objectiveCount
+) {
+}
@@ -0,0 +1,28 @@
+package uz.garantbank.okrTrackingSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(description = "Division node of the org-wide rollup, with its departments")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DivisionRollupDTO {
+    @Schema(description = "Division ID", example = "div-001")
+    private String id;
+
+    @Schema(description = "Division name", example = "Information Technology")
+    private String name;
+
+    @Schema(description = "Division score with Director evaluation")
+    private DivisionScoreResult score;
+
+    @Schema(description = "Departments of the division")
+    private List<DepartmentRollupDTO> departments;
+}
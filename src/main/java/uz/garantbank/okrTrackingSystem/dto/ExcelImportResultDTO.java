@@ -0,0 +1,40 @@
+package uz.garantbank.okrTrackingSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Schema(description = "Outcome of an Excel import: counts of created/updated items and the rows that were skipped")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExcelImportResultDTO {
+    @Schema(description = "Key result rows read (header and blank rows excluded)", example = "240")
+    private int rowsRead;
+
+    @Schema(description = "Rows skipped because of errors", example = "2")
+    private int rowsFailed;
+
+    @Schema(description = "Departments created", example = "0")
+    private int departmentsCreated;
+
+    @Schema(description = "Objectives created", example = "3")
+    private int objectivesCreated;
+
+    @Schema(description = "Existing objectives updated", example = "40")
+    private int objectivesUpdated;
+
+    @Schema(description = "Key results created", example = "12")
+    private int keyResultsCreated;
+
+    @Schema(description = "Existing key results updated", example = "226")
+    private int keyResultsUpdated;
+
+    @Schema(description = "Skipped rows with reasons (the first 1000)")
+    private List<ImportRowErrorDTO> errors;
+}
@@ -0,0 +1,43 @@
+package uz.garantbank.okrTrackingSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Asynchronous Excel export job")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExportJobDTO {
+    @Schema(description = "Job ID", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String id;
+
+    @Schema(description = "Job status", example = "RUNNING", allowableValues = {"QUEUED", "RUNNING", "DONE", "FAILED"})
+    private String status;
+
+    @Schema(description = "Progress percentage (0-100)", example = "42")
+    private Integer progress;
+
+    @Schema(description = "True if the result was served from the cache of an identical earlier export", example = "false")
+    private Boolean cached;
+
+    @Schema(description = "Fingerprint of the exported data and score levels", example = "3f9a1c0b7d2e4a6f")
+    private String fingerprint;
+
+    @Schema(description = "Download URL (set when status is DONE)", example = "/api/export/jobs/550e8400-e29b-41d4-a716-446655440000/download")
+    private String downloadUrl;
+
+    @Schema(description = "Error message (set when status is FAILED)")
+    private String error;
+
+    @Schema(description = "Submission timestamp")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Completion timestamp")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,20 @@
+package uz.garantbank.okrTrackingSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "A spreadsheet row that could not be imported")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRowErrorDTO {
+    @Schema(description = "Row number as shown in Excel (1 = header)", example = "12")
+    private int row;
+
+    @Schema(description = "Why the row was skipped", example = "Actual value must be a number, got 'abc'")
+    private String message;
+}
@@ -0,0 +1,11 @@
+package uz.garantbank.okrTrackingSystem.dto;
+
+/**
+ * Key result ID with the ID of the department that owns it (null for individual objectives),
+ * read in one query for permission checks on bulk updates.
+ */
+public record KeyResultDepartmentRow(
+        String keyResultId,
+        String departmentId
+) {
+}
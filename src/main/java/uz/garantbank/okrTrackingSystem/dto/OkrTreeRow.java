@@ -0,0 +1,36 @@
+package uz.garantbank.okrTrackingSystem.dto;
+
+import uz.garantbank.okrTrackingSystem.entity.KeyResult;
+
+/**
+ * One flat row of the division / department / objective / key result tree.
+ *
+ * Produced by a single JPQL constructor-expression query (left joins, so objective and
+ * key result columns are null for departments/objectives without children) and
+ * assembled into DepartmentDTO / ObjectiveDTO / KeyResultDTO without managed entities.
+ */
+public record OkrTreeRow(
+        String divisionId,
+        String divisionName,
+        String departmentId,
+        String departmentName,
+        String objectiveId,
+        String objectiveName,
+        Integer objectiveWeight,
+        String keyResultId,
+        String keyResultName,
+        String keyResultDescription,
+        KeyResult.MetricType metricType,
+        String unit,
+        Integer keyResultWeight,
+        Double thresholdBelow,
+        Double thresholdMeets,
+        Double thresholdGood,
+        Double thresholdVeryGood,
+        Double thresholdExceptional,
+        String actualValue,
+        Integer progress,
+        String attachmentUrl,
+        String attachmentFileName
+) {
+}
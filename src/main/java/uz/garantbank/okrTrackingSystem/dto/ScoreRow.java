@@ -0,0 +1,36 @@
+package uz.garantbank.okrTrackingSystem.dto;
+
+/**
+ * One scored node (key result, objective or department) with its parents, read from the
+ * persisted score columns by a JPQL constructor-expression query.
+ */
+public record ScoreRow(
+        String id,
+        String name,
+        Double score,
+        Integer scoreLevel,
+        Double scorePercentage,
+        String objectiveId,
+        String objectiveName,
+        String departmentId,
+        String departmentName,
+        String divisionId,
+        String divisionName
+) {
+    /**
+     * Objective row (no parent objective)
+     */
+    public ScoreRow(String id, String name, Double score, Integer scoreLevel, Double scorePercentage,
+                    String departmentId, String departmentName, String divisionId, String divisionName) {
+        this(id, name, score, scoreLevel, scorePercentage, null, null,
+                departmentId, departmentName, divisionId, divisionName);
+    }
+
+    /**
+     * Department row (division parent only)
+     */
+    public ScoreRow(String id, String name, Double score, Integer scoreLevel, Double scorePercentage,
+                    String divisionId, String divisionName) {
+        this(id, name, score, scoreLevel, scorePercentage, null, null, null, null, divisionId, divisionName);
+    }
+}
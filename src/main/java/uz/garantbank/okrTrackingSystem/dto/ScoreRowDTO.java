@@ -0,0 +1,53 @@
+package uz.garantbank.okrTrackingSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "Key result, objective or department with its persisted score — used for score rankings and filters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScoreRowDTO {
+    @Schema(description = "ID of the key result, objective or department", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String id;
+
+    @Schema(description = "Name", example = "Increase customer retention")
+    private String name;
+
+    @Schema(description = "Numeric score (0.0-1.0)", example = "0.65")
+    private Double score;
+
+    @Schema(description = "Score level index, 0 = lowest level", example = "2")
+    private Integer levelIndex;
+
+    @Schema(description = "Score level classification", example = "на_уровне_ожиданий")
+    private String level;
+
+    @Schema(description = "Hex color for the score level", example = "#5cb85c")
+    private String color;
+
+    @Schema(description = "Score as percentage (0-100)", example = "65.0")
+    private Double percentage;
+
+    @Schema(description = "Parent objective ID (key results only)")
+    private String objectiveId;
+
+    @Schema(description = "Parent objective name (key results only)")
+    private String objectiveName;
+
+    @Schema(description = "Department ID (key results and objectives; null for individual OKRs)")
+    private String departmentId;
+
+    @Schema(description = "Department name")
+    private String departmentName;
+
+    @Schema(description = "Division ID")
+    private String divisionId;
+
+    @Schema(description = "Division name")
+    private String divisionName;
+}
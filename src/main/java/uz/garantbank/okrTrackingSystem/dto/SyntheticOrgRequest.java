@@ -0,0 +1,79 @@
+package uz.garantbank.okrTrackingSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "Shape of a generated organization for load testing. Every field is optional; " +
+        "the defaults give a bank-sized org (40 divisions, 400 departments, 20 000 key results, ~5 200 users). " +
+        "The same request (including the seed) always generates the same data.")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyntheticOrgRequest {
+
+    /**
+     * How actual values are spread over a key result's threshold range
+     */
+    public enum ActualDistribution {
+        /** Anywhere from a quarter below the lowest to a quarter above the highest threshold */
+        UNIFORM,
+        /** Around actualMean with standard deviation actualSpread (in threshold range units) */
+        NORMAL
+    }
+
+    @Schema(description = "Random seed", example = "42")
+    @Builder.Default
+    private long seed = 42;
+
+    @Schema(description = "Number of divisions (1-1000)", example = "40")
+    @Builder.Default
+    private int divisions = 40;
+
+    @Schema(description = "Departments in each division (1-1000)", example = "10")
+    @Builder.Default
+    private int departmentsPerDivision = 10;
+
+    @Schema(description = "Objectives in each department (1-50)", example = "5")
+    @Builder.Default
+    private int objectivesPerDepartment = 5;
+
+    @Schema(description = "Key results in each objective (1-50)", example = "10")
+    @Builder.Default
+    private int keyResultsPerObjective = 10;
+
+    @Schema(description = "Employees in each department, besides its leader (0-1000)", example = "12")
+    @Builder.Default
+    private int employeesPerDepartment = 12;
+
+    @Schema(description = "Share of each metric type as higher:lower:qualitative", example = "60:25:15")
+    @Builder.Default
+    private String metricMix = "60:25:15";
+
+    @Schema(description = "Distribution of actual values", example = "NORMAL")
+    @Builder.Default
+    private ActualDistribution actualDistribution = ActualDistribution.NORMAL;
+
+    @Schema(description = "NORMAL only: mean position in the threshold range (0 = below, 1 = exceptional)", example = "0.55")
+    @Builder.Default
+    private double actualMean = 0.55;
+
+    @Schema(description = "NORMAL only: standard deviation in threshold range units", example = "0.3")
+    @Builder.Default
+    private double actualSpread = 0.3;
+
+    @Schema(description = "Share of key results without an actual value (0-1)", example = "0.05")
+    @Builder.Default
+    private double emptyActualRate = 0.05;
+
+    @Schema(description = "Share of departments evaluated by each evaluator type (0-1)", example = "0.6")
+    @Builder.Default
+    private double evaluationCoverage = 0.6;
+
+    @Schema(description = "Password of every generated user", example = "generated123")
+    @Builder.Default
+    private String password = "generated123";
+}
@@ -0,0 +1,41 @@
+package uz.garantbank.okrTrackingSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "Counts and timings of a generated organization")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyntheticOrgResultDTO {
+    @Schema(description = "Seed the data was generated with", example = "42")
+    private long seed;
+
+    @Schema(description = "Divisions created", example = "40")
+    private int divisions;
+
+    @Schema(description = "Departments created", example = "400")
+    private int departments;
+
+    @Schema(description = "Objectives created", example = "2000")
+    private int objectives;
+
+    @Schema(description = "Key results created", example = "20000")
+    private int keyResults;
+
+    @Schema(description = "Users created (existing ADMIN users are kept)", example = "5242")
+    private int users;
+
+    @Schema(description = "Submitted evaluations created", example = "720")
+    private int evaluations;
+
+    @Schema(description = "Time spent clearing old data and inserting rows, in milliseconds", example = "2100")
+    private long insertMillis;
+
+    @Schema(description = "Time spent computing the persisted scores, in milliseconds", example = "1800")
+    private long scoringMillis;
+}
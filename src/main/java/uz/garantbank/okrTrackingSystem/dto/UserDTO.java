@@ -61,6 +61,9 @@ public class UserDTO {
     @Schema(description = "Timestamp of last login", example = "2025-01-15T10:30:00")
     private LocalDateTime lastLogin;
 
+    @Schema(description = "Timestamp of last authenticated request", example = "2025-01-15T11:45:00")
+    private LocalDateTime lastSeen;
+
     @Schema(description = "Departments the user is assigned to")
     private List<DepartmentSummaryDTO> assignedDepartments;
 
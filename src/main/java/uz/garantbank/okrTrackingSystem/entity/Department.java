@@ -3,27 +3,46 @@ package uz.garantbank.okrTrackingSystem.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "department")
+@Table(name = "department", indexes = {
+        @Index(name = "idx_department_score_level", columnList = "score_level, score"),
+        @Index(name = "idx_department_score", columnList = "score")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
-public class Department {
+public class Department implements Scored {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
+    @JavaType(UuidStringJavaType.class)
+    @JdbcTypeCode(SqlTypes.UUID)
     @EqualsAndHashCode.Include
     private String id;
 
     @Column(nullable = false)
     private String name;
 
+    // Persisted score (see PersistedScoreService), so queries can filter and sort by score in SQL
+    private Double score;
+
+    @Column(name = "score_level")
+    private Integer scoreLevel; // Index into the score levels sorted by value (0 = lowest)
+
+    @Column(name = "score_percentage")
+    private Double scorePercentage;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false) // this ensures that every department belongs to a division
     // ↑ optional = false means every department MUST have a division
     @JoinColumn(name = "division_id", nullable = false)
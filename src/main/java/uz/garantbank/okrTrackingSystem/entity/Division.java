@@ -5,11 +5,14 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.UUID;
 
 @Entity
 @Table(name = "division") // <- table name in database
@@ -19,9 +22,13 @@ import java.util.UUID;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Division {
     @Id  // ← This is the primary key (unique identifier)
+    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)  // ← Time-ordered, new rows land at the end of the index
+    @JavaType(UuidStringJavaType.class)
+    @JdbcTypeCode(SqlTypes.UUID)  // ← Stored as native 16-byte uuid
     @Column(name = "id")
     @EqualsAndHashCode.Include
-    private String id;  // Using String for UUID consistency
+    private String id;  // String in Java, uuid in the database
 
     private String name;
 
@@ -44,7 +51,6 @@ public class Division {
 
     @PrePersist  // ← Runs before saving new division
     protected void onCreate() {
-        this.id = UUID.randomUUID().toString();
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
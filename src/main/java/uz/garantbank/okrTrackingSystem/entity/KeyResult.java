@@ -2,17 +2,27 @@ package uz.garantbank.okrTrackingSystem.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
 
 @Entity
-@Table(name = "key_results")
+@Table(name = "key_results", indexes = {
+        @Index(name = "idx_key_results_score_level", columnList = "score_level, score"),
+        @Index(name = "idx_key_results_score", columnList = "score")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@EqualsAndHashCode(exclude = {"objective"})
-public class KeyResult {
+@EqualsAndHashCode(exclude = {"objective", "score", "scoreLevel", "scorePercentage"})
+public class KeyResult implements Scored {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
+    @JavaType(UuidStringJavaType.class)
+    @JdbcTypeCode(SqlTypes.UUID)
     private String id;
 
     @Column(nullable = false)
@@ -39,6 +49,24 @@ public class KeyResult {
     // Actual value (numeric for quantitative, grade string for qualitative)
     private String actualValue;
 
+    // Parsed actual value, set together with actualValue (see applyActualValue).
+    // Null means no valid value; scoring then uses the lowest level.
+    @Column(name = "actual_numeric")
+    private Double actualNumeric;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "actual_grade", length = 1)
+    private Grade actualGrade;
+
+    // Persisted score (see PersistedScoreService), so queries can filter and sort by score in SQL
+    private Double score;
+
+    @Column(name = "score_level")
+    private Integer scoreLevel; // Index into the score levels sorted by value (0 = lowest)
+
+    @Column(name = "score_percentage")
+    private Double scorePercentage;
+
     // Progress percentage (0-100), manually set by ADMIN or DEPARTMENT_LEADER
     @Column(columnDefinition = "INTEGER DEFAULT 0")
     @lombok.Builder.Default
@@ -55,9 +83,67 @@ public class KeyResult {
     @JoinColumn(name = "objective_id", nullable = false)
     private Objective objective;
 
+    /**
+     * Set the raw actual value and its parsed form (number for quantitative KRs,
+     * grade for qualitative KRs). Blank values clear both.
+     *
+     * @return false if the value cannot be parsed for the metric type (the parsed form is then cleared)
+     */
+    public boolean applyActualValue(String value) {
+        this.actualValue = value;
+        this.actualNumeric = null;
+        this.actualGrade = null;
+
+        if (value == null || value.isBlank()) {
+            return true;
+        }
+        if (metricType == MetricType.QUALITATIVE) {
+            actualGrade = Grade.parse(value);
+            return actualGrade != null;
+        }
+        try {
+            double number = Double.parseDouble(value.trim());
+            if (!Double.isFinite(number)) {
+                return false;
+            }
+            actualNumeric = number;
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
     public enum MetricType {
         HIGHER_BETTER,
         LOWER_BETTER,
         QUALITATIVE
     }
+
+    /**
+     * Qualitative grades, A = best
+     */
+    public enum Grade {
+        A, B, C, D, E;
+
+        /**
+         * Parse a grade letter (case and surrounding whitespace ignored), null if not a grade
+         */
+        public static Grade parse(String value) {
+            if (value == null) {
+                return null;
+            }
+            String grade = value.trim();
+            if (grade.length() != 1) {
+                return null;
+            }
+            return switch (Character.toUpperCase(grade.charAt(0))) {
+                case 'A' -> A;
+                case 'B' -> B;
+                case 'C' -> C;
+                case 'D' -> D;
+                case 'E' -> E;
+                default -> null;
+            };
+        }
+    }
 }
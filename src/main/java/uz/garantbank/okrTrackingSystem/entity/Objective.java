@@ -3,18 +3,28 @@ package uz.garantbank.okrTrackingSystem.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
 import java.util.*;
 
 @Entity
-@Table(name = "objectives")
+@Table(name = "objectives", indexes = {
+        @Index(name = "idx_objectives_score_level", columnList = "score_level, score"),
+        @Index(name = "idx_objectives_score", columnList = "score")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@EqualsAndHashCode(exclude = {"department", "employee", "keyResults"})
-public class Objective {
+@EqualsAndHashCode(exclude = {"department", "employee", "keyResults", "score", "scoreLevel", "scorePercentage"})
+public class Objective implements Scored {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
+    @JavaType(UuidStringJavaType.class)
+    @JdbcTypeCode(SqlTypes.UUID)
     private String id;
 
     @Column(nullable = false)
@@ -23,6 +33,15 @@ public class Objective {
     @Column(nullable = false)
     private Integer weight; // Percentage weight within department (0-100)
 
+    // Persisted score (see PersistedScoreService), so queries can filter and sort by score in SQL
+    private Double score;
+
+    @Column(name = "score_level")
+    private Integer scoreLevel; // Index into the score levels sorted by value (0 = lowest)
+
+    @Column(name = "score_percentage")
+    private Double scorePercentage;
+
     /**
      * Department this objective belongs to (null for individual employee OKRs)
      */
@@ -0,0 +1,13 @@
+package uz.garantbank.okrTrackingSystem.entity;
+
+/**
+ * Entity with persisted score columns (score, level index, percentage),
+ * kept up to date by PersistedScoreService on every write that affects them.
+ */
+public interface Scored {
+    void setScore(Double score);
+
+    void setScoreLevel(Integer scoreLevel);
+
+    void setScorePercentage(Double scorePercentage);
+}
@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -27,7 +28,8 @@ import java.util.UUID;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     @EqualsAndHashCode.Include
     private UUID id;
 
@@ -111,11 +113,26 @@ public class User {
     private boolean readOnly = false;
 
     /**
-     * Timestamp of user's last login
+     * Timestamp of user's last login.
+     * Written only by AuditTimestampBuffer, never by entity updates.
      */
-    @Column(name = "last_login")
+    @Column(name = "last_login", updatable = false)
     private LocalDateTime lastLogin;
 
+    /**
+     * Timestamp of user's last authenticated request.
+     * Written only by AuditTimestampBuffer, never by entity updates.
+     */
+    @Column(name = "last_seen", updatable = false)
+    private LocalDateTime lastSeen;
+
+    /**
+     * JWTs issued at or before this time are rejected (set when the role changes or the account is deactivated).
+     * Written only by UserRepository.revokeTokens, never by entity updates.
+     */
+    @Column(name = "tokens_valid_after", updatable = false)
+    private LocalDateTime tokensValidAfter;
+
     /**
      * Departments the user is assigned to (many-to-many relationship)
      */
@@ -0,0 +1,90 @@
+package uz.garantbank.okrTrackingSystem.entity;
+
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.AbstractClassJavaType;
+import org.hibernate.type.descriptor.java.ImmutableMutabilityPlan;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.type.descriptor.jdbc.JdbcTypeIndicators;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Maps String entity IDs onto native 16-byte UUID columns.
+ *
+ * The application keeps passing IDs around as canonical UUID strings (DTOs, paths, JPQL parameters),
+ * only the database representation changes. Strings that are not UUIDs are rejected with an
+ * {@link IllegalArgumentException} when bound, which the API reports as 400.
+ */
+public class UuidStringJavaType extends AbstractClassJavaType<String> {
+
+    public static final UuidStringJavaType INSTANCE = new UuidStringJavaType();
+
+    public UuidStringJavaType() {
+        super(String.class, ImmutableMutabilityPlan.instance());
+    }
+
+    @Override
+    public JdbcType getRecommendedJdbcType(JdbcTypeIndicators indicators) {
+        return indicators.getJdbcType(SqlTypes.UUID);
+    }
+
+    @Override
+    public String toString(String value) {
+        return value;
+    }
+
+    @Override
+    public String fromString(CharSequence string) {
+        return string == null ? null : string.toString();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        UUID uuid = parse(value);
+        if (UUID.class.isAssignableFrom(type)) {
+            return (X) uuid;
+        }
+        if (String.class.isAssignableFrom(type)) {
+            return (X) uuid.toString();
+        }
+        if (byte[].class.isAssignableFrom(type)) {
+            return (X) ByteBuffer.allocate(16)
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits())
+                    .array();
+        }
+        throw unknownUnwrap(type);
+    }
+
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof UUID uuid) {
+            return uuid.toString();
+        }
+        if (value instanceof String string) {
+            return string;
+        }
+        if (value instanceof byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong()).toString();
+        }
+        throw unknownWrap(value.getClass());
+    }
+
+    private static UUID parse(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid ID: " + value, e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package uz.garantbank.okrTrackingSystem.exception;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
@@ -109,6 +111,47 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    /**
+     * Handle malformed IDs rejected while binding query parameters (400 Bad Request), e.g. a path ID that is not a UUID
+     */
+    @ExceptionHandler(InvalidDataAccessApiUsageException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidDataAccessApiUsage(InvalidDataAccessApiUsageException ex) {
+        if (!(ex.getMostSpecificCause() instanceof IllegalArgumentException cause)) {
+            return handleGenericException(ex);
+        }
+        return handleIllegalArgument(cause);
+    }
+
+    /**
+     * Handle rejected background work, e.g. a full export queue (503 Service Unavailable)
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecution(RejectedExecutionException ex) {
+        log.warn("Background task rejected: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponse.builder()
+                .code("SERVICE_BUSY")
+                .message("Too many requests are being processed, please try again later")
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    /**
+     * Handle admission control rejections, e.g. a login storm (429 Too Many Requests)
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException ex) {
+        log.warn("Request throttled: {}", ex.getMessage());
+        ErrorResponse error = ErrorResponse.builder()
+                .code("TOO_MANY_REQUESTS")
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     /**
      * Handle validation exceptions from @Valid annotations (400 Bad Request)
      */
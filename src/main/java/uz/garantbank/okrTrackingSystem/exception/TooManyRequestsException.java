@@ -0,0 +1,18 @@
+package uz.garantbank.okrTrackingSystem.exception;
+
+/**
+ * Request rejected by admission control (429 Too Many Requests).
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,13 +1,23 @@
 package uz.garantbank.okrTrackingSystem.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import uz.garantbank.okrTrackingSystem.dto.DepartmentRollupRow;
+import uz.garantbank.okrTrackingSystem.dto.OkrTreeRow;
+import uz.garantbank.okrTrackingSystem.dto.ScoreRow;
 import uz.garantbank.okrTrackingSystem.entity.Department;
+import uz.garantbank.okrTrackingSystem.entity.Division;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, String> {
@@ -26,12 +36,67 @@ public interface DepartmentRepository extends JpaRepository<Department, String>
     @Query("SELECT DISTINCT d FROM Department d LEFT JOIN FETCH d.objectives")
     List<Department> findAllWithObjectives();
 
+    /**
+     * Find the given departments with objectives eagerly loaded (key results via batch loading)
+     */
+    @Query("SELECT DISTINCT d FROM Department d LEFT JOIN FETCH d.objectives WHERE d.id IN :ids")
+    List<Department> findAllWithObjectivesByIdIn(@Param("ids") Collection<String> ids);
+
+    String OKR_TREE_SELECT = "SELECT new uz.garantbank.okrTrackingSystem.dto.OkrTreeRow(" +
+            "dv.id, dv.name, d.id, d.name, o.id, o.name, o.weight, " +
+            "k.id, k.name, k.description, k.metricType, k.unit, k.weight, " +
+            "k.thresholdBelow, k.thresholdMeets, k.thresholdGood, k.thresholdVeryGood, k.thresholdExceptional, " +
+            "k.actualValue, k.progress, k.attachmentUrl, k.attachmentFileName) " +
+            "FROM Department d LEFT JOIN d.division dv LEFT JOIN d.objectives o LEFT JOIN o.keyResults k ";
+
+    /**
+     * Stream the whole department / objective / key result tree as flat rows in one query,
+     * ordered so that rows of one department (and one objective) are adjacent.
+     * Must be consumed inside a transaction and closed.
+     */
+    @Query(OKR_TREE_SELECT + "ORDER BY d.id, o.id, k.id")
+    Stream<OkrTreeRow> streamOkrTree();
+
+    /**
+     * Same as {@link #streamOkrTree()} for a single department
+     */
+    @Query(OKR_TREE_SELECT + "WHERE d.id = :id ORDER BY o.id, k.id")
+    Stream<OkrTreeRow> streamOkrTreeByDepartmentId(@Param("id") String id);
+
     /**
      * Find all department IDs (lightweight query for batch processing)
      */
     @Query("SELECT d.id FROM Department d")
     List<String> findAllIds();
 
+    boolean existsByScoreIsNull();
+
+    /**
+     * All departments with their persisted OKR score and number of objectives, ordered by name
+     */
+    @Query("SELECT new uz.garantbank.okrTrackingSystem.dto.DepartmentRollupRow(" +
+            "d.id, d.name, dv.id, d.score, d.scoreLevel, d.scorePercentage, COUNT(o)) " +
+            "FROM Department d JOIN d.division dv LEFT JOIN d.objectives o " +
+            "GROUP BY d.id, d.name, dv.id, d.score, d.scoreLevel, d.scorePercentage " +
+            "ORDER BY d.name")
+    List<DepartmentRollupRow> findRollupRows();
+
+    /**
+     * Departments by persisted score level, optionally within one division (sortable by d.* properties)
+     */
+    @Query(value = "SELECT new uz.garantbank.okrTrackingSystem.dto.ScoreRow(" +
+            "d.id, d.name, d.score, d.scoreLevel, d.scorePercentage, dv.id, dv.name) " +
+            "FROM Department d LEFT JOIN d.division dv " +
+            "WHERE d.scoreLevel BETWEEN :minLevel AND :maxLevel " +
+            "AND (:divisionId IS NULL OR dv.id = :divisionId)",
+            countQuery = "SELECT COUNT(d) FROM Department d LEFT JOIN d.division dv " +
+            "WHERE d.scoreLevel BETWEEN :minLevel AND :maxLevel " +
+            "AND (:divisionId IS NULL OR dv.id = :divisionId)")
+    Page<ScoreRow> findScoreRows(@Param("minLevel") int minLevel,
+                                 @Param("maxLevel") int maxLevel,
+                                 @Param("divisionId") String divisionId,
+                                 Pageable pageable);
+
 
     /**
      * Why Add These?
@@ -52,6 +117,11 @@ public interface DepartmentRepository extends JpaRepository<Department, String>
     // Count departments in a division
     long countByDivisionId(String divisionId);
 
-    // Find departments without a division (orphans for migration)
-    List<Department> findByDivisionIsNull();
+    // Check for departments without a division (orphans for migration)
+    boolean existsByDivisionIsNull();
+
+    // Assign every department without a division to the given one in a single UPDATE (no entities loaded)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Department d SET d.division = :division, d.updatedAt = :now WHERE d.division IS NULL")
+    int assignDivisionToOrphans(@Param("division") Division division, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import uz.garantbank.okrTrackingSystem.dto.DivisionSummaryDTO;
 import uz.garantbank.okrTrackingSystem.entity.Division;
 
 import java.util.List;
@@ -23,6 +24,10 @@ public interface DivisionRepository extends JpaRepository<Division, String> {
     @Query("SELECT DISTINCT d FROM Division d LEFT JOIN FETCH d.departments")
     List<Division> findAllWithDepartments();
 
+    // All divisions as id/name only (no leader or department loading), ordered by name
+    @Query("SELECT new uz.garantbank.okrTrackingSystem.dto.DivisionSummaryDTO(d.id, d.name) FROM Division d ORDER BY d.name")
+    List<DivisionSummaryDTO> findAllSummaries();
+
     // Check if division name already exists
     boolean existsByName(String name);
 
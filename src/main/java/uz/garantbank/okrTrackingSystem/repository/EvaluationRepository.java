@@ -1,12 +1,17 @@
 package uz.garantbank.okrTrackingSystem.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uz.garantbank.okrTrackingSystem.entity.Evaluation;
 import uz.garantbank.okrTrackingSystem.entity.EvaluationStatus;
 import uz.garantbank.okrTrackingSystem.entity.EvaluatorType;
 import uz.garantbank.okrTrackingSystem.entity.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -81,4 +86,30 @@ public interface EvaluationRepository extends JpaRepository<Evaluation, UUID> {
             UUID targetId,
             EvaluationStatus status
     );
+
+    /**
+     * Find all evaluations with the given status for a set of targets (single IN query)
+     *
+     * @param targetType the type of target
+     * @param targetIds the IDs of the targets
+     * @param status the status to filter by
+     * @return list of evaluations
+     */
+    List<Evaluation> findByTargetTypeAndTargetIdInAndStatus(
+            String targetType,
+            Collection<UUID> targetIds,
+            EvaluationStatus status
+    );
+
+    /**
+     * Mark every evaluation with the given status as SUBMITTED in a single UPDATE (no entities loaded)
+     *
+     * @param status the status to migrate from
+     * @param now the submission / update timestamp to set
+     * @return number of evaluations updated
+     */
+    @Modifying
+    @Query("UPDATE Evaluation e SET e.status = uz.garantbank.okrTrackingSystem.entity.EvaluationStatus.SUBMITTED, " +
+           "e.submittedAt = COALESCE(e.submittedAt, :now), e.updatedAt = :now WHERE e.status = :status")
+    int submitAllWithStatus(@Param("status") EvaluationStatus status, @Param("now") LocalDateTime now);
 }
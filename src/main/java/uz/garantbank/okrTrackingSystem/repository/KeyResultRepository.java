@@ -1,11 +1,54 @@
 package uz.garantbank.okrTrackingSystem.repository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import uz.garantbank.okrTrackingSystem.dto.KeyResultDepartmentRow;
+import uz.garantbank.okrTrackingSystem.dto.ScoreRow;
 import uz.garantbank.okrTrackingSystem.entity.KeyResult;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface KeyResultRepository extends JpaRepository<KeyResult, String> {
     List<KeyResult> findByObjectiveId(String objectiveId);
+
+    // Key results whose actual value has not been parsed into actualNumeric / actualGrade yet
+    @Query("SELECT k FROM KeyResult k WHERE k.actualValue IS NOT NULL " +
+           "AND k.actualNumeric IS NULL AND k.actualGrade IS NULL")
+    List<KeyResult> findWithUnparsedActualValue();
+
+    boolean existsByScoreIsNull();
+
+    /**
+     * Owning department of each key result (for permission checks on bulk updates)
+     */
+    @Query("SELECT new uz.garantbank.okrTrackingSystem.dto.KeyResultDepartmentRow(k.id, d.id) " +
+           "FROM KeyResult k JOIN k.objective o LEFT JOIN o.department d WHERE k.id IN :ids")
+    List<KeyResultDepartmentRow> findDepartmentRows(@Param("ids") Collection<String> ids);
+
+    /**
+     * Key results with their objective and department loaded
+     */
+    @Query("SELECT k FROM KeyResult k JOIN FETCH k.objective o LEFT JOIN FETCH o.department WHERE k.id IN :ids")
+    List<KeyResult> findAllByIdWithObjective(@Param("ids") Collection<String> ids);
+
+    /**
+     * Key results by persisted score level, optionally within one department (sortable by k.* properties)
+     */
+    @Query(value = "SELECT new uz.garantbank.okrTrackingSystem.dto.ScoreRow(" +
+            "k.id, k.name, k.score, k.scoreLevel, k.scorePercentage, o.id, o.name, d.id, d.name, dv.id, dv.name) " +
+            "FROM KeyResult k JOIN k.objective o LEFT JOIN o.department d LEFT JOIN d.division dv " +
+            "WHERE k.scoreLevel BETWEEN :minLevel AND :maxLevel " +
+            "AND (:departmentId IS NULL OR d.id = :departmentId)",
+            countQuery = "SELECT COUNT(k) FROM KeyResult k JOIN k.objective o LEFT JOIN o.department d " +
+            "WHERE k.scoreLevel BETWEEN :minLevel AND :maxLevel " +
+            "AND (:departmentId IS NULL OR d.id = :departmentId)")
+    Page<ScoreRow> findScoreRows(@Param("minLevel") int minLevel,
+                                 @Param("maxLevel") int maxLevel,
+                                 @Param("departmentId") String departmentId,
+                                 Pageable pageable);
 }
\ No newline at end of file
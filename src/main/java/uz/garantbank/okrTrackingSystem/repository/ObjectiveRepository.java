@@ -1,9 +1,12 @@
 package uz.garantbank.okrTrackingSystem.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import uz.garantbank.okrTrackingSystem.dto.ScoreRow;
 import uz.garantbank.okrTrackingSystem.entity.Objective;
 
 import java.util.List;
@@ -13,6 +16,27 @@ import java.util.Optional;
 public interface ObjectiveRepository extends JpaRepository<Objective, String> {
     List<Objective> findByDepartmentId(String departmentId);
 
+    // Individual employee objectives (no department)
+    List<Objective> findByDepartmentIsNull();
+
+    boolean existsByScoreIsNull();
+
+    /**
+     * Objectives by persisted score level, optionally within one department (sortable by o.* properties)
+     */
+    @Query(value = "SELECT new uz.garantbank.okrTrackingSystem.dto.ScoreRow(" +
+            "o.id, o.name, o.score, o.scoreLevel, o.scorePercentage, d.id, d.name, dv.id, dv.name) " +
+            "FROM Objective o LEFT JOIN o.department d LEFT JOIN d.division dv " +
+            "WHERE o.scoreLevel BETWEEN :minLevel AND :maxLevel " +
+            "AND (:departmentId IS NULL OR d.id = :departmentId)",
+            countQuery = "SELECT COUNT(o) FROM Objective o LEFT JOIN o.department d " +
+            "WHERE o.scoreLevel BETWEEN :minLevel AND :maxLevel " +
+            "AND (:departmentId IS NULL OR d.id = :departmentId)")
+    Page<ScoreRow> findScoreRows(@Param("minLevel") int minLevel,
+                                 @Param("maxLevel") int maxLevel,
+                                 @Param("departmentId") String departmentId,
+                                 Pageable pageable);
+
     /**
      * Find objectives by department ID with key results eagerly loaded
      */
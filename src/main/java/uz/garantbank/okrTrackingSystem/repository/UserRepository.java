@@ -3,12 +3,14 @@ package uz.garantbank.okrTrackingSystem.repository;
 
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uz.garantbank.okrTrackingSystem.entity.Role;
 import uz.garantbank.okrTrackingSystem.entity.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -83,6 +85,17 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      */
     List<User> findByIsActiveFalse();
 
+    /**
+     * Reject all JWTs issued to the user up to the given time
+     *
+     * @param id the user ID
+     * @param now revocation time
+     * @return number of updated rows (0 if the user does not exist)
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.tokensValidAfter = :now WHERE u.id = :id")
+    int revokeTokens(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
     /**
      * Find department leaders assigned to specific departments
      *
@@ -1,5 +1,6 @@
 package uz.garantbank.okrTrackingSystem.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,18 +12,26 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import uz.garantbank.okrTrackingSystem.service.AuditTimestampBuffer;
 
 import java.io.IOException;
+import java.util.UUID;
 
 /**
  * JWT Authentication Filter.
  * Intercepts requests, extracts JWT tokens, and sets up Spring Security authentication.
+ *
+ * The token is verified once and the principal is built from its claims; only tokens
+ * issued before the user claims existed fall back to loading the user. Tokens of deleted,
+ * deactivated or revoked users are rejected (checked against the cached user snapshot).
  */
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationService revocationService;
+    private final AuditTimestampBuffer auditTimestampBuffer;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -30,22 +39,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseToken(jwt) : null;
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            if (claims != null) {
+                UserDetails userDetails = tokenProvider.toUserDetails(claims);
+                if (userDetails == null) {
+                    // Token without user claims (issued before they were added)
+                    userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+                }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UUID userId = ((UserDetailsImpl) userDetails).getId();
+                boolean revoked = revocationService.isRevoked(userId, tokenProvider.getIssuedAtMillis(claims));
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+                if (userDetails.isEnabled() && !revoked) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails,
+                                    null,
+                                    userDetails.getAuthorities()
+                            );
 
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    auditTimestampBuffer.recordSeen(userId);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -2,26 +2,53 @@ package uz.garantbank.okrTrackingSystem.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.util.Collections;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * Utility class for generating and validating JWT tokens.
  * Handles token creation, parsing, and validation for authentication.
+ *
+ * Tokens carry the user ID, role and active flag as claims, so a request is authenticated
+ * from a single signature check without loading the user. The signing key and parser are
+ * built once at startup (both are immutable and thread-safe).
  */
+@Slf4j
 @Component
 public class JwtTokenProvider {
 
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_ACTIVE = "active";
+    // The standard iat claim only has whole seconds; revocation checks need milliseconds
+    static final String CLAIM_ISSUED_AT_MS = "iatMs";
+
     @Value("${jwt.secret:YourSuperSecretKeyThatIsAtLeast256BitsLongForHS256AlgorithmSecurityPurposes}")
     private String jwtSecret;
 
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private long jwtExpirationMs;
 
+    private SecretKey key;
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+    }
+
     /**
      * Generate JWT token for authenticated user
      *
@@ -29,35 +56,25 @@ public class JwtTokenProvider {
      * @return JWT token string
      */
     public String generateToken(Authentication authentication) {
-        UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
-
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
-
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-
-        return Jwts.builder()
-                .setSubject(userPrincipal.getUsername())
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+        return generateToken((UserDetailsImpl) authentication.getPrincipal());
     }
 
     /**
-     * Generate JWT token from username (for registration)
+     * Generate JWT token carrying the user's ID, role and active flag
      *
-     * @param username the username
+     * @param user the authenticated user
      * @return JWT token string
      */
-    public String generateTokenFromUsername(String username) {
+    public String generateToken(UserDetailsImpl user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-
         return Jwts.builder()
-                .setSubject(username)
+                .setSubject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId().toString())
+                .claim(CLAIM_ROLE, user.getRole())
+                .claim(CLAIM_ACTIVE, user.isActive())
+                .claim(CLAIM_ISSUED_AT_MS, now.getTime())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -65,51 +82,65 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Extract username from JWT token
+     * Verify a token and read its claims in one parse
      *
      * @param token JWT token
-     * @return username
+     * @return the claims, or null if the token is invalid or expired
      */
-    public String getUsernameFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
-    }
-
-    /**
-     * Validate JWT token
-     *
-     * @param authToken JWT token to validate
-     * @return true if token is valid, false otherwise
-     */
-    public boolean validateToken(String authToken) {
+    public Claims parseToken(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(authToken);
-
-            return true;
+            return parser.parseClaimsJws(token).getBody();
         } catch (SecurityException ex) {
-            System.err.println("Invalid JWT signature: " + ex.getMessage());
+            log.debug("Invalid JWT signature: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
-            System.err.println("Invalid JWT token: " + ex.getMessage());
+            log.debug("Invalid JWT token: {}", ex.getMessage());
         } catch (ExpiredJwtException ex) {
-            System.err.println("Expired JWT token: " + ex.getMessage());
+            log.debug("Expired JWT token: {}", ex.getMessage());
         } catch (UnsupportedJwtException ex) {
-            System.err.println("Unsupported JWT token: " + ex.getMessage());
+            log.debug("Unsupported JWT token: {}", ex.getMessage());
         } catch (IllegalArgumentException ex) {
-            System.err.println("JWT claims string is empty: " + ex.getMessage());
+            log.debug("JWT claims string is empty: {}", ex.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Issue time of a verified token in epoch milliseconds.
+     * Tokens issued before the millisecond claim existed fall back to the whole-second iat claim.
+     *
+     * @param claims claims of a verified token
+     * @return the issue time, or 0 if the token has none
+     */
+    public long getIssuedAtMillis(Claims claims) {
+        Long issuedAtMs = claims.get(CLAIM_ISSUED_AT_MS, Long.class);
+        if (issuedAtMs != null) {
+            return issuedAtMs;
         }
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0;
+    }
 
-        return false;
+    /**
+     * Build the request principal from verified claims (no database access).
+     * Email, full name and password are not part of the token and stay null.
+     *
+     * @param claims claims of a verified token
+     * @return the principal, or null if the token predates the user claims
+     */
+    public UserDetailsImpl toUserDetails(Claims claims) {
+        String userId = claims.get(CLAIM_USER_ID, String.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Boolean active = claims.get(CLAIM_ACTIVE, Boolean.class);
+        if (userId == null || role == null || active == null) {
+            return null;
+        }
+        return new UserDetailsImpl(
+                UUID.fromString(userId),
+                claims.getSubject(),
+                null,
+                null,
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)),
+                active
+        );
     }
 }
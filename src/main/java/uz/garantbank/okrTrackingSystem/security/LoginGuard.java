@@ -0,0 +1,111 @@
+package uz.garantbank.okrTrackingSystem.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uz.garantbank.okrTrackingSystem.exception.TooManyRequestsException;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for logins.
+ *
+ * Password checks (BCrypt) run on a small bounded executor (app.auth.login.threads workers,
+ * app.auth.login.queue-capacity waiting logins) instead of request threads, so a login storm
+ * cannot starve the rest of the API. Attempts are rate limited per username and per client IP
+ * with token buckets; over-limit attempts and a full queue are rejected with 429 before any
+ * hashing is done.
+ */
+@Component
+@Slf4j
+public class LoginGuard {
+
+    @Value("${app.auth.login.threads:0}")
+    private int threads;
+
+    @Value("${app.auth.login.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${app.auth.rate-limit.stripes:4096}")
+    private int stripes;
+
+    @Value("${app.auth.rate-limit.username.capacity:10}")
+    private int usernameCapacity;
+
+    @Value("${app.auth.rate-limit.username.per-minute:10}")
+    private int usernamePerMinute;
+
+    @Value("${app.auth.rate-limit.ip.capacity:300}")
+    private int ipCapacity;
+
+    @Value("${app.auth.rate-limit.ip.per-minute:600}")
+    private int ipPerMinute;
+
+    private ThreadPoolExecutor executor;
+    private TokenBucketLimiter usernameLimiter;
+    private TokenBucketLimiter ipLimiter;
+
+    @PostConstruct
+    public void init() {
+        // BCrypt is CPU bound: by default leave half the cores to the rest of the API
+        int workers = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        usernameLimiter = new TokenBucketLimiter(stripes, usernameCapacity, usernamePerMinute);
+        ipLimiter = new TokenBucketLimiter(stripes, ipCapacity, ipPerMinute);
+        log.info("Login executor started with {} workers, queue capacity {}", workers, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Take a login attempt from the username and IP buckets
+     *
+     * @throws TooManyRequestsException if either bucket is empty
+     */
+    public void admit(String username, String clientIp) {
+        if (clientIp != null && !ipLimiter.tryAcquire(clientIp)) {
+            throw new TooManyRequestsException("Too many login attempts from this address",
+                    ipLimiter.retryAfterSeconds());
+        }
+        if (username != null && !usernameLimiter.tryAcquire(username.toLowerCase(Locale.ROOT))) {
+            throw new TooManyRequestsException("Too many login attempts for this user",
+                    usernameLimiter.retryAfterSeconds());
+        }
+    }
+
+    /**
+     * Run a login on the login executor
+     *
+     * @throws TooManyRequestsException if the login queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> login) {
+        try {
+            return CompletableFuture.supplyAsync(login, executor);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Login service is busy, please retry shortly", 1);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package uz.garantbank.okrTrackingSystem.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free token-bucket rate limiter over a fixed array of striped buckets.
+ *
+ * Keys hash onto a power-of-two number of stripes, so memory does not grow with the number of
+ * distinct keys; keys that share a stripe share its budget. Each stripe is one {@code long}
+ * (last refill time in milliseconds since creation, token count in thousandths) updated by CAS.
+ */
+public final class TokenBucketLimiter {
+
+    // Token counts are kept in thousandths so slow refill rates don't round down to nothing
+    private static final long ONE_TOKEN = 1000;
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    private final AtomicLongArray buckets;
+    private final int mask;
+    private final long capacity;
+    private final double refillPerMilli;
+    private final long originNanos = System.nanoTime();
+
+    /**
+     * @param stripes number of buckets (rounded up to a power of two)
+     * @param capacity burst size in tokens
+     * @param refillPerMinute tokens added per minute
+     */
+    public TokenBucketLimiter(int stripes, int capacity, int refillPerMinute) {
+        if (capacity < 1 || capacity * ONE_TOKEN > TOKEN_MASK) {
+            throw new IllegalArgumentException("Bucket capacity must be between 1 and " + TOKEN_MASK / ONE_TOKEN);
+        }
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.buckets = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.capacity = capacity * ONE_TOKEN;
+        this.refillPerMilli = refillPerMinute * ONE_TOKEN / 60_000.0;
+        for (int i = 0; i < size; i++) {
+            buckets.set(i, this.capacity);
+        }
+    }
+
+    /**
+     * Take one token from the key's bucket
+     *
+     * @return false if the bucket is empty
+     */
+    public boolean tryAcquire(String key) {
+        int stripe = spread(key.hashCode()) & mask;
+        while (true) {
+            long state = buckets.get(stripe);
+            long now = (System.nanoTime() - originNanos) / 1_000_000;
+            long last = state >>> TOKEN_BITS;
+            long tokens = Math.min(capacity, (state & TOKEN_MASK) + (long) ((now - last) * refillPerMilli));
+            if (tokens < ONE_TOKEN) {
+                return false;
+            }
+            if (buckets.compareAndSet(stripe, state, (now << TOKEN_BITS) | (tokens - ONE_TOKEN))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Seconds until one token is back in a bucket that was just found empty
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, (long) Math.ceil(ONE_TOKEN / refillPerMilli / 1000));
+    }
+
+    private static int spread(int hash) {
+        // Mix high bits into the low bits used for the stripe index
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,50 @@
+package uz.garantbank.okrTrackingSystem.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import uz.garantbank.okrTrackingSystem.repository.UserRepository;
+import uz.garantbank.okrTrackingSystem.service.UserSecurityCache;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Rejects tokens whose claims went stale: when a user is deactivated or their role changes,
+ * every token issued to them up to that moment is revoked and they have to log in again.
+ * Tokens of users that no longer exist are rejected as well.
+ *
+ * The revocation time is stored in users.tokens_valid_after, so it survives restarts, and is read
+ * through {@link UserSecurityCache}, which drops a user's snapshot once a change to it commits.
+ * Code that deletes users in bulk must invalidate the cache for them.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private final UserRepository userRepository;
+    private final UserSecurityCache userSecurityCache;
+
+    /**
+     * Revoke all tokens issued to the user so far, effective once the current transaction commits
+     */
+    public void revokeAll(UUID userId) {
+        // Milliseconds, the precision tokens carry their issue time in
+        userRepository.revokeTokens(userId, LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+        userSecurityCache.invalidate(userId);
+    }
+
+    /**
+     * True if a token issued to the user at the given time must be rejected:
+     * the user was deleted or deactivated, or revoked their tokens after it was issued.
+     * Compared in milliseconds, so a login right after a revocation gets a valid token.
+     */
+    public boolean isRevoked(UUID userId, long issuedAtEpochMilli) {
+        UserSecurityCache.Snapshot snapshot = userSecurityCache.get(userId);
+        if (snapshot == null || !snapshot.active()) {
+            return true;
+        }
+        Long validAfter = snapshot.tokensValidAfter();
+        return validAfter != null && issuedAtEpochMilli <= validAfter;
+    }
+}
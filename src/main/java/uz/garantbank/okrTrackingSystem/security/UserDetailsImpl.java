@@ -55,6 +55,19 @@ public class UserDetailsImpl implements UserDetails {
         );
     }
 
+    /**
+     * Role name without the ROLE_ prefix (e.g. ADMIN)
+     */
+    public String getRole() {
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            if (name.startsWith("ROLE_")) {
+                return name.substring("ROLE_".length());
+            }
+        }
+        return null;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
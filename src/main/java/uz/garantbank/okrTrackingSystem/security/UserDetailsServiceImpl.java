@@ -25,7 +25,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        log.info("Loading user by username: {}", username);
+        log.debug("Loading user by username: {}", username);
 
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> {
@@ -33,12 +33,9 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                     return new UsernameNotFoundException("User not found with username: " + username);
                 });
 
-        log.info("Found user: {}, role: {}, active: {}", user.getUsername(), user.getRole(), user.isActive());
+        log.debug("Found user: {}, role: {}, active: {}", user.getUsername(), user.getRole(), user.isActive());
 
-        UserDetails userDetails = UserDetailsImpl.build(user);
-        log.info("UserDetails created, enabled: {}", userDetails.isEnabled());
-
-        return userDetails;
+        return UserDetailsImpl.build(user);
     }
 }
 
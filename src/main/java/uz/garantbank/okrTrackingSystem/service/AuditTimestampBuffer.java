@@ -0,0 +1,142 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for low-value user audit timestamps (last login, last seen).
+ *
+ * Callers only merge the timestamp into an in-memory map keyed by user ID, keeping the latest
+ * value per user and field. Every app.audit.flush-seconds the pending values are written as one
+ * JDBC batch (one row per user), and once more on shutdown. A failed flush puts its values back
+ * so they are retried with the next one.
+ *
+ * The columns are not updatable through JPA (see {@link uz.garantbank.okrTrackingSystem.entity.User}),
+ * so saving a user loaded earlier cannot overwrite a newer flushed value.
+ */
+@Component
+@Slf4j
+public class AuditTimestampBuffer {
+
+    private static final String FLUSH_SQL = "UPDATE users SET " +
+            "last_login = COALESCE(?, last_login), last_seen = COALESCE(?, last_seen) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.audit.flush-seconds:10}")
+    private long flushSeconds;
+
+    private final Map<UUID, Stamps> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public AuditTimestampBuffer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, flushSeconds, flushSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Let a running flush finish, then write whatever is left
+        scheduler.shutdown();
+        if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Audit flush did not finish in time");
+        }
+        flush();
+    }
+
+    public void recordLogin(UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        pending.merge(userId, new Stamps(now, null), Stamps::latest);
+    }
+
+    public void recordSeen(UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        pending.merge(userId, new Stamps(null, now), Stamps::latest);
+    }
+
+    /**
+     * Number of users with unflushed timestamps
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Write all pending timestamps in one batch
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<UUID> userIds = new ArrayList<>();
+        List<Stamps> stamps = new ArrayList<>();
+        for (UUID userId : pending.keySet()) {
+            Stamps value = pending.remove(userId);
+            if (value != null) {
+                userIds.add(userId);
+                stamps.add(value);
+            }
+        }
+
+        List<Object[]> rows = new ArrayList<>(userIds.size());
+        for (int i = 0; i < userIds.size(); i++) {
+            Stamps value = stamps.get(i);
+            rows.add(new Object[]{toTimestamp(value.lastLogin()), toTimestamp(value.lastSeen()), userIds.get(i)});
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, rows);
+            log.debug("Flushed audit timestamps for {} users", rows.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not flush audit timestamps for {} users, will retry", rows.size(), e);
+            for (int i = 0; i < userIds.size(); i++) {
+                pending.merge(userIds.get(i), stamps.get(i), Stamps::latest);
+            }
+        }
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    /**
+     * Pending values for one user (null = nothing to write for that column)
+     */
+    private record Stamps(LocalDateTime lastLogin, LocalDateTime lastSeen) {
+
+        static Stamps latest(Stamps a, Stamps b) {
+            return new Stamps(max(a.lastLogin, b.lastLogin), max(a.lastSeen, b.lastSeen));
+        }
+
+        private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+            if (a == null) {
+                return b;
+            }
+            return b == null || a.isAfter(b) ? a : b;
+        }
+    }
+}
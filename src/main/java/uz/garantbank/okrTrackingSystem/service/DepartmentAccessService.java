@@ -5,6 +5,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
 import uz.garantbank.okrTrackingSystem.entity.Department;
 import uz.garantbank.okrTrackingSystem.entity.Role;
 import uz.garantbank.okrTrackingSystem.entity.User;
@@ -22,15 +23,25 @@ import java.util.stream.Collectors;
 public class DepartmentAccessService {
 
     private final UserRepository userRepository;
+    private final RequestAccessContext requestAccessContext;
 
     /**
      * Get the currently authenticated user from the SecurityContext.
+     * Within an HTTP request the user is resolved once and reused.
      *
      * @return the current User entity
      * @throws AccessDeniedException if not authenticated
      */
     @Transactional(readOnly = true)
     public User getCurrentUser() {
+        if (inRequest()) {
+            User user = requestAccessContext.getUser();
+            if (user == null) {
+                throw new AccessDeniedException("Not authenticated");
+            }
+            return user;
+        }
+
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || auth.getPrincipal().equals("anonymousUser")) {
             throw new AccessDeniedException("Not authenticated");
@@ -159,6 +170,10 @@ public class DepartmentAccessService {
      */
     @Transactional(readOnly = true)
     public boolean isDepartmentAssigned(User user, String departmentId) {
+        if (inRequest() && requestAccessContext.isCurrentUser(user)) {
+            return requestAccessContext.getAssignedDepartmentIds().contains(departmentId);
+        }
+
         // Ensure the collection is loaded using eager fetch
         User freshUser = userRepository.findByIdWithDepartments(user.getId()).orElse(user);
         return freshUser.getAssignedDepartments().stream()
@@ -173,6 +188,10 @@ public class DepartmentAccessService {
      */
     @Transactional(readOnly = true)
     public List<String> getAssignedDepartmentIds(User user) {
+        if (inRequest() && requestAccessContext.isCurrentUser(user)) {
+            return List.copyOf(requestAccessContext.getAssignedDepartmentIds());
+        }
+
         User freshUser = userRepository.findByIdWithDepartments(user.getId()).orElse(user);
         return freshUser.getAssignedDepartments().stream()
                 .map(Department::getId)
@@ -217,6 +236,20 @@ public class DepartmentAccessService {
         return isDepartmentAssigned(user, departmentId);
     }
 
+    /**
+     * Check if the current user (if any) can view progress for a department's key results.
+     *
+     * @param departmentId the department ID
+     * @return false if not authenticated or not allowed
+     */
+    public boolean currentUserCanViewProgress(String departmentId) {
+        if (!inRequest()) {
+            return false;
+        }
+        User user = requestAccessContext.getUser();
+        return user != null && canViewProgress(user, departmentId);
+    }
+
     /**
      * Check if the current user has write access.
      * Throws AccessDeniedException if the user is in read-only mode.
@@ -258,4 +291,8 @@ public class DepartmentAccessService {
             throw new AccessDeniedException("Only administrators can perform this action");
         }
     }
+
+    private boolean inRequest() {
+        return RequestContextHolder.getRequestAttributes() != null;
+    }
 }
@@ -22,18 +22,21 @@ public class DivisionService {
     private final DepartmentRepository departmentRepository;
     private final UserRepository userRepository;
     private final ScoreCalculationService scoreCalculationService;
+    private final ScoreAggregationTree scoreTree;
 
     // Constructor injection (recommended over @Autowired)
     public DivisionService(
             DivisionRepository divisionRepository,
             DepartmentRepository departmentRepository,
             UserRepository userRepository,
-            ScoreCalculationService scoreCalculationService
+            ScoreCalculationService scoreCalculationService,
+            ScoreAggregationTree scoreTree
     ) {
         this.divisionRepository = divisionRepository;
         this.departmentRepository = departmentRepository;
         this.userRepository = userRepository;
         this.scoreCalculationService = scoreCalculationService;
+        this.scoreTree = scoreTree;
     }
 
     /**
@@ -133,13 +136,14 @@ public class DivisionService {
      * Get division with calculated score
      */
     public DivisionWithScoreDTO getDivisionWithScore(String divisionId) {
-        Division division = divisionRepository.findByIdWithDepartments(divisionId)
+        Division division = divisionRepository.findById(divisionId)
                 .orElseThrow(() -> new IllegalArgumentException("Division not found"));
 
-        // Calculate division score
-        ScoreResult score = scoreCalculationService.calculateDivisionScore(
-                division.getDepartments()
-        );
+        // Division score from the aggregation tree (calculated if the division has no departments yet)
+        ScoreResult score = scoreTree.divisionScore(divisionId);
+        if (score == null) {
+            score = scoreCalculationService.calculateDivisionScore(division.getDepartments());
+        }
 
         DivisionWithScoreDTO dto = new DivisionWithScoreDTO();
         dto.setId(division.getId());
@@ -4,13 +4,13 @@ import uz.garantbank.okrTrackingSystem.dto.EvaluationCreateRequest;
 import uz.garantbank.okrTrackingSystem.dto.EvaluationDTO;
 import uz.garantbank.okrTrackingSystem.entity.*;
 import uz.garantbank.okrTrackingSystem.repository.EvaluationRepository;
-import uz.garantbank.okrTrackingSystem.repository.ScoreLevelRepository;
 import uz.garantbank.okrTrackingSystem.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -29,28 +29,19 @@ public class EvaluationService {
 
     private final EvaluationRepository evaluationRepository;
     private final UserRepository userRepository;
-    private final ScoreLevelRepository scoreLevelRepository;
+    private final ScoreLevelRegistry scoreLevelRegistry;
 
     /**
      * Migrate any DRAFT evaluations to SUBMITTED status on application startup.
      * This handles evaluations created before the auto-submit change was made.
+     * Runs as one bulk UPDATE, the evaluations are not loaded.
      */
     @org.springframework.context.event.EventListener(org.springframework.boot.context.event.ApplicationReadyEvent.class)
     @Transactional
     public void migrateDraftEvaluationsToSubmitted() {
-        List<Evaluation> draftEvals = evaluationRepository.findAll().stream()
-                .filter(e -> e.getStatus() == EvaluationStatus.DRAFT)
-                .toList();
-
-        if (!draftEvals.isEmpty()) {
-            log.info("Found {} DRAFT evaluations to migrate to SUBMITTED", draftEvals.size());
-            for (Evaluation eval : draftEvals) {
-                log.info("Migrating evaluation: id={}, targetType={}, targetId={}, evaluatorType={}",
-                        eval.getId(), eval.getTargetType(), eval.getTargetId(), eval.getEvaluatorType());
-                eval.setStatus(EvaluationStatus.SUBMITTED);
-                evaluationRepository.save(eval);
-            }
-            log.info("Successfully migrated {} evaluations to SUBMITTED status", draftEvals.size());
+        int migrated = evaluationRepository.submitAllWithStatus(EvaluationStatus.DRAFT, LocalDateTime.now());
+        if (migrated > 0) {
+            log.info("Successfully migrated {} DRAFT evaluations to SUBMITTED status", migrated);
         } else {
             log.info("No DRAFT evaluations found to migrate");
         }
@@ -297,22 +288,16 @@ public class EvaluationService {
      * Get minimum score from dynamic score levels
      */
     private double getMinScore() {
-        List<ScoreLevel> levels = scoreLevelRepository.findAllByOrderByDisplayOrderAsc();
-        if (levels.isEmpty()) {
-            return 0.0; // Default fallback (0.0-1.0 normalized scale)
-        }
-        return levels.stream().mapToDouble(ScoreLevel::getScoreValue).min().orElse(0.0);
+        // Default fallback is 0.0 (0.0-1.0 normalized scale)
+        return scoreLevelRegistry.current().minScore();
     }
 
     /**
      * Get maximum score from dynamic score levels
      */
     private double getMaxScore() {
-        List<ScoreLevel> levels = scoreLevelRepository.findAllByOrderByDisplayOrderAsc();
-        if (levels.isEmpty()) {
-            return 1.0; // Default fallback (0.0-1.0 normalized scale)
-        }
-        return levels.stream().mapToDouble(ScoreLevel::getScoreValue).max().orElse(1.0);
+        // Default fallback is 1.0 (0.0-1.0 normalized scale)
+        return scoreLevelRegistry.current().maxScore();
     }
 
     /**
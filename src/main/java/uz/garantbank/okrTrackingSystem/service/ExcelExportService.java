@@ -3,93 +3,120 @@ package uz.garantbank.okrTrackingSystem.service;
 
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.*;
 import org.springframework.stereotype.Service;
 import uz.garantbank.okrTrackingSystem.dto.DepartmentDTO;
 import uz.garantbank.okrTrackingSystem.dto.KeyResultDTO;
 import uz.garantbank.okrTrackingSystem.dto.ObjectiveDTO;
 import uz.garantbank.okrTrackingSystem.entity.KeyResult;
-import uz.garantbank.okrTrackingSystem.entity.ScoreLevel;
-import uz.garantbank.okrTrackingSystem.repository.ScoreLevelRepository;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 @Service
 public class ExcelExportService {
 
-    private final ScoreLevelRepository scoreLevelRepository;
-
-    // Default score levels if none in database (0.0-1.0 normalized scale)
-    private static final List<DefaultLevel> DEFAULT_LEVELS = List.of(
-            new DefaultLevel("Не соответствует", 0.0, "#d9534f"),
-            new DefaultLevel("Ниже ожиданий", 0.31, "#f0ad4e"),
-            new DefaultLevel("На уровне ожиданий", 0.51, "#5cb85c"),
-            new DefaultLevel("Превышает ожидания", 0.86, "#28a745"),
-            new DefaultLevel("Исключительно", 0.98, "#1e7b34")
-    );
-
-    public ExcelExportService(ScoreLevelRepository scoreLevelRepository) {
-        this.scoreLevelRepository = scoreLevelRepository;
+    // Rows kept in memory by SXSSF; older rows are flushed to a temp file
+    private static final int ROW_WINDOW_SIZE = 100;
+    // Excel's maximum column width is 255 characters
+    private static final int MAX_COLUMN_CHARS = 255;
+
+    // Hidden sheet with the score levels referenced by the row formulas
+    private static final String LEVELS_SHEET = "Уровни";
+    private static final String[] QUALITATIVE_GRADES = {"A", "B", "C", "D", "E"};
+    // Placeholder for the 1-based row number in formula templates
+    private static final String ROW = "{r}";
+
+    // Columns before the per-level threshold columns, and the two formula columns after them
+    // (ExcelImportService reads the same layout back)
+    static final String[] FIXED_HEADERS = {
+            "Департамент", "Цель", "Вес цели", "Ключевой результат", "Тип", "Факт", "Единица измерения"
+    };
+    static final String SCORE_HEADER = "Оценка";
+    static final String LEVEL_HEADER = "Уровень исполнения";
+
+    private final ScoreLevelRegistry scoreLevelRegistry;
+
+    public ExcelExportService(ScoreLevelRegistry scoreLevelRegistry) {
+        this.scoreLevelRegistry = scoreLevelRegistry;
     }
 
-    private record DefaultLevel(String name, double scoreValue, String color) {}
-
-    private List<ScoreLevel> getScoreLevels() {
-        List<ScoreLevel> levels = scoreLevelRepository.findAllByOrderByDisplayOrderAsc();
-        if (levels.isEmpty()) {
-            // Create default levels as ScoreLevel objects
-            List<ScoreLevel> defaults = new ArrayList<>();
-            for (int i = 0; i < DEFAULT_LEVELS.size(); i++) {
-                DefaultLevel dl = DEFAULT_LEVELS.get(i);
-                defaults.add(ScoreLevel.builder()
-                        .name(dl.name())
-                        .scoreValue(dl.scoreValue())
-                        .color(dl.color())
-                        .displayOrder(i)
-                        .build());
-            }
-            return defaults;
-        }
-        // Sort by scoreValue ascending
-        levels.sort(Comparator.comparingDouble(ScoreLevel::getScoreValue));
-        return levels;
+    /**
+     * Score levels sorted by scoreValue ascending (built-in defaults if none in database)
+     */
+    private ScoreLevelTable getScoreLevels() {
+        return scoreLevelRegistry.current();
     }
 
-    private String[] buildHeaders(List<ScoreLevel> levels) {
-        List<String> headers = new ArrayList<>();
-        headers.add("Департамент");
-        headers.add("Цель");
-        headers.add("Вес цели");
-        headers.add("Ключевой результат");
-        headers.add("Тип");
-        headers.add("Факт");
-        headers.add("Единица измерения");
+    private String[] buildHeaders(ScoreLevelTable levels) {
+        List<String> headers = new ArrayList<>(List.of(FIXED_HEADERS));
         // Add dynamic level names
-        for (ScoreLevel level : levels) {
-            headers.add(level.getName());
+        for (int i = 0; i < levels.size(); i++) {
+            headers.add(levels.name(i));
         }
-        headers.add("Оценка");
-        headers.add("Уровень исполнения");
+        headers.add(SCORE_HEADER);
+        headers.add(LEVEL_HEADER);
         return headers.toArray(new String[0]);
     }
 
-    public byte[] exportToExcel(List<DepartmentDTO> departments) {
-        try (XSSFWorkbook workbook = new XSSFWorkbook();
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+    /**
+     * Write the export workbook to the given stream.
+     * Uses a streaming (SXSSF) workbook, so memory stays flat regardless of the number of key results.
+     */
+    public void writeExcel(List<DepartmentDTO> departments, OutputStream outputStream) throws IOException {
+        writeExcel(departments, outputStream, percent -> { });
+    }
+
+    /**
+     * Same as {@link #writeExcel(List, OutputStream)}, reporting progress (0-99, share of key result
+     * rows written) to the given listener. 100 is left to the caller once the output is complete.
+     */
+    public void writeExcel(List<DepartmentDTO> departments, OutputStream outputStream, IntConsumer progress) throws IOException {
+        int totalRows = countKeyResults(departments);
+        int reportedPercent = -1;
 
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW_SIZE);
+        workbook.setCompressTempFiles(true);
+        try {
             // Get dynamic score levels
-            List<ScoreLevel> scoreLevels = getScoreLevels();
+            ScoreLevelTable scoreLevels = getScoreLevels();
             String[] headers = buildHeaders(scoreLevels);
             int numLevels = scoreLevels.size();
-            int thresholdStartCol = 7; // Column H (0-indexed: 7)
+            int thresholdStartCol = FIXED_HEADERS.length; // Column H (0-indexed: 7)
             int scoreCol = thresholdStartCol + numLevels; // After all threshold columns
             int levelCol = scoreCol + 1;
-
-            XSSFSheet sheet = workbook.createSheet("Экспорт OKR");
+            int positionCol = levelCol + 1; // Hidden helper: matched threshold position
+
+            SXSSFSheet sheet = workbook.createSheet("Экспорт OKR");
+            createLevelLookupSheet(workbook, scoreLevels);
+            sheet.setColumnHidden(positionCol, true);
+
+            // Formula templates, built once and filled in per row
+            String thresholdRange = getColumnLetter(thresholdStartCol) + ROW + ":"
+                    + getColumnLetter(thresholdStartCol + numLevels - 1) + ROW;
+            String positionRef = getColumnLetter(positionCol) + ROW;
+            String scoreRef = getColumnLetter(scoreCol) + ROW;
+            String higherPositionFormula = createPositionFormula(thresholdRange, false);
+            String lowerPositionFormula = createPositionFormula(thresholdRange, true);
+            String higherScoreFormula = createScoreFormula(thresholdRange, positionRef, numLevels, false);
+            String lowerScoreFormula = createScoreFormula(thresholdRange, positionRef, numLevels, true);
+            String levelFormula = createLevelFormula(scoreRef);
+            String qualitativeScoreFormula = createQualitativeFormula("GradeScores", "LevelScores");
+            String qualitativeLevelFormula = createQualitativeFormula("GradeNames", "LevelNames");
+
+            // Column widths from the longest text per column (autoSizeColumn does not work on flushed rows)
+            int[] columnChars = new int[headers.length];
+            for (int i = 0; i < headers.length; i++) {
+                columnChars[i] = headers[i].length();
+            }
+            for (int i = 0; i < numLevels; i++) {
+                columnChars[levelCol] = Math.max(columnChars[levelCol], scoreLevels.name(i).length());
+            }
 
             // Create styles
             CellStyle headerStyle = createHeaderStyle(workbook);
@@ -97,8 +124,8 @@ public class ExcelExportService {
 
             // Create threshold styles for each score level
             List<CellStyle> thresholdStyles = new ArrayList<>();
-            for (ScoreLevel level : scoreLevels) {
-                thresholdStyles.add(createThresholdStyle(workbook, hexToRgb(level.getColor())));
+            for (int i = 0; i < numLevels; i++) {
+                thresholdStyles.add(createThresholdStyle(workbook, hexToRgb(scoreLevels.color(i))));
             }
 
             // Create header row
@@ -153,16 +180,19 @@ public class ExcelExportService {
                         row.createCell(3).setCellValue(kr.getName() != null ? kr.getName() : "");
                         row.createCell(4).setCellValue(getMetricTypeDisplay(kr.getMetricType() != null ? kr.getMetricType().name() : ""));
 
-                        // Actual value as number for formulas
+                        // Actual value as number for formulas; left blank if not set, so the import keeps it unset
+                        // (the score formulas treat a blank value as the lowest level)
                         Cell actualCell = row.createCell(5);
-                        if (kr.getMetricType() == KeyResult.MetricType.QUALITATIVE) {
-                            actualCell.setCellValue(kr.getActualValue() != null ? kr.getActualValue() : "E");
-                        } else {
-                            try {
-                                double actualValue = Double.parseDouble(kr.getActualValue() != null ? kr.getActualValue() : "0");
-                                actualCell.setCellValue(actualValue);
-                            } catch (NumberFormatException e) {
-                                actualCell.setCellValue(0);
+                        String actual = kr.getActualValue();
+                        if (actual != null && !actual.isBlank()) {
+                            if (kr.getMetricType() == KeyResult.MetricType.QUALITATIVE) {
+                                actualCell.setCellValue(actual);
+                            } else {
+                                try {
+                                    actualCell.setCellValue(Double.parseDouble(actual.trim()));
+                                } catch (NumberFormatException e) {
+                                    // Not a number: leave blank rather than exporting a made-up 0
+                                }
                             }
                         }
                         actualCell.setCellStyle(centeredStyle);
@@ -181,15 +211,13 @@ public class ExcelExportService {
                                 cell.setCellStyle(thresholdStyles.get(i));
                             }
 
-                            // Score formula for qualitative (dynamic based on levels)
+                            // Score formula for qualitative (grade lookup)
                             Cell scoreCellQ = row.createCell(scoreCol);
-                            String qualFormula = createQualitativeScoreFormula(rowIdx + 1, scoreLevels);
-                            scoreCellQ.setCellFormula(qualFormula);
+                            scoreCellQ.setCellFormula(forRow(qualitativeScoreFormula, rowIdx + 1));
 
                             // Performance Level formula for qualitative
                             Cell levelCellQ = row.createCell(levelCol);
-                            String qualLevelFormula = createQualitativeLevelFormula(rowIdx + 1, scoreLevels);
-                            levelCellQ.setCellFormula(qualLevelFormula);
+                            levelCellQ.setCellFormula(forRow(qualitativeLevelFormula, rowIdx + 1));
                         } else {
                             // Quantitative thresholds - with null safety
                             Double[] thresholds = getThresholdValues(kr, numLevels);
@@ -209,9 +237,11 @@ public class ExcelExportService {
                             // Score calculation formula (dynamic)
                             Cell scoreCellNum = row.createCell(scoreCol);
                             if (hasValidThresholds) {
-                                String metricType = kr.getMetricType() != null ? kr.getMetricType().name() : "HIGHER_BETTER";
-                                String scoreFormula = createDynamicScoreFormula(rowIdx + 1, metricType, numLevels, thresholdStartCol, scoreLevels);
-                                scoreCellNum.setCellFormula(scoreFormula);
+                                boolean lowerBetter = kr.getMetricType() == KeyResult.MetricType.LOWER_BETTER;
+                                row.createCell(positionCol).setCellFormula(
+                                        forRow(lowerBetter ? lowerPositionFormula : higherPositionFormula, rowIdx + 1));
+                                scoreCellNum.setCellFormula(
+                                        forRow(lowerBetter ? lowerScoreFormula : higherScoreFormula, rowIdx + 1));
                             } else {
                                 scoreCellNum.setCellValue("N/A");
                             }
@@ -219,14 +249,20 @@ public class ExcelExportService {
                             // Performance Level formula (dynamic)
                             Cell levelCellNum = row.createCell(levelCol);
                             if (hasValidThresholds) {
-                                String levelFormula = createDynamicLevelFormula(rowIdx + 1, scoreCol, scoreLevels);
-                                levelCellNum.setCellFormula(levelFormula);
+                                levelCellNum.setCellFormula(forRow(levelFormula, rowIdx + 1));
                             } else {
                                 levelCellNum.setCellValue("Нет данных");
                             }
                         }
 
+                        trackColumnWidths(row, columnChars);
                         rowIdx++;
+
+                        int percent = totalRows > 0 ? (rowIdx - 1) * 99 / totalRows : 0;
+                        if (percent != reportedPercent) {
+                            reportedPercent = percent;
+                            progress.accept(percent);
+                        }
                     }
 
                     // Merge objective cells if multiple KRs
@@ -252,19 +288,48 @@ public class ExcelExportService {
                 addDynamicScoreConditionalFormatting(sheet, lastDataRow, scoreCol, levelCol, scoreLevels);
             }
 
-            // Auto-size columns
             for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+                sheet.setColumnWidth(i, Math.min(columnChars[i] + 2, MAX_COLUMN_CHARS) * 256);
             }
 
-            // Evaluate all formulas
-            XSSFFormulaEvaluator.evaluateAllFormulaCells(workbook);
+            // Flushed rows cannot be evaluated here; Excel recalculates the formulas on open
+            workbook.setForceFormulaRecalculation(true);
 
             workbook.write(outputStream);
-            return outputStream.toByteArray();
+        } finally {
+            workbook.close();
+            workbook.dispose();
+        }
+    }
 
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to export to Excel", e);
+    private int countKeyResults(List<DepartmentDTO> departments) {
+        int count = 0;
+        for (DepartmentDTO dept : departments) {
+            if (dept == null || dept.getObjectives() == null) continue;
+            for (ObjectiveDTO obj : dept.getObjectives()) {
+                if (obj != null && obj.getKeyResults() != null) {
+                    count += obj.getKeyResults().size();
+                }
+            }
+        }
+        return count;
+    }
+
+    private void trackColumnWidths(Row row, int[] columnChars) {
+        for (Cell cell : row) {
+            int col = cell.getColumnIndex();
+            if (col >= columnChars.length) {
+                continue;
+            }
+            int length;
+            if (cell.getCellType() == CellType.STRING) {
+                length = cell.getStringCellValue().length();
+            } else if (cell.getCellType() == CellType.NUMERIC) {
+                length = String.valueOf(cell.getNumericCellValue()).length();
+            } else {
+                continue;
+            }
+            columnChars[col] = Math.max(columnChars[col], length);
         }
     }
 
@@ -315,161 +380,94 @@ public class ExcelExportService {
         return result;
     }
 
-    private String createQualitativeScoreFormula(int rowNum, List<ScoreLevel> levels) {
-        // Build nested IF for qualitative grades: A=highest, E=lowest
-        // levels is sorted ascending, so highest is at end
-        StringBuilder formula = new StringBuilder();
-        String[] grades = {"A", "B", "C", "D", "E"};
-        int numLevels = Math.min(levels.size(), grades.length);
-
-        // Build IF statements from highest to lowest
-        for (int i = numLevels - 1; i >= 0; i--) {
-            String grade = grades[numLevels - 1 - i]; // A for highest, E for lowest
-            double score = levels.get(i).getScoreValue();
-
-            if (i == numLevels - 1) {
-                // First (highest) level
-                formula.append(String.format("IF(F%d=\"%s\",%s,", rowNum, grade, score));
-            } else if (i == 0) {
-                // Last (lowest) level - default case
-                formula.append(score);
-                // Close all parentheses
-                for (int j = 0; j < numLevels - 1; j++) {
-                    formula.append(")");
-                }
-            } else {
-                // Middle levels
-                formula.append(String.format("IF(F%d=\"%s\",%s,", rowNum, grade, score));
+    /**
+     * Hidden sheet with the score levels and the qualitative grade mapping, exposed through
+     * defined names (LevelScores, LevelNames, GradeLetters, GradeScores, GradeNames).
+     * Row formulas look values up here instead of embedding every level in a nested IF.
+     */
+    private void createLevelLookupSheet(Workbook workbook, ScoreLevelTable levels) {
+        Sheet sheet = workbook.createSheet(LEVELS_SHEET);
+        int numLevels = levels.size();
+        // Grades map onto the lowest levels: E = lowest level, then D, C, B, A upwards
+        int numGrades = Math.min(numLevels, QUALITATIVE_GRADES.length);
+
+        Row header = sheet.createRow(0);
+        header.createCell(0).setCellValue("Балл");
+        header.createCell(1).setCellValue("Уровень");
+        header.createCell(2).setCellValue("Оценка");
+        header.createCell(3).setCellValue("Балл");
+        header.createCell(4).setCellValue("Уровень");
+
+        // Levels ascending by score (required by MATCH/LOOKUP)
+        for (int i = 0; i < numLevels; i++) {
+            Row row = sheet.createRow(i + 1);
+            row.createCell(0).setCellValue(levels.score(i));
+            row.createCell(1).setCellValue(levels.name(i));
+            if (i < numGrades) {
+                int levelIdx = numGrades - 1 - i;
+                row.createCell(2).setCellValue(QUALITATIVE_GRADES[i]);
+                row.createCell(3).setCellValue(levels.score(levelIdx));
+                row.createCell(4).setCellValue(levels.name(levelIdx));
             }
         }
 
-        return formula.toString();
-    }
+        defineName(workbook, "LevelScores", "A", numLevels);
+        defineName(workbook, "LevelNames", "B", numLevels);
+        defineName(workbook, "GradeLetters", "C", numGrades);
+        defineName(workbook, "GradeScores", "D", numGrades);
+        defineName(workbook, "GradeNames", "E", numGrades);
 
-    private String createQualitativeLevelFormula(int rowNum, List<ScoreLevel> levels) {
-        // Build nested IF for qualitative level names: A=highest, E=lowest
-        // levels is sorted ascending, so highest is at end
-        StringBuilder formula = new StringBuilder();
-        String[] grades = {"A", "B", "C", "D", "E"};
-        int numLevels = Math.min(levels.size(), grades.length);
-
-        // Build IF statements from highest to lowest
-        for (int i = numLevels - 1; i >= 0; i--) {
-            String grade = grades[numLevels - 1 - i]; // A for highest, E for lowest
-            String levelName = levels.get(i).getName();
-
-            if (i == numLevels - 1) {
-                // First (highest) level
-                formula.append(String.format("IF(F%d=\"%s\",\"%s\",", rowNum, grade, levelName));
-            } else if (i == 0) {
-                // Last (lowest) level - default case
-                formula.append("\"").append(levelName).append("\"");
-                // Close all parentheses
-                for (int j = 0; j < numLevels - 1; j++) {
-                    formula.append(")");
-                }
-            } else {
-                // Middle levels
-                formula.append(String.format("IF(F%d=\"%s\",\"%s\",", rowNum, grade, levelName));
-            }
-        }
-
-        return formula.toString();
+        workbook.setSheetHidden(workbook.getSheetIndex(sheet), true);
     }
 
-    private String createDynamicScoreFormula(int rowNum, String metricType, int numLevels, int thresholdStartCol, List<ScoreLevel> levels) {
-        // F = Actual (column 6, 1-indexed = F)
-        // Threshold columns start at thresholdStartCol (H, I, J, K, L, etc.)
-        String actualCol = "F";
-
-        StringBuilder formula = new StringBuilder("ROUND(");
-
-        if ("LOWER_BETTER".equals(metricType)) {
-            // For lower is better: smaller actual = better score
-            // Start from highest level (best), work down
-            for (int i = numLevels - 1; i >= 0; i--) {
-                String thresholdCol = getColumnLetter(thresholdStartCol + i);
-                double score = levels.get(i).getScoreValue();
-
-                if (i == numLevels - 1) {
-                    // Highest level (exceptional)
-                    formula.append(String.format("IF(%s%d<=%s%d,%s,", actualCol, rowNum, thresholdCol, rowNum, score));
-                } else if (i == 0) {
-                    // Lowest level (below) - default
-                    formula.append(String.format("%s", score));
-                } else {
-                    // Interpolation between levels
-                    String nextThresholdCol = getColumnLetter(thresholdStartCol + i + 1);
-                    double nextScore = levels.get(i + 1).getScoreValue();
-                    double scoreDiff = nextScore - score;
-                    formula.append(String.format("IF(%s%d<=%s%d,%s+(%s%d-%s%d)/MAX(%s%d-%s%d,0.001)*%s,",
-                            actualCol, rowNum, thresholdCol, rowNum,
-                            score, thresholdCol, rowNum, actualCol, rowNum,
-                            thresholdCol, rowNum, nextThresholdCol, rowNum, scoreDiff));
-                }
-            }
-        } else {
-            // For higher is better: larger actual = better score
-            for (int i = numLevels - 1; i >= 0; i--) {
-                String thresholdCol = getColumnLetter(thresholdStartCol + i);
-                double score = levels.get(i).getScoreValue();
-
-                if (i == numLevels - 1) {
-                    // Highest level (exceptional)
-                    formula.append(String.format("IF(%s%d>=%s%d,%s,", actualCol, rowNum, thresholdCol, rowNum, score));
-                } else if (i == 0) {
-                    // Lowest level (below) - default
-                    formula.append(String.format("%s", score));
-                } else {
-                    // Interpolation between levels
-                    String nextThresholdCol = getColumnLetter(thresholdStartCol + i + 1);
-                    double nextScore = levels.get(i + 1).getScoreValue();
-                    double scoreDiff = nextScore - score;
-                    formula.append(String.format("IF(%s%d>=%s%d,%s+(%s%d-%s%d)/MAX(%s%d-%s%d,0.001)*%s,",
-                            actualCol, rowNum, thresholdCol, rowNum,
-                            score, actualCol, rowNum, thresholdCol, rowNum,
-                            nextThresholdCol, rowNum, thresholdCol, rowNum, scoreDiff));
-                }
-            }
-        }
-
-        // Close all IFs
-        for (int i = 0; i < numLevels - 1; i++) {
-            formula.append(")");
-        }
-        formula.append(",2)"); // Round to 2 decimal places
-
-        return formula.toString();
+    private void defineName(Workbook workbook, String name, String column, int count) {
+        Name definedName = workbook.createName();
+        definedName.setNameName(name);
+        definedName.setRefersToFormula(String.format("'%s'!$%s$2:$%s$%d", LEVELS_SHEET, column, column, count + 1));
     }
 
-    private String createDynamicLevelFormula(int rowNum, int scoreCol, List<ScoreLevel> levels) {
-        String scoreColLetter = getColumnLetter(scoreCol);
+    /**
+     * Position (1-based) of the threshold reached by the actual value (column F).
+     * HIGHER_BETTER thresholds are ascending, LOWER_BETTER descending; below the first threshold = 1.
+     */
+    private String createPositionFormula(String thresholdRange, boolean lowerBetter) {
+        return String.format("IFERROR(MATCH(F%s,%s,%d),1)", ROW, thresholdRange, lowerBetter ? -1 : 1);
+    }
 
-        // Build nested IF from highest score to lowest
-        // levels is sorted ascending by scoreValue, so iterate backwards
-        StringBuilder formula = new StringBuilder();
+    /**
+     * Score interpolated between the matched threshold and the next one:
+     * position 1 = lowest level score, last position = highest level score.
+     */
+    private String createScoreFormula(String thresholdRange, String positionRef, int numLevels, boolean lowerBetter) {
+        String threshold = String.format("INDEX(%s,%s)", thresholdRange, positionRef);
+        String nextThreshold = String.format("INDEX(%s,%s+1)", thresholdRange, positionRef);
+        String score = String.format("INDEX(LevelScores,%s)", positionRef);
+        String nextScore = String.format("INDEX(LevelScores,%s+1)", positionRef);
+
+        String progress = lowerBetter
+                ? String.format("(%s-F%s)/MAX(%s-%s,0.001)", threshold, ROW, threshold, nextThreshold)
+                : String.format("(F%s-%s)/MAX(%s-%s,0.001)", ROW, threshold, nextThreshold, threshold);
+
+        return String.format("ROUND(IF(%s=1,INDEX(LevelScores,1),IF(%s>=%d,INDEX(LevelScores,%d),%s+%s*(%s-%s))),2)",
+                positionRef, positionRef, numLevels, numLevels, score, progress, nextScore, score);
+    }
 
-        for (int i = levels.size() - 1; i >= 0; i--) {
-            double scoreValue = levels.get(i).getScoreValue();
-            String levelName = levels.get(i).getName();
+    /**
+     * Level name for the score: the highest level whose score value is reached (lowest level if none)
+     */
+    private String createLevelFormula(String scoreRef) {
+        return String.format("IFERROR(LOOKUP(%s,LevelScores,LevelNames),INDEX(LevelNames,1))", scoreRef);
+    }
 
-            if (i == levels.size() - 1) {
-                // First (highest) level
-                formula.append(String.format("IF(%s%d>=%s,\"%s\",", scoreColLetter, rowNum, scoreValue, levelName));
-            } else if (i == 0) {
-                // Last (lowest) level - default case
-                formula.append("\"").append(levelName).append("\"");
-                // Close all parentheses
-                for (int j = 0; j < levels.size() - 1; j++) {
-                    formula.append(")");
-                }
-            } else {
-                // Middle levels
-                formula.append(String.format("IF(%s%d>=%s,\"%s\",", scoreColLetter, rowNum, scoreValue, levelName));
-            }
-        }
+    /**
+     * Value for a qualitative grade in column F (lowest level for a blank value or an unknown grade)
+     */
+    private String createQualitativeFormula(String gradeValues, String levelValues) {
+        return String.format("IFERROR(INDEX(%s,MATCH(F%s,GradeLetters,0)),INDEX(%s,1))", gradeValues, ROW, levelValues);
+    }
 
-        return formula.toString();
+    private String forRow(String formulaTemplate, int rowNum) {
+        return formulaTemplate.replace(ROW, Integer.toString(rowNum));
     }
 
     private String getColumnLetter(int colIndex) {
@@ -481,8 +479,8 @@ public class ExcelExportService {
         return sb.toString();
     }
 
-    private void addDynamicScoreConditionalFormatting(XSSFSheet sheet, int lastRow, int scoreCol, int levelCol, List<ScoreLevel> levels) {
-        XSSFSheetConditionalFormatting sheetCF = sheet.getSheetConditionalFormatting();
+    private void addDynamicScoreConditionalFormatting(Sheet sheet, int lastRow, int scoreCol, int levelCol, ScoreLevelTable levels) {
+        SheetConditionalFormatting sheetCF = sheet.getSheetConditionalFormatting();
         String scoreColLetter = getColumnLetter(scoreCol);
 
         CellRangeAddress[] scoreRange = new CellRangeAddress[] {
@@ -494,9 +492,8 @@ public class ExcelExportService {
 
         // Create rules for each level (from highest to lowest for correct precedence)
         for (int i = levels.size() - 1; i >= 0; i--) {
-            ScoreLevel level = levels.get(i);
-            double scoreValue = level.getScoreValue();
-            byte[] rgb = hexToRgb(level.getColor());
+            double scoreValue = levels.score(i);
+            byte[] rgb = hexToRgb(levels.color(i));
 
             String condition;
             if (i == levels.size() - 1) {
@@ -504,7 +501,7 @@ public class ExcelExportService {
                 condition = String.format("$%s2>=%s", scoreColLetter, scoreValue);
             } else {
                 // Other levels: >= its score AND < next level's score
-                double nextScore = levels.get(i + 1).getScoreValue();
+                double nextScore = levels.score(i + 1);
                 condition = String.format("AND($%s2>=%s,$%s2<%s)", scoreColLetter, scoreValue, scoreColLetter, nextScore);
             }
 
@@ -561,7 +558,7 @@ public class ExcelExportService {
         return style;
     }
 
-    private String getMetricTypeDisplay(String metricType) {
+    static String getMetricTypeDisplay(String metricType) {
         if (metricType == null) {
             return "";
         }
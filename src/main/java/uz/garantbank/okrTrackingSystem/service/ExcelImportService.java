@@ -0,0 +1,562 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.exceptions.NotOfficeXmlFileException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import uz.garantbank.okrTrackingSystem.dto.ExcelImportResultDTO;
+import uz.garantbank.okrTrackingSystem.dto.ImportRowErrorDTO;
+import uz.garantbank.okrTrackingSystem.entity.Department;
+import uz.garantbank.okrTrackingSystem.entity.Division;
+import uz.garantbank.okrTrackingSystem.entity.KeyResult;
+import uz.garantbank.okrTrackingSystem.entity.Objective;
+import uz.garantbank.okrTrackingSystem.entity.Role;
+import uz.garantbank.okrTrackingSystem.entity.User;
+import uz.garantbank.okrTrackingSystem.repository.DepartmentRepository;
+import uz.garantbank.okrTrackingSystem.repository.DivisionRepository;
+import uz.garantbank.okrTrackingSystem.repository.ObjectiveRepository;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports OKR plans from .xlsx files in the layout written by {@link ExcelExportService}.
+ *
+ * The first sheet is read with POI's event API (XSSFReader + SAX) from a temp file, one row at a
+ * time, so memory depends on the largest objective rather than the file. Rows are grouped by
+ * objective (the export writes department and objective only on their first row) and upserted by
+ * name: department by name, objective by name within its department, key result by name within
+ * its objective. Writes go out in JDBC batches and the persistence context is cleared every
+ * {@value #FLUSH_ROWS} rows. Invalid rows are skipped and reported; the persisted scores of the
+ * touched departments are recomputed once at the end.
+ *
+ * The export has no division or key result weight columns: new departments are created in the
+ * division passed with the import, and new key results get an equal share of their objective
+ * (100 / rows imported for it).
+ */
+@Slf4j
+@Service
+public class ExcelImportService {
+
+    private static final int COL_DEPARTMENT = 0;
+    private static final int COL_OBJECTIVE = 1;
+    private static final int COL_OBJECTIVE_WEIGHT = 2;
+    private static final int COL_KEY_RESULT = 3;
+    private static final int COL_TYPE = 4;
+    private static final int COL_ACTUAL = 5;
+    private static final int COL_UNIT = 6;
+    private static final int COL_FIRST_THRESHOLD = ExcelExportService.FIXED_HEADERS.length;
+    // Columns read per row; the export never writes more (fixed + levels + score + level)
+    private static final int MAX_COLUMNS = 64;
+    private static final int THRESHOLD_COUNT = 5;
+
+    private static final int BATCH_SIZE = 50;
+    // Rows written between flushing and clearing the persistence context
+    private static final int FLUSH_ROWS = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final DepartmentRepository departmentRepository;
+    private final DivisionRepository divisionRepository;
+    private final ObjectiveRepository objectiveRepository;
+    private final DepartmentAccessService accessService;
+    private final PersistedScoreService persistedScores;
+    private final ScoreAggregationTree scoreTree;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ExcelImportService(DepartmentRepository departmentRepository,
+                              DivisionRepository divisionRepository,
+                              ObjectiveRepository objectiveRepository,
+                              DepartmentAccessService accessService,
+                              PersistedScoreService persistedScores,
+                              ScoreAggregationTree scoreTree) {
+        this.departmentRepository = departmentRepository;
+        this.divisionRepository = divisionRepository;
+        this.objectiveRepository = objectiveRepository;
+        this.accessService = accessService;
+        this.persistedScores = persistedScores;
+        this.scoreTree = scoreTree;
+    }
+
+    /**
+     * Import an exported workbook
+     *
+     * @param divisionId division for departments that do not exist yet (null = report them as errors)
+     * @param user       the importing user; rows of departments they cannot edit are skipped
+     * @throws IllegalArgumentException if the file is not an .xlsx export or the division does not exist
+     */
+    @Transactional
+    public ExcelImportResultDTO importExcel(MultipartFile file, String divisionId, User user) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Excel file is required");
+        }
+        Division division = null;
+        if (divisionId != null && !divisionId.isBlank()) {
+            division = divisionRepository.findById(divisionId)
+                    .orElseThrow(() -> new IllegalArgumentException("Division not found with ID: " + divisionId));
+        }
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(BATCH_SIZE);
+        ImportRun run = new ImportRun(division != null ? division.getId() : null, user);
+
+        Path temp = null;
+        try {
+            temp = Files.createTempFile("okr-import-", ".xlsx");
+            file.transferTo(temp);
+            parse(temp, run);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read uploaded file", e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    log.warn("Could not delete import temp file {}", temp, e);
+                }
+            }
+        }
+        return run.finish();
+    }
+
+    private void parse(Path path, ImportRun run) throws IOException {
+        OPCPackage pkg = null;
+        try {
+            pkg = OPCPackage.open(path.toFile(), PackageAccess.READ);
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IllegalArgumentException("The workbook has no sheets");
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                // Cached formula results are not needed: score columns are recomputed on import
+                parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), strings,
+                        new RowCollector(run), new RawNumberFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (NotOfficeXmlFileException | OpenXML4JException e) {
+            throw new IllegalArgumentException("Not a valid .xlsx file");
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new IllegalArgumentException("Could not read the spreadsheet: " + e.getMessage());
+        } finally {
+            // Read-only package: revert instead of close, nothing is written back
+            if (pkg != null) {
+                pkg.revert();
+            }
+        }
+    }
+
+    private static KeyResult.MetricType parseMetricType(String value) {
+        for (KeyResult.MetricType type : KeyResult.MetricType.values()) {
+            if (type.name().equalsIgnoreCase(value)
+                    || ExcelExportService.getMetricTypeDisplay(type.name()).equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Objective weight as exported ("40%"), percent sign optional
+     */
+    private static Integer parseWeight(String value) {
+        String number = value.endsWith("%") ? value.substring(0, value.length() - 1).trim() : value;
+        double weight = Double.parseDouble(number);
+        if (weight < 0 || weight > 100) {
+            throw new NumberFormatException();
+        }
+        return (int) Math.round(weight);
+    }
+
+    // ==================== SAX ROW HANDLER ====================
+
+    /**
+     * Writes numbers as their exact value in plain notation instead of the cell's display format
+     * ("General" rounds to 10 digits and switches to scientific notation from 1e11); percentages
+     * such as objective weights keep their displayed form
+     */
+    private static final class RawNumberFormatter extends DataFormatter {
+
+        RawNumberFormatter() {
+            super(Locale.US);
+        }
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (formatString != null && formatString.contains("%")) {
+                return super.formatRawCellContents(value, formatIndex, formatString);
+            }
+            return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+        }
+    }
+
+    /**
+     * Collects the cell values of one row (blank cells stay null) and hands complete rows to the import
+     */
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final ImportRun run;
+        private final String[] values = new String[MAX_COLUMNS];
+        private int nextColumn;
+
+        RowCollector(ImportRun run) {
+            this.run = run;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(values, null);
+            nextColumn = 0;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            run.row(rowNum + 1, values);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            nextColumn = column + 1;
+            if (column < MAX_COLUMNS && formattedValue != null && !formattedValue.isBlank()) {
+                values[column] = formattedValue.trim();
+            }
+        }
+    }
+
+    // ==================== IMPORT STATE ====================
+
+    private record SheetRow(int row, String keyResult, String type, String actual, String unit, String[] thresholds) {
+    }
+
+    /**
+     * State of one import: lookups by name (IDs only, so they survive clearing the persistence
+     * context), the rows of the objective being read, and the counters for the result
+     */
+    private final class ImportRun {
+        private final String divisionId;
+        private final User user;
+        private final boolean canCreateDepartments;
+
+        private int numLevels = -1;
+        private final Map<String, String> departmentIds = new HashMap<>();
+        private final Map<String, Boolean> editableDepartments = new HashMap<>();
+        private final Map<String, Map<String, String>> objectiveIds = new HashMap<>();
+        private final Set<String> touchedDepartments = new HashSet<>();
+
+        private String groupDepartment;
+        private String groupObjective;
+        private String groupWeight;
+        private final List<SheetRow> groupRows = new ArrayList<>();
+        private int rowsSinceFlush;
+
+        private final ExcelImportResultDTO result = ExcelImportResultDTO.builder().errors(new ArrayList<>()).build();
+
+        ImportRun(String divisionId, User user) {
+            this.divisionId = divisionId;
+            this.user = user;
+            this.canCreateDepartments = !user.isReadOnly()
+                    && (user.getRole() == Role.ADMIN || user.getRole() == Role.DIRECTOR);
+            for (Department department : departmentRepository.findAll()) {
+                departmentIds.putIfAbsent(department.getName(), department.getId());
+            }
+        }
+
+        void row(int row, String[] values) {
+            if (isBlank(values)) {
+                return;
+            }
+            if (numLevels < 0) {
+                readHeader(values);
+                return;
+            }
+
+            String department = values[COL_DEPARTMENT];
+            String objective = values[COL_OBJECTIVE];
+            boolean newDepartment = department != null && !department.equals(groupDepartment);
+            if (newDepartment || (objective != null && !objective.equals(groupObjective))) {
+                finishGroup();
+                if (department != null) {
+                    groupDepartment = department;
+                }
+                groupObjective = objective;
+                groupWeight = values[COL_OBJECTIVE_WEIGHT];
+            }
+
+            String[] thresholds = new String[numLevels];
+            System.arraycopy(values, COL_FIRST_THRESHOLD, thresholds, 0, numLevels);
+            groupRows.add(new SheetRow(row, values[COL_KEY_RESULT], values[COL_TYPE], values[COL_ACTUAL],
+                    values[COL_UNIT], thresholds));
+            result.setRowsRead(result.getRowsRead() + 1);
+        }
+
+        ExcelImportResultDTO finish() {
+            if (numLevels < 0) {
+                throw new IllegalArgumentException("The sheet is empty");
+            }
+            finishGroup();
+
+            // Rescore from the database so every touched subtree is complete
+            entityManager.flush();
+            entityManager.clear();
+            persistedScores.departmentsChanged(touchedDepartments);
+            scoreTree.invalidate();
+
+            log.info("Excel import: {} rows, {} failed, {} departments / {} objectives / {} key results created",
+                    result.getRowsRead(), result.getRowsFailed(), result.getDepartmentsCreated(),
+                    result.getObjectivesCreated(), result.getKeyResultsCreated());
+            return result;
+        }
+
+        private void readHeader(String[] values) {
+            for (int i = 0; i < COL_FIRST_THRESHOLD; i++) {
+                if (!ExcelExportService.FIXED_HEADERS[i].equals(values[i])) {
+                    throw new IllegalArgumentException("Unexpected header in column " + (i + 1) + ": expected '"
+                            + ExcelExportService.FIXED_HEADERS[i] + "', got '" + values[i] + "'");
+                }
+            }
+            int levels = 0;
+            while (COL_FIRST_THRESHOLD + levels < MAX_COLUMNS
+                    && values[COL_FIRST_THRESHOLD + levels] != null
+                    && !ExcelExportService.SCORE_HEADER.equals(values[COL_FIRST_THRESHOLD + levels])) {
+                levels++;
+            }
+            if (levels == 0 || COL_FIRST_THRESHOLD + levels >= MAX_COLUMNS
+                    || !ExcelExportService.SCORE_HEADER.equals(values[COL_FIRST_THRESHOLD + levels])) {
+                throw new IllegalArgumentException("Header must list the score levels followed by '"
+                        + ExcelExportService.SCORE_HEADER + "'");
+            }
+            numLevels = levels;
+        }
+
+        private void finishGroup() {
+            if (groupRows.isEmpty()) {
+                return;
+            }
+            importObjective();
+            rowsSinceFlush += groupRows.size();
+            groupRows.clear();
+
+            if (rowsSinceFlush >= FLUSH_ROWS) {
+                entityManager.flush();
+                entityManager.clear();
+                rowsSinceFlush = 0;
+            }
+        }
+
+        private void importObjective() {
+            if (groupDepartment == null) {
+                failGroup("Department name is missing");
+                return;
+            }
+            if (groupObjective == null) {
+                failGroup("Objective name is missing");
+                return;
+            }
+            String departmentId = resolveDepartment();
+            if (departmentId == null) {
+                return;
+            }
+
+            Integer weight = null;
+            if (groupWeight != null) {
+                try {
+                    weight = parseWeight(groupWeight);
+                } catch (NumberFormatException e) {
+                    failGroup("Objective weight must be a percentage 0-100, got '" + groupWeight + "'");
+                    return;
+                }
+            }
+
+            Map<String, String> objectivesByName = objectiveIds.computeIfAbsent(departmentId, id -> {
+                Map<String, String> byName = new HashMap<>();
+                objectiveRepository.findByDepartmentId(id).forEach(obj -> byName.putIfAbsent(obj.getName(), obj.getId()));
+                return byName;
+            });
+
+            Objective objective;
+            Map<String, KeyResult> keyResultsByName = new HashMap<>();
+            String objectiveId = objectivesByName.get(groupObjective);
+            if (objectiveId != null) {
+                objective = entityManager.find(Objective.class, objectiveId);
+                if (weight != null) {
+                    objective.setWeight(weight);
+                }
+                objective.getKeyResults().forEach(kr -> keyResultsByName.putIfAbsent(kr.getName(), kr));
+                result.setObjectivesUpdated(result.getObjectivesUpdated() + 1);
+            } else {
+                if (weight == null) {
+                    failGroup("Objective weight is required for new objective '" + groupObjective + "'");
+                    return;
+                }
+                objective = Objective.builder()
+                        .name(groupObjective)
+                        .weight(weight)
+                        .department(entityManager.getReference(Department.class, departmentId))
+                        .build();
+                entityManager.persist(objective);
+                objectivesByName.put(groupObjective, objective.getId());
+                result.setObjectivesCreated(result.getObjectivesCreated() + 1);
+            }
+
+            int newWeight = Math.max(1, 100 / groupRows.size());
+            for (SheetRow row : groupRows) {
+                importKeyResult(row, objective, keyResultsByName, newWeight);
+            }
+        }
+
+        private void importKeyResult(SheetRow row, Objective objective, Map<String, KeyResult> existing, int newWeight) {
+            if (row.keyResult() == null) {
+                fail(row.row(), "Key result name is missing");
+                return;
+            }
+            KeyResult.MetricType type = parseMetricType(row.type());
+            if (type == null) {
+                fail(row.row(), "Unknown key result type '" + row.type() + "'");
+                return;
+            }
+            // Validate on a scratch key result so a bad value never touches the stored one
+            KeyResult probe = KeyResult.builder().metricType(type).build();
+            if (!probe.applyActualValue(row.actual())) {
+                fail(row.row(), type == KeyResult.MetricType.QUALITATIVE
+                        ? "Actual value must be a grade A-E, got '" + row.actual() + "'"
+                        : "Actual value must be a number, got '" + row.actual() + "'");
+                return;
+            }
+
+            Double[] thresholds = null;
+            if (type != KeyResult.MetricType.QUALITATIVE) {
+                thresholds = new Double[THRESHOLD_COUNT];
+                for (int i = 0; i < THRESHOLD_COUNT; i++) {
+                    // Inverse of the export's level -> threshold mapping
+                    String value = row.thresholds()[Math.min(i, numLevels - 1)];
+                    if (value == null || value.equals("N/A")) {
+                        continue;
+                    }
+                    try {
+                        thresholds[i] = Double.parseDouble(value);
+                    } catch (NumberFormatException e) {
+                        fail(row.row(), "Threshold must be a number, got '" + value + "'");
+                        return;
+                    }
+                }
+            }
+
+            KeyResult kr = existing.get(row.keyResult());
+            boolean created = kr == null;
+            if (created) {
+                kr = KeyResult.builder()
+                        .name(row.keyResult())
+                        .weight(newWeight)
+                        .objective(objective)
+                        .build();
+            }
+            kr.setMetricType(type);
+            kr.setUnit(row.unit());
+            if (thresholds != null) {
+                kr.setThresholdBelow(thresholds[0]);
+                kr.setThresholdMeets(thresholds[1]);
+                kr.setThresholdGood(thresholds[2]);
+                kr.setThresholdVeryGood(thresholds[3]);
+                kr.setThresholdExceptional(thresholds[4]);
+            }
+            kr.applyActualValue(row.actual());
+
+            if (created) {
+                entityManager.persist(kr);
+                existing.put(kr.getName(), kr);
+                result.setKeyResultsCreated(result.getKeyResultsCreated() + 1);
+            } else {
+                result.setKeyResultsUpdated(result.getKeyResultsUpdated() + 1);
+            }
+        }
+
+        /**
+         * ID of the current group's department (created if missing and allowed), or null after
+         * reporting the group's rows as failed
+         */
+        private String resolveDepartment() {
+            String departmentId = departmentIds.get(groupDepartment);
+            if (departmentId == null) {
+                if (divisionId == null) {
+                    failGroup("Department '" + groupDepartment + "' not found (choose a division to create it)");
+                    return null;
+                }
+                if (!canCreateDepartments) {
+                    failGroup("You do not have permission to create department '" + groupDepartment + "'");
+                    return null;
+                }
+                Department department = Department.builder()
+                        .name(groupDepartment)
+                        .division(entityManager.getReference(Division.class, divisionId))
+                        .build();
+                entityManager.persist(department);
+                departmentId = department.getId();
+                departmentIds.put(groupDepartment, departmentId);
+                objectiveIds.put(departmentId, new HashMap<>());
+                editableDepartments.put(departmentId, true);
+                result.setDepartmentsCreated(result.getDepartmentsCreated() + 1);
+            }
+
+            if (!editableDepartments.computeIfAbsent(departmentId, id -> accessService.canEditDepartment(user, id))) {
+                failGroup("You do not have permission to edit department '" + groupDepartment + "'");
+                return null;
+            }
+            touchedDepartments.add(departmentId);
+            return departmentId;
+        }
+
+        private void failGroup(String message) {
+            for (SheetRow row : groupRows) {
+                fail(row.row(), message);
+            }
+        }
+
+        private void fail(int row, String message) {
+            result.setRowsFailed(result.getRowsFailed() + 1);
+            if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add(new ImportRowErrorDTO(row, message));
+            }
+        }
+
+        private boolean isBlank(String[] values) {
+            for (String value : values) {
+                if (value != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uz.garantbank.okrTrackingSystem.dto.DepartmentDTO;
+import uz.garantbank.okrTrackingSystem.dto.ExportJobDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Runs Excel exports as background jobs.
+ *
+ * Jobs run on a bounded executor (app.export.max-concurrent-jobs workers, app.export.queue-capacity
+ * waiting jobs). Results are stored under app.upload.dir/exports and keyed by a fingerprint of the
+ * OKR data version ({@link ScoreAggregationTree#changeCount()}) and score levels, so exporting
+ * unchanged data returns the stored file immediately. The data itself is only loaded by the job.
+ *
+ * The data version restarts with the application, so files from a previous run are deleted on
+ * startup; files no longer reachable by a job or the current data version are deleted as well.
+ */
+@Service
+@Slf4j
+public class ExportJobService {
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_DONE = "DONE";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final String EXPORTS_DIR = "exports";
+    private static final String RESULT_PREFIX = "okr_export_";
+    // Finished jobs are forgotten after this time (the result file stays cached)
+    private static final long JOB_RETENTION_MINUTES = 60;
+
+    private final OkrService okrService;
+    private final ExcelExportService excelExportService;
+    private final ScoreLevelRegistry scoreLevelRegistry;
+    private final ScoreAggregationTree scoreTree;
+
+    // Distinguishes data versions of this run from those of earlier runs
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${app.upload.dir:./uploads}")
+    private String uploadDir;
+
+    @Value("${app.export.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    @Value("${app.export.queue-capacity:10}")
+    private int queueCapacity;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+    private Path exportDir;
+
+    public ExportJobService(OkrService okrService,
+                            ExcelExportService excelExportService,
+                            ScoreLevelRegistry scoreLevelRegistry,
+                            ScoreAggregationTree scoreTree) {
+        this.okrService = okrService;
+        this.excelExportService = excelExportService;
+        this.scoreLevelRegistry = scoreLevelRegistry;
+        this.scoreTree = scoreTree;
+    }
+
+    @PostConstruct
+    public void init() {
+        exportDir = Paths.get(uploadDir, EXPORTS_DIR);
+        try {
+            Files.createDirectories(exportDir);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create export directory", e);
+        }
+        // Results (and temp files) of a previous run can never be served again
+        deleteFiles(file -> true);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "excel-export-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Submit an export of all departments.
+     * Returns a finished job immediately if the same data was exported before,
+     * or the already running job for the same data.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the export queue is full
+     */
+    public synchronized ExportJobDTO submit() {
+        String fingerprint = fingerprint(instanceId, scoreTree.changeCount(), scoreLevelRegistry.current());
+        Path result = exportDir.resolve(RESULT_PREFIX + fingerprint + ".xlsx");
+        evictFinishedJobs(result);
+
+        if (Files.exists(result)) {
+            ExportJob job = new ExportJob(fingerprint, result);
+            job.cached = true;
+            job.complete();
+            jobs.put(job.id, job);
+            log.info("Export {} served from cache ({})", job.id, result.getFileName());
+            return toDTO(job);
+        }
+
+        for (ExportJob running : jobs.values()) {
+            if (running.fingerprint.equals(fingerprint) && !running.isFinished()) {
+                return toDTO(running);
+            }
+        }
+
+        ExportJob job = new ExportJob(fingerprint, result);
+        executor.execute(() -> run(job));
+        jobs.put(job.id, job);
+        log.info("Export {} queued", job.id);
+        return toDTO(job);
+    }
+
+    public ExportJobDTO getJob(String id) {
+        return toDTO(findJob(id));
+    }
+
+    /**
+     * Result file of a finished job, or null if the job is not finished yet
+     *
+     * @throws EntityNotFoundException if the job is unknown or failed
+     */
+    public Path getResult(String id) {
+        ExportJob job = findJob(id);
+        if (STATUS_FAILED.equals(job.status)) {
+            throw new EntityNotFoundException("Export job failed: " + job.error);
+        }
+        return STATUS_DONE.equals(job.status) ? job.result : null;
+    }
+
+    private void run(ExportJob job) {
+        job.status = STATUS_RUNNING;
+        Path temp = null;
+        try {
+            List<DepartmentDTO> departments = okrService.getAllDepartments();
+            // Write to a temp file and move it into place, so a cached file is always complete
+            temp = Files.createTempFile(exportDir, "export-", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                excelExportService.writeExcel(departments, out, percent -> job.progress = percent);
+            }
+            Files.move(temp, job.result, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.complete();
+            log.info("Export {} finished ({})", job.id, job.result.getFileName());
+        } catch (Exception e) {
+            log.error("Export {} failed", job.id, e);
+            job.error = e.getMessage();
+            job.status = STATUS_FAILED;
+            job.completedAt = LocalDateTime.now();
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // best effort
+                }
+            }
+        }
+    }
+
+    private ExportJob findJob(String id) {
+        ExportJob job = jobs.get(id);
+        if (job == null) {
+            throw new EntityNotFoundException("Export job not found: " + id);
+        }
+        return job;
+    }
+
+    /**
+     * Forget old finished jobs and delete result files that neither a known job (downloads may be
+     * pending) nor the current data version refers to
+     */
+    private void evictFinishedJobs(Path current) {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(JOB_RETENTION_MINUTES);
+        jobs.values().removeIf(job -> job.isFinished() && job.completedAt.isBefore(cutoff));
+
+        Set<Path> keep = new HashSet<>();
+        keep.add(current);
+        jobs.values().forEach(job -> keep.add(job.result));
+        deleteFiles(file -> file.getFileName().toString().startsWith(RESULT_PREFIX) && !keep.contains(file));
+    }
+
+    private void deleteFiles(Predicate<Path> stale) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(exportDir)) {
+            for (Path file : files) {
+                if (stale.test(file)) {
+                    Files.deleteIfExists(file);
+                    log.debug("Deleted export file {}", file.getFileName());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean up export directory {}", exportDir, e);
+        }
+    }
+
+    /**
+     * SHA-256 over the data version and the score levels, i.e. everything that decides the workbook's content
+     */
+    static String fingerprint(String instanceId, long dataVersion, ScoreLevelTable levels) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+
+        update(digest, instanceId, dataVersion);
+        for (int i = 0; i < levels.size(); i++) {
+            update(digest, levels.name(i), levels.score(i), levels.color(i));
+        }
+        // 16 bytes is plenty to tell exports apart and keeps file names short
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    private static void update(MessageDigest digest, Object... values) {
+        for (Object value : values) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+    }
+
+    private ExportJobDTO toDTO(ExportJob job) {
+        return ExportJobDTO.builder()
+                .id(job.id)
+                .status(job.status)
+                .progress(job.progress)
+                .cached(job.cached)
+                .fingerprint(job.fingerprint)
+                .downloadUrl(STATUS_DONE.equals(job.status) ? "/api/export/jobs/" + job.id + "/download" : null)
+                .error(job.error)
+                .createdAt(job.createdAt)
+                .completedAt(job.completedAt)
+                .build();
+    }
+
+    private static final class ExportJob {
+        final String id = UUID.randomUUID().toString();
+        final String fingerprint;
+        final Path result;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        volatile String status = STATUS_QUEUED;
+        volatile int progress;
+        volatile boolean cached;
+        volatile String error;
+        volatile LocalDateTime completedAt;
+
+        ExportJob(String fingerprint, Path result) {
+            this.fingerprint = fingerprint;
+            this.result = result;
+        }
+
+        void complete() {
+            progress = 100;
+            completedAt = LocalDateTime.now();
+            status = STATUS_DONE;
+        }
+
+        boolean isFinished() {
+            return STATUS_DONE.equals(status) || STATUS_FAILED.equals(status);
+        }
+    }
+}
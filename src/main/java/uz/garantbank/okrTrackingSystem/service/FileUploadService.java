@@ -204,7 +204,7 @@ public class FileUploadService {
      * @param file the file to validate
      * @throws IllegalArgumentException if validation fails
      */
-    private void validateAttachmentFile(MultipartFile file) {
+    public void validateAttachmentFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Attachment file is required");
         }
@@ -2,27 +2,38 @@ package uz.garantbank.okrTrackingSystem.service;
 
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import uz.garantbank.okrTrackingSystem.dto.*;
 import uz.garantbank.okrTrackingSystem.entity.*;
 import uz.garantbank.okrTrackingSystem.repository.*;
 
 import org.springframework.web.multipart.MultipartFile;
 
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import uz.garantbank.okrTrackingSystem.security.UserDetailsImpl;
-
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class OkrService {
 
+    // Upper bound for one bulk actual value update, and the JDBC batch size used to write it
+    private static final int MAX_BULK_UPDATES = 1000;
+    private static final int BULK_BATCH_SIZE = 50;
+
     @Autowired
     private DepartmentRepository departmentRepository;
     @Autowired
@@ -32,6 +43,10 @@ public class OkrService {
     @Autowired
     private ScoreCalculationService scoreService;
     @Autowired
+    private ScoreAggregationTree scoreTree;
+    @Autowired
+    private PersistedScoreService persistedScores;
+    @Autowired
     private UserRepository userRepository;
     @Autowired
     private EvaluationRepository evaluationRepository;
@@ -45,6 +60,8 @@ public class OkrService {
     private PlatformSettingService platformSettingService;
     @Autowired
     private DepartmentAccessService accessService;
+    @Autowired
+    private UserSecurityCache userSecurityCache;
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -52,23 +69,17 @@ public class OkrService {
 
     @Transactional(readOnly = true)
     public List<DepartmentDTO> getAllDepartments() {
-        try {
-            return departmentRepository.findAllWithObjectives().stream()
-                    .map(this::toDepartmentDTO)
-                    .collect(Collectors.toList());
-        } finally {
-            scoreService.clearCache();
+        try (Stream<OkrTreeRow> rows = departmentRepository.streamOkrTree()) {
+            return assembleDepartments(rows);
         }
     }
 
     @Transactional(readOnly = true)
     public DepartmentDTO getDepartment(String id) {
-        try {
-            return departmentRepository.findByIdWithObjectives(id)
-                    .map(this::toDepartmentDTO)
+        try (Stream<OkrTreeRow> rows = departmentRepository.streamOkrTreeByDepartmentId(id)) {
+            return assembleDepartments(rows).stream()
+                    .findFirst()
                     .orElseThrow(() -> new RuntimeException("Department not found: " + id));
-        } finally {
-            scoreService.clearCache();
         }
     }
 
@@ -89,6 +100,8 @@ public class OkrService {
                 .build();
 
         Department saved = departmentRepository.save(dept);
+        persistedScores.departmentChanged(saved);
+        scoreTree.departmentSaved(saved);
         return toDepartmentDTO(saved);
     }
 
@@ -110,6 +123,7 @@ public class OkrService {
         }
 
         Department updated = departmentRepository.save(department);
+        scoreTree.departmentSaved(updated);
         return toDepartmentDTO(updated);
     }
 
@@ -142,17 +156,18 @@ public class OkrService {
 
         // 4. Now delete the department (objectives will be cascade deleted)
         departmentRepository.deleteById(id);
+        scoreTree.departmentRemoved(id);
     }
 
     @Transactional(readOnly = true)
     public DepartmentScoreResult getDepartmentScoreWithEvaluations(String id) {
-        try {
+        ScoreResult okrScore = scoreTree.departmentScore(id);
+        if (okrScore == null) {
             Department dept = departmentRepository.findByIdWithObjectives(id)
                     .orElseThrow(() -> new RuntimeException("Department not found: " + id));
-            return scoreService.calculateDepartmentScoreWithEvaluations(id, dept.getObjectives());
-        } finally {
-            scoreService.clearCache();
+            okrScore = scoreService.calculateDepartmentScore(dept.getObjectives());
         }
+        return scoreService.calculateDepartmentScoreWithEvaluations(id, okrScore);
     }
 
     // ==================== OBJECTIVES ====================
@@ -168,7 +183,11 @@ public class OkrService {
                 .department(dept)
                 .build();
 
-        return toObjectiveDTO(objectiveRepository.save(obj));
+        Objective saved = objectiveRepository.save(obj);
+        dept.getObjectives().add(saved);
+        persistedScores.objectiveChanged(saved);
+        scoreTree.objectiveSaved(saved);
+        return toObjectiveDTO(saved);
     }
 
     @Transactional
@@ -177,12 +196,25 @@ public class OkrService {
                 .orElseThrow(() -> new RuntimeException("Objective not found"));
         obj.setName(dto.getName());
         obj.setWeight(dto.getWeight());
-        return toObjectiveDTO(objectiveRepository.save(obj));
+        Objective saved = objectiveRepository.save(obj);
+        persistedScores.objectiveChanged(saved);
+        scoreTree.objectiveSaved(saved);
+        return toObjectiveDTO(saved);
     }
 
     @Transactional
     public void deleteObjective(String id) {
-        objectiveRepository.deleteById(id);
+        objectiveRepository.findById(id).ifPresent(obj -> {
+            Department dept = obj.getDepartment();
+            if (dept != null) {
+                dept.getObjectives().removeIf(o -> o == obj);
+            }
+            objectiveRepository.delete(obj);
+            if (dept != null) {
+                persistedScores.departmentChanged(dept);
+            }
+        });
+        scoreTree.objectiveRemoved(id);
     }
 
     // ==================== KEY RESULTS ====================
@@ -203,11 +235,15 @@ public class OkrService {
                 .thresholdGood(dto.getThresholds().getGood())
                 .thresholdVeryGood(dto.getThresholds().getVeryGood())
                 .thresholdExceptional(dto.getThresholds().getExceptional())
-                .actualValue(dto.getActualValue())
                 .objective(obj)
                 .build();
+        applyActualValue(kr, dto.getActualValue());
 
-        return toKeyResultDTO(keyResultRepository.save(kr));
+        KeyResult saved = keyResultRepository.save(kr);
+        obj.getKeyResults().add(saved);
+        persistedScores.keyResultChanged(saved);
+        scoreTree.keyResultSaved(saved);
+        return toKeyResultDTO(saved);
     }
 
     @Transactional
@@ -217,7 +253,7 @@ public class OkrService {
 
         kr.setName(dto.getName());
         kr.setDescription(dto.getDescription());
-        kr.setActualValue(dto.getActualValue());
+        applyActualValue(kr, dto.getActualValue());
         kr.setWeight(dto.getWeight());
 
         if (dto.getThresholds() != null) {
@@ -228,7 +264,10 @@ public class OkrService {
             kr.setThresholdExceptional(dto.getThresholds().getExceptional());
         }
 
-        return toKeyResultDTO(keyResultRepository.save(kr));
+        KeyResult saved = keyResultRepository.save(kr);
+        persistedScores.keyResultChanged(saved);
+        scoreTree.keyResultSaved(saved);
+        return toKeyResultDTO(saved);
     }
 
     @Transactional
@@ -245,7 +284,7 @@ public class OkrService {
             }
         }
 
-        kr.setActualValue(actualValue);
+        applyActualValue(kr, actualValue);
 
         // Handle attachment if provided
         if (attachment != null && !attachment.isEmpty()) {
@@ -258,12 +297,121 @@ public class OkrService {
             kr.setAttachmentFileName(attachment.getOriginalFilename());
         }
 
-        return toKeyResultDTO(keyResultRepository.save(kr));
+        KeyResult saved = keyResultRepository.save(kr);
+        persistedScores.keyResultChanged(saved);
+        scoreTree.keyResultSaved(saved);
+        return toKeyResultDTO(saved);
+    }
+
+    /**
+     * Update the actual values of many key results in one transaction.
+     * Attachments are looked up by key result ID; values and files are all validated before any file is stored.
+     * Changed rows are flushed as JDBC batches and each affected objective and department is
+     * rescored once. Permissions are checked by the caller.
+     */
+    @Transactional
+    public BulkActualValueResultDTO updateKeyResultActualValues(List<ActualValueUpdateDTO> updates,
+                                                                Map<String, MultipartFile> attachments) {
+        if (updates == null || updates.isEmpty()) {
+            throw new IllegalArgumentException("No actual values to update");
+        }
+        if (updates.size() > MAX_BULK_UPDATES) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_UPDATES + " actual values can be updated at once");
+        }
+        Set<String> ids = new LinkedHashSet<>();
+        for (ActualValueUpdateDTO update : updates) {
+            if (update.getKeyResultId() == null || !ids.add(update.getKeyResultId())) {
+                throw new IllegalArgumentException("Missing or duplicate key result ID: " + update.getKeyResultId());
+            }
+        }
+
+        boolean attachmentRequired = platformSettingService.isAttachmentRequiredForActualValue();
+        Map<String, KeyResult> keyResults = new HashMap<>();
+        for (KeyResult kr : keyResultRepository.findAllByIdWithObjective(ids)) {
+            keyResults.put(kr.getId(), kr);
+        }
+
+        // Dirty key results, objectives and departments are written in batches at flush
+        entityManager.unwrap(Session.class).setJdbcBatchSize(BULK_BATCH_SIZE);
+
+        List<KeyResult> changed = new ArrayList<>(updates.size());
+        for (ActualValueUpdateDTO update : updates) {
+            KeyResult kr = keyResults.get(update.getKeyResultId());
+            if (kr == null) {
+                throw new EntityNotFoundException("Key Result not found: " + update.getKeyResultId());
+            }
+            MultipartFile attachment = attachments != null ? attachments.get(kr.getId()) : null;
+            if (attachmentRequired && (attachment == null || attachment.isEmpty())) {
+                throw new IllegalArgumentException(
+                    "Attachment is required when updating actual values (key result " + kr.getId() + ")");
+            }
+            try {
+                if (attachment != null && !attachment.isEmpty()) {
+                    fileUploadService.validateAttachmentFile(attachment);
+                }
+                applyActualValue(kr, update.getActualValue());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Key result " + kr.getId() + ": " + e.getMessage());
+            }
+            changed.add(kr);
+        }
+
+        // Old files are only removed once the new URLs are committed; on rollback the new files go instead
+        List<String> replacedAttachments = new ArrayList<>();
+        List<String> storedAttachments = new ArrayList<>();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    replacedAttachments.forEach(fileUploadService::deleteAttachment);
+                } else if (status == STATUS_ROLLED_BACK) {
+                    storedAttachments.forEach(fileUploadService::deleteAttachment);
+                }
+            }
+        });
+        for (KeyResult kr : changed) {
+            MultipartFile attachment = attachments != null ? attachments.get(kr.getId()) : null;
+            if (attachment != null && !attachment.isEmpty()) {
+                String attachmentUrl = fileUploadService.uploadKeyResultAttachment(kr.getId(), attachment);
+                storedAttachments.add(attachmentUrl);
+                if (kr.getAttachmentUrl() != null) {
+                    replacedAttachments.add(kr.getAttachmentUrl());
+                }
+                kr.setAttachmentUrl(attachmentUrl);
+                kr.setAttachmentFileName(attachment.getOriginalFilename());
+            }
+        }
+
+        PersistedScoreService.Recomputed scores = persistedScores.keyResultsChanged(changed);
+        scoreTree.keyResultsSaved(changed);
+
+        return BulkActualValueResultDTO.builder()
+                .keyResults(changed.stream().map(this::toKeyResultDTO).collect(Collectors.toList()))
+                .objectiveScores(scores.objectives())
+                .departmentScores(scores.departments())
+                .build();
+    }
+
+    /**
+     * Set the actual value, validated and parsed once here so scoring never parses strings
+     */
+    private void applyActualValue(KeyResult kr, String actualValue) {
+        if (!kr.applyActualValue(actualValue)) {
+            throw new IllegalArgumentException(kr.getMetricType() == KeyResult.MetricType.QUALITATIVE
+                    ? "Actual value must be a grade A-E, got '" + actualValue + "'"
+                    : "Actual value must be a number, got '" + actualValue + "'");
+        }
     }
 
     @Transactional
     public void deleteKeyResult(String id) {
-        keyResultRepository.deleteById(id);
+        keyResultRepository.findById(id).ifPresent(kr -> {
+            Objective obj = kr.getObjective();
+            obj.getKeyResults().removeIf(k -> k == kr);
+            keyResultRepository.delete(kr);
+            persistedScores.objectiveChanged(obj);
+        });
+        scoreTree.keyResultRemoved(id);
     }
 
     @Transactional
@@ -319,7 +467,7 @@ public class OkrService {
                 .weight(obj.getWeight())
                 .departmentId(obj.getDepartment().getId())
                 .keyResults(keyResults)
-                .score(scoreService.calculateObjectiveScore(obj.getKeyResults()))
+                .score(objectiveScore(obj))
                 .build();
     }
 
@@ -328,13 +476,8 @@ public class OkrService {
         Integer progress = null;
         try {
             String departmentId = kr.getObjective().getDepartment().getId();
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth != null && auth.isAuthenticated() && !auth.getPrincipal().equals("anonymousUser")) {
-                UserDetailsImpl userDetails = (UserDetailsImpl) auth.getPrincipal();
-                User currentUser = userRepository.findById(userDetails.getId()).orElse(null);
-                if (currentUser != null && accessService.canViewProgress(currentUser, departmentId)) {
-                    progress = kr.getProgress();
-                }
+            if (accessService.currentUserCanViewProgress(departmentId)) {
+                progress = kr.getProgress();
             }
         } catch (Exception e) {
             // If we can't determine visibility, hide progress
@@ -356,145 +499,275 @@ public class OkrService {
                         .build())
                 .actualValue(kr.getActualValue())
                 .objectiveId(kr.getObjective().getId())
-                .score(scoreService.calculateKeyResultScore(kr))
+                .score(keyResultScore(kr))
                 .attachmentUrl(kr.getAttachmentUrl())
                 .attachmentFileName(kr.getAttachmentFileName())
                 .progress(progress)
                 .build();
     }
 
+    // ==================== FLAT READ MODEL ====================
+
+    /**
+     * Assemble department DTOs from flat tree rows in a single pass.
+     * Rows must be grouped by department and objective (see DepartmentRepository.streamOkrTree).
+     */
+    private List<DepartmentDTO> assembleDepartments(Stream<OkrTreeRow> rows) {
+        List<DepartmentDTO> departments = new ArrayList<>();
+        DepartmentDTO dept = null;
+        ObjectiveDTO obj = null;
+        boolean canViewProgress = false;
+
+        Iterator<OkrTreeRow> it = rows.iterator();
+        while (it.hasNext()) {
+            OkrTreeRow row = it.next();
+
+            if (dept == null || !dept.getId().equals(row.departmentId())) {
+                finishObjective(obj);
+                obj = null;
+                dept = DepartmentDTO.builder()
+                        .id(row.departmentId())
+                        .name(row.departmentName())
+                        .division(row.divisionId() != null
+                                ? new DivisionSummaryDTO(row.divisionId(), row.divisionName())
+                                : null)
+                        .objectives(new ArrayList<>())
+                        .build();
+                departments.add(dept);
+                // Progress visibility is per department, resolve it once
+                canViewProgress = accessService.currentUserCanViewProgress(row.departmentId());
+            }
+
+            if (row.objectiveId() == null) {
+                continue;
+            }
+            if (obj == null || !obj.getId().equals(row.objectiveId())) {
+                finishObjective(obj);
+                obj = ObjectiveDTO.builder()
+                        .id(row.objectiveId())
+                        .name(row.objectiveName())
+                        .weight(row.objectiveWeight())
+                        .departmentId(row.departmentId())
+                        .keyResults(new ArrayList<>())
+                        .build();
+                dept.getObjectives().add(obj);
+            }
+
+            if (row.keyResultId() != null) {
+                obj.getKeyResults().add(toKeyResultDTO(row, canViewProgress));
+            }
+        }
+        finishObjective(obj);
+
+        return departments;
+    }
+
+    private KeyResultDTO toKeyResultDTO(OkrTreeRow row, boolean canViewProgress) {
+        KeyResultDTO dto = KeyResultDTO.builder()
+                .id(row.keyResultId())
+                .name(row.keyResultName())
+                .description(row.keyResultDescription())
+                .metricType(row.metricType())
+                .unit(row.unit())
+                .weight(row.keyResultWeight())
+                .thresholds(ThresholdDTO.builder()
+                        .below(row.thresholdBelow())
+                        .meets(row.thresholdMeets())
+                        .good(row.thresholdGood())
+                        .veryGood(row.thresholdVeryGood())
+                        .exceptional(row.thresholdExceptional())
+                        .build())
+                .actualValue(row.actualValue())
+                .objectiveId(row.objectiveId())
+                .attachmentUrl(row.attachmentUrl())
+                .attachmentFileName(row.attachmentFileName())
+                .progress(canViewProgress ? row.progress() : null)
+                .build();
+
+        ScoreResult score = scoreTree.keyResultScore(row.keyResultId());
+        dto.setScore(score != null ? score : scoreService.calculateKeyResultScore(toScoringKeyResult(dto)));
+        return dto;
+    }
+
+    private void finishObjective(ObjectiveDTO obj) {
+        if (obj == null) {
+            return;
+        }
+        ScoreResult score = scoreTree.objectiveScore(obj.getId());
+        if (score == null) {
+            List<KeyResult> keyResults = obj.getKeyResults().stream()
+                    .map(this::toScoringKeyResult)
+                    .collect(Collectors.toList());
+            score = scoreService.calculateObjectiveScore(keyResults);
+        }
+        obj.setScore(score);
+    }
+
+    /**
+     * Detached KeyResult carrying only the fields used by ScoreCalculationService
+     */
+    private KeyResult toScoringKeyResult(KeyResultDTO dto) {
+        ThresholdDTO t = dto.getThresholds();
+        KeyResult kr = KeyResult.builder()
+                .id(dto.getId())
+                .name(dto.getName())
+                .metricType(dto.getMetricType())
+                .weight(dto.getWeight())
+                .thresholdBelow(t.getBelow())
+                .thresholdMeets(t.getMeets())
+                .thresholdGood(t.getGood())
+                .thresholdVeryGood(t.getVeryGood())
+                .thresholdExceptional(t.getExceptional())
+                .build();
+        kr.applyActualValue(dto.getActualValue());
+        return kr;
+    }
+
+    /**
+     * Read-only requests take committed scores from the aggregation tree;
+     * write responses are calculated from the (not yet committed) entity.
+     */
+    private ScoreResult keyResultScore(KeyResult kr) {
+        ScoreResult score = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? scoreTree.keyResultScore(kr.getId()) : null;
+        return score != null ? score : scoreService.calculateKeyResultScore(kr);
+    }
+
+    private ScoreResult objectiveScore(Objective obj) {
+        ScoreResult score = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? scoreTree.objectiveScore(obj.getId()) : null;
+        return score != null ? score : scoreService.calculateObjectiveScore(obj.getKeyResults());
+    }
+
     @Transactional
     public List<DepartmentDTO> loadDemoData() {
-        try {
-            System.out.println("Loading demo data...");
+        System.out.println("Loading demo data...");
 
-            // Clear existing data in correct order to respect foreign key constraints:
-            // 1. First delete evaluations (no dependencies)
-            evaluationRepository.deleteAll();
-            System.out.println("  - Cleared evaluations");
+        // Clear existing data in correct order to respect foreign key constraints:
+        // 1. First delete evaluations (no dependencies, nothing to cascade - one DELETE)
+        evaluationRepository.deleteAllInBatch();
+        System.out.println("  - Cleared evaluations");
 
-            // 2. Unassign all users from departments (to break FK constraint)
-            var allUsers = userRepository.findAllWithDepartments();
-            for (var user : allUsers) {
-                user.getAssignedDepartments().clear();
-            }
-            userRepository.saveAll(allUsers);
-            System.out.println("  - Unassigned users from departments");
+        // 2. Unassign all users from departments (to break FK constraint)
+        var allUsers = userRepository.findAllWithDepartments();
+        for (var user : allUsers) {
+            user.getAssignedDepartments().clear();
+        }
+        userRepository.saveAll(allUsers);
+        System.out.println("  - Unassigned users from departments");
 
-            // 3. Clear department leaders (to break FK constraint)
-            var allDepts = departmentRepository.findAll();
-            for (var dept : allDepts) {
-                dept.setDepartmentLeader(null);
-            }
-            departmentRepository.saveAll(allDepts);
-            System.out.println("  - Cleared department leaders");
-
-            // 4. Now we can safely delete departments (objectives cascade delete automatically)
-            departmentRepository.deleteAll();
-            System.out.println("  - Deleted all departments and objectives");
-
-            // 5. Finally delete users
-            userRepository.deleteAll();
-            System.out.println("  - Deleted all users");
-
-            // Flush deletes before creating new data
-            entityManager.flush();
-
-            // First, find or create a demo division
-            Division demoDivision = divisionRepository.findByName("Demo Division")
-                    .orElseGet(() -> {
-                        Division div = new Division();
-                        div.setName("Demo Division");
-                        return divisionRepository.save(div);
-                    });
-
-            // Create PMO department with demo objectives
-            Department pmoDept = Department.builder()
-                    .name("PMO - Project Management Office")
-                    .division(demoDivision)
-                    .build();
-            pmoDept = departmentRepository.save(pmoDept);
+        // 3. Clear department leaders (to break FK constraint)
+        var allDepts = departmentRepository.findAll();
+        for (var dept : allDepts) {
+            dept.setDepartmentLeader(null);
+        }
+        departmentRepository.saveAll(allDepts);
+        System.out.println("  - Cleared department leaders");
+
+        // 4. Now we can safely delete departments (objectives cascade delete automatically)
+        departmentRepository.deleteAll();
+        System.out.println("  - Deleted all departments and objectives");
+
+        // 5. Finally delete users (their tokens are rejected once the cached snapshots are dropped)
+        userRepository.deleteAll();
+        userSecurityCache.invalidateAll();
+        System.out.println("  - Deleted all users");
+
+        // Flush deletes before creating new data
+        entityManager.flush();
+
+        // First, find or create a demo division
+        Division demoDivision = divisionRepository.findByName("Demo Division")
+                .orElseGet(() -> {
+                    Division div = new Division();
+                    div.setName("Demo Division");
+                    return divisionRepository.save(div);
+                });
 
-            // ==================== CREATE DEMO USERS ====================
+        // Create PMO department with demo objectives
+        Department pmoDept = Department.builder()
+                .name("PMO - Project Management Office")
+                .division(demoDivision)
+                .build();
+        pmoDept = departmentRepository.save(pmoDept);
 
-            // 1. Create Admin user
-            User admin = User.builder()
-                    .username("admin")
-                    .email("admin@okr-tracker.com")
-                    .password(passwordEncoder.encode("admin123"))
-                    .fullName("System Administrator")
-                    .role(Role.ADMIN)
-                    .build();
-            admin = userRepository.save(admin);
-
-            // 2. Create Director user
-            User director = User.builder()
-                    .username("director")
-                    .email("director@okr-tracker.com")
-                    .password(passwordEncoder.encode("director123"))
-                    .fullName("Алишер Каримов")
-                    .role(Role.DIRECTOR)
-                    .build();
-            director = userRepository.save(director);
-
-            // 3. Create HR user
-            User hr = User.builder()
-                    .username("hr")
-                    .email("hr@okr-tracker.com")
-                    .password(passwordEncoder.encode("hr123"))
-                    .fullName("Гульнора Азимова")
-                    .role(Role.HR)
-                    .build();
-            hr = userRepository.save(hr);
-
-            // 4. Create Business Block user
-            User businessBlock = User.builder()
-                    .username("business")
-                    .email("business@okr-tracker.com")
-                    .password(passwordEncoder.encode("business123"))
-                    .fullName("Шерзод Рахимов")
-                    .role(Role.BUSINESS_BLOCK)
-                    .build();
-            businessBlock = userRepository.save(businessBlock);
-
-            // 5. Create Department Leader for PMO
-            User deptLeader = User.builder()
-                    .username("pmo_leader")
-                    .email("pmo.leader@okr-tracker.com")
-                    .password(passwordEncoder.encode("leader123"))
-                    .fullName("Умида Усманова")
-                    .role(Role.DEPARTMENT_LEADER)
-                    .build();
-            deptLeader = userRepository.save(deptLeader);
-            deptLeader.getAssignedDepartments().add(pmoDept);
-            deptLeader = userRepository.save(deptLeader);
-
-            // 6. Create Employee users
-            User employee1 = User.builder()
-                    .username("employee1")
-                    .email("employee1@okr-tracker.com")
-                    .password(passwordEncoder.encode("employee123"))
-                    .fullName("Бахром Иброхимов")
-                    .role(Role.EMPLOYEE)
-                    .build();
-            employee1 = userRepository.save(employee1);
-            employee1.getAssignedDepartments().add(pmoDept);
-            employee1 = userRepository.save(employee1);
-
-            User employee2 = User.builder()
-                    .username("employee2")
-                    .email("employee2@okr-tracker.com")
-                    .password(passwordEncoder.encode("employee123"))
-                    .fullName("Дилноза Турсунова")
-                    .role(Role.EMPLOYEE)
-                    .build();
-            employee2 = userRepository.save(employee2);
-            employee2.getAssignedDepartments().add(pmoDept);
-            employee2 = userRepository.save(employee2);
+        // ==================== CREATE DEMO USERS ====================
+
+        // 1. Create Admin user
+        User admin = User.builder()
+                .username("admin")
+                .email("admin@okr-tracker.com")
+                .password(passwordEncoder.encode("admin123"))
+                .fullName("System Administrator")
+                .role(Role.ADMIN)
+                .build();
+        admin = userRepository.save(admin);
+
+        // 2. Create Director user
+        User director = User.builder()
+                .username("director")
+                .email("director@okr-tracker.com")
+                .password(passwordEncoder.encode("director123"))
+                .fullName("Алишер Каримов")
+                .role(Role.DIRECTOR)
+                .build();
+        director = userRepository.save(director);
+
+        // 3. Create HR user
+        User hr = User.builder()
+                .username("hr")
+                .email("hr@okr-tracker.com")
+                .password(passwordEncoder.encode("hr123"))
+                .fullName("Гульнора Азимова")
+                .role(Role.HR)
+                .build();
+        hr = userRepository.save(hr);
+
+        // 4. Create Business Block user
+        User businessBlock = User.builder()
+                .username("business")
+                .email("business@okr-tracker.com")
+                .password(passwordEncoder.encode("business123"))
+                .fullName("Шерзод Рахимов")
+                .role(Role.BUSINESS_BLOCK)
+                .build();
+        businessBlock = userRepository.save(businessBlock);
+
+        // 5. Create Department Leader for PMO
+        User deptLeader = User.builder()
+                .username("pmo_leader")
+                .email("pmo.leader@okr-tracker.com")
+                .password(passwordEncoder.encode("leader123"))
+                .fullName("Умида Усманова")
+                .role(Role.DEPARTMENT_LEADER)
+                .build();
+        deptLeader.getAssignedDepartments().add(pmoDept);
+        deptLeader = userRepository.save(deptLeader);
+
+        // 6. Create Employee users
+        User employee1 = User.builder()
+                .username("employee1")
+                .email("employee1@okr-tracker.com")
+                .password(passwordEncoder.encode("employee123"))
+                .fullName("Бахром Иброхимов")
+                .role(Role.EMPLOYEE)
+                .build();
+        employee1.getAssignedDepartments().add(pmoDept);
+        employee1 = userRepository.save(employee1);
+
+        User employee2 = User.builder()
+                .username("employee2")
+                .email("employee2@okr-tracker.com")
+                .password(passwordEncoder.encode("employee123"))
+                .fullName("Дилноза Турсунова")
+                .role(Role.EMPLOYEE)
+                .build();
+        employee2.getAssignedDepartments().add(pmoDept);
+        employee2 = userRepository.save(employee2);
 
-            // Link department leader to PMO department
-            pmoDept.setDepartmentLeader(deptLeader);
-            pmoDept = departmentRepository.save(pmoDept);
+        // Link department leader to PMO department
+        pmoDept.setDepartmentLeader(deptLeader);
+        pmoDept = departmentRepository.save(pmoDept);
 
         // Цель 1: Обеспечить своевременную реализацию проектов (20%)
         createDemoObjective(pmoDept, "Цель 1: Обеспечить своевременную реализацию проектов", 20,
@@ -547,36 +820,36 @@ public class OkrService {
                         new DemoKR("KR6.3 Процент изменений плана проекта после планирования", KeyResult.MetricType.LOWER_BETTER, "%", 30, 20.0, 15.0, 10.0, 5.0, 0.0, "0")
                 });
 
-            // ==================== DEMO EVALUATIONS REMOVED ====================
-            // Evaluations are not pre-created so users can test the evaluation flow themselves
-            // Login as director/hr/business to submit evaluations
-
-            // Flush to ensure all data is persisted before fetching
-            entityManager.flush();
-            entityManager.clear(); // Clear the persistence context to force a fresh fetch
-
-            System.out.println("=".repeat(80));
-            System.out.println("DEMO DATA LOADED SUCCESSFULLY!");
-            System.out.println("=".repeat(80));
-            System.out.println("\nDemo Users Created:");
-            System.out.println("  1. Admin:          username='admin'      password='admin123'");
-            System.out.println("  2. Director:       username='director'   password='director123'");
-            System.out.println("  3. HR:             username='hr'         password='hr123'");
-            System.out.println("  4. Business Block: username='business'   password='business123'");
-            System.out.println("  5. Dept Leader:    username='pmo_leader' password='leader123'");
-            System.out.println("  6. Employee 1:     username='employee1'  password='employee123'");
-            System.out.println("  7. Employee 2:     username='employee2'  password='employee123'");
-            System.out.println("\nEvaluations:");
-            System.out.println("  - No pre-filled evaluations - login as director/hr/business to evaluate");
-            System.out.println("\nDepartment Score Calculation:");
-            System.out.println("  - Automatic OKR Score: Will be calculated from Key Results");
-            System.out.println("  - Final Score: (Auto × 60%) + (Director × 20%) + (HR × 20%)");
-            System.out.println("=".repeat(80));
-
-            return getAllDepartments();
-        } finally {
-            scoreService.clearCache();
-        }
+        // ==================== DEMO EVALUATIONS REMOVED ====================
+        // Evaluations are not pre-created so users can test the evaluation flow themselves
+        // Login as director/hr/business to submit evaluations
+
+        // Flush to ensure all data is persisted before fetching
+        // (IDs are generated in memory, so the inserts go out as ordered JDBC batches here)
+        entityManager.flush();
+        entityManager.clear(); // Clear the persistence context to force a fresh fetch
+        persistedScores.refreshAll();
+        scoreTree.invalidate();
+
+        System.out.println("=".repeat(80));
+        System.out.println("DEMO DATA LOADED SUCCESSFULLY!");
+        System.out.println("=".repeat(80));
+        System.out.println("\nDemo Users Created:");
+        System.out.println("  1. Admin:          username='admin'      password='admin123'");
+        System.out.println("  2. Director:       username='director'   password='director123'");
+        System.out.println("  3. HR:             username='hr'         password='hr123'");
+        System.out.println("  4. Business Block: username='business'   password='business123'");
+        System.out.println("  5. Dept Leader:    username='pmo_leader' password='leader123'");
+        System.out.println("  6. Employee 1:     username='employee1'  password='employee123'");
+        System.out.println("  7. Employee 2:     username='employee2'  password='employee123'");
+        System.out.println("\nEvaluations:");
+        System.out.println("  - No pre-filled evaluations - login as director/hr/business to evaluate");
+        System.out.println("\nDepartment Score Calculation:");
+        System.out.println("  - Automatic OKR Score: Will be calculated from Key Results");
+        System.out.println("  - Final Score: (Auto × 60%) + (Director × 20%) + (HR × 20%)");
+        System.out.println("=".repeat(80));
+
+        return getAllDepartments();
     }
 
     private void createDemoObjective(Department dept, String name, Integer weight, DemoKR[] krs) {
@@ -586,6 +859,7 @@ public class OkrService {
         objective.setDepartment(dept);
         objective = objectiveRepository.save(objective);
 
+        List<KeyResult> keyResults = new ArrayList<>(krs.length);
         for (DemoKR kr : krs) {
             KeyResult keyResult = new KeyResult();
             keyResult.setName(kr.name);
@@ -597,11 +871,12 @@ public class OkrService {
             keyResult.setThresholdGood(kr.good);
             keyResult.setThresholdVeryGood(kr.veryGood);
             keyResult.setThresholdExceptional(kr.exceptional);
-            keyResult.setActualValue(kr.actualValue);
+            keyResult.applyActualValue(kr.actualValue);
             keyResult.setDescription(kr.description);
             keyResult.setObjective(objective);
-            keyResultRepository.save(keyResult);
+            keyResults.add(keyResult);
         }
+        keyResultRepository.saveAll(keyResults);
     }
 
     private static class DemoKR {
@@ -0,0 +1,118 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uz.garantbank.okrTrackingSystem.dto.*;
+import uz.garantbank.okrTrackingSystem.entity.Evaluation;
+import uz.garantbank.okrTrackingSystem.entity.EvaluatorType;
+import uz.garantbank.okrTrackingSystem.repository.DepartmentRepository;
+import uz.garantbank.okrTrackingSystem.repository.DivisionRepository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Org-wide division / department overview with scores.
+ *
+ * Uses a constant number of queries regardless of org size: divisions, departments with their
+ * persisted OKR scores and objective counts, and submitted evaluations for all departments and
+ * all divisions. Division scores are aggregated from the department rows in the same pass
+ * that builds the tree; the combined department scores are calculated on the score pool.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrgRollupService {
+
+    private final DivisionRepository divisionRepository;
+    private final DepartmentRepository departmentRepository;
+    private final ScoreCalculationService scoreService;
+    private final ParallelScoreService parallelScores;
+
+    public List<DivisionRollupDTO> getRollup() {
+        List<DivisionSummaryDTO> divisions = divisionRepository.findAllSummaries();
+        List<DepartmentRollupRow> departments = departmentRepository.findRollupRows();
+
+        Map<String, Map<EvaluatorType, Evaluation>> departmentEvals = scoreService.loadSubmittedEvaluations(
+                "DEPARTMENT", departments.stream().map(DepartmentRollupRow::id).toList());
+        Map<String, Map<EvaluatorType, Evaluation>> divisionEvals = scoreService.loadSubmittedEvaluations(
+                "DIVISION", divisions.stream().map(DivisionSummaryDTO::getId).toList());
+
+        Map<String, DivisionAccumulator> byDivision = new LinkedHashMap<>();
+        for (DivisionSummaryDTO division : divisions) {
+            byDivision.put(division.getId(), new DivisionAccumulator(division));
+        }
+
+        ScoreLevelTable levels = scoreService.getScoreLevels();
+        Map<String, ScoreResult> okrScores = new LinkedHashMap<>();
+        for (DepartmentRollupRow row : departments) {
+            okrScores.put(row.id(), toScoreResult(row, levels));
+        }
+        Map<String, DepartmentScoreResult> combinedScores =
+                parallelScores.calculateDepartmentScoresWithEvaluations(okrScores, departmentEvals);
+
+        for (DepartmentRollupRow row : departments) {
+            DivisionAccumulator division = byDivision.get(row.divisionId());
+            if (division == null) {
+                // Division created after the division query ran
+                continue;
+            }
+            ScoreResult okrScore = okrScores.get(row.id());
+            division.departments.add(DepartmentRollupDTO.builder()
+                    .id(row.id())
+                    .name(row.name())
+                    .score(combinedScores.get(row.id()))
+                    .build());
+            // Departments without objectives don't count towards the division score
+            if (row.objectiveCount() > 0) {
+                division.scoreSum += okrScore.getScore();
+                division.scoredDepartments++;
+            }
+        }
+
+        List<DivisionRollupDTO> result = new ArrayList<>(byDivision.size());
+        for (DivisionAccumulator division : byDivision.values()) {
+            ScoreResult okrScore = scoreService.calculateDivisionScore(division.scoreSum, division.scoredDepartments);
+            result.add(DivisionRollupDTO.builder()
+                    .id(division.summary.getId())
+                    .name(division.summary.getName())
+                    .score(scoreService.calculateDivisionScoreWithEvaluations(okrScore, divisionEvals.get(division.summary.getId())))
+                    .departments(division.departments)
+                    .build());
+        }
+        log.debug("Org rollup: {} divisions, {} departments", divisions.size(), departments.size());
+        return result;
+    }
+
+    /**
+     * Department OKR score from its persisted columns (lowest level if not scored yet)
+     */
+    private ScoreResult toScoreResult(DepartmentRollupRow row, ScoreLevelTable levels) {
+        if (row.score() == null || row.scoreLevel() == null) {
+            return scoreService.emptyScore();
+        }
+        String level = levels.key(Math.min(row.scoreLevel(), levels.size() - 1));
+        return ScoreResult.builder()
+                .score(row.score())
+                .level(level)
+                .color(levels.colorForLevel(level))
+                .percentage(row.scorePercentage())
+                .build();
+    }
+
+    private static final class DivisionAccumulator {
+        final DivisionSummaryDTO summary;
+        final List<DepartmentRollupDTO> departments = new ArrayList<>();
+        double scoreSum;
+        int scoredDepartments;
+
+        DivisionAccumulator(DivisionSummaryDTO summary) {
+            this.summary = summary;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uz.garantbank.okrTrackingSystem.dto.DepartmentScoreResult;
+import uz.garantbank.okrTrackingSystem.dto.ScoreResult;
+import uz.garantbank.okrTrackingSystem.entity.Evaluation;
+import uz.garantbank.okrTrackingSystem.entity.EvaluatorType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Department-level scoring split across a dedicated {@link ForkJoinPool}: persisted score refreshes
+ * and the combined (OKR + evaluations) department scores of the calibration views.
+ *
+ * Below {@code app.score.parallel-threshold} items everything runs sequentially on the calling thread.
+ * Each item is scored by the same code as on the sequential path, so results are identical to it.
+ *
+ * Workers only read the entity graph and return results; entities are changed on the calling thread.
+ * Collections must be initialized on the calling thread too (the persistence context is not
+ * thread-safe and must not lazy-load from a worker).
+ */
+@Slf4j
+@Service
+public class ParallelScoreService {
+
+    // Tasks per worker to even out unequal department sizes
+    private static final int TASKS_PER_WORKER = 4;
+
+    private final ScoreCalculationService scoreService;
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+
+    public ParallelScoreService(ScoreCalculationService scoreService,
+                                @Value("${app.score.parallelism:0}") int parallelism,
+                                @Value("${app.score.parallel-threshold:64}") int parallelThreshold) {
+        this.scoreService = scoreService;
+        this.parallelThreshold = parallelThreshold;
+        // availableProcessors() respects container CPU limits
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ForkJoinPool(workers, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("score-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        log.info("Score pool: {} workers, parallel from {} items", workers, parallelThreshold);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Combined score of every department from its OKR score and preloaded evaluations
+     * (see {@link ScoreCalculationService#loadSubmittedEvaluations}), keyed by department ID in input order
+     */
+    public Map<String, DepartmentScoreResult> calculateDepartmentScoresWithEvaluations(
+            Map<String, ScoreResult> okrScores,
+            Map<String, Map<EvaluatorType, Evaluation>> evaluations) {
+        List<String> ids = new ArrayList<>(okrScores.keySet());
+        DepartmentScoreResult[] scores = new DepartmentScoreResult[ids.size()];
+        forEachIndex(ids.size(), i -> scores[i] = scoreService.calculateDepartmentScoreWithEvaluations(
+                okrScores.get(ids.get(i)), evaluations.getOrDefault(ids.get(i), Map.of())));
+
+        Map<String, DepartmentScoreResult> result = new LinkedHashMap<>();
+        for (int i = 0; i < scores.length; i++) {
+            result.put(ids.get(i), scores[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Apply a function to every item, in parallel above the threshold, and return the results in input order.
+     * The function must only read its own item; the caller applies the results (e.g. to managed entities).
+     */
+    @SuppressWarnings("unchecked")
+    public <T, R> List<R> map(List<T> items, Function<? super T, ? extends R> function) {
+        Object[] results = new Object[items.size()];
+        forEachIndex(items.size(), i -> results[i] = function.apply(items.get(i)));
+        return (List<R>) Arrays.asList(results);
+    }
+
+    private void forEachIndex(int size, IntConsumer action) {
+        if (size < parallelThreshold || pool.getParallelism() < 2) {
+            for (int i = 0; i < size; i++) {
+                action.accept(i);
+            }
+            return;
+        }
+        int grain = Math.max(1, size / (pool.getParallelism() * TASKS_PER_WORKER));
+        pool.invoke(new RangeTask(action, 0, size, grain));
+    }
+
+    /**
+     * Splits [from, to) in halves until a range is at most grain items long
+     */
+    private static final class RangeTask extends RecursiveAction {
+        private final IntConsumer action;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        RangeTask(IntConsumer action, int from, int to, int grain) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                for (int i = from; i < to; i++) {
+                    action.accept(i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(action, from, mid, grain), new RangeTask(action, mid, to, grain));
+        }
+    }
+}
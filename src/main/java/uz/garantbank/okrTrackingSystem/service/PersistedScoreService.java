@@ -0,0 +1,201 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uz.garantbank.okrTrackingSystem.dto.ScoreResult;
+import uz.garantbank.okrTrackingSystem.entity.Department;
+import uz.garantbank.okrTrackingSystem.entity.KeyResult;
+import uz.garantbank.okrTrackingSystem.entity.Objective;
+import uz.garantbank.okrTrackingSystem.entity.ScoreLevel;
+import uz.garantbank.okrTrackingSystem.entity.Scored;
+import uz.garantbank.okrTrackingSystem.repository.DepartmentRepository;
+import uz.garantbank.okrTrackingSystem.repository.ObjectiveRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains the persisted score columns (score, score_level, score_percentage) of
+ * key results, objectives and departments.
+ *
+ * Called inside the writing transaction, so the columns commit (or roll back) together
+ * with the change. Callers keep both sides of the parent/child associations up to date,
+ * since scores are computed from the in-memory collections.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PersistedScoreService {
+
+    // Version of tables compiled for levels that are not published yet
+    private static final long UNPUBLISHED = -1;
+
+    private final ScoreCalculationService scoreService;
+    private final DepartmentRepository departmentRepository;
+    private final ObjectiveRepository objectiveRepository;
+    private final ParallelScoreService parallelScores;
+
+    /**
+     * A key result was created or changed: refresh it, its objective and department
+     */
+    public void keyResultChanged(KeyResult kr) {
+        ScoreLevelTable levels = scoreService.getScoreLevels();
+        apply(kr, scoreService.calculateKeyResultScore(kr, levels), levels);
+        refreshObjective(kr.getObjective(), levels);
+    }
+
+    /**
+     * Several key results changed in one transaction: refresh them, then each affected
+     * objective and department once
+     *
+     * @return the recomputed objective and department scores, by ID
+     */
+    public Recomputed keyResultsChanged(Collection<KeyResult> keyResults) {
+        ScoreLevelTable levels = scoreService.getScoreLevels();
+        Set<Objective> objectives = new LinkedHashSet<>();
+        for (KeyResult kr : keyResults) {
+            apply(kr, scoreService.calculateKeyResultScore(kr, levels), levels);
+            objectives.add(kr.getObjective());
+        }
+
+        Map<String, ScoreResult> objectiveScores = new LinkedHashMap<>();
+        Set<Department> departments = new LinkedHashSet<>();
+        for (Objective obj : objectives) {
+            ScoreResult score = scoreService.calculateObjectiveScore(obj.getKeyResults(), levels);
+            apply(obj, score, levels);
+            objectiveScores.put(obj.getId(), score);
+            if (obj.getDepartment() != null) {
+                departments.add(obj.getDepartment());
+            }
+        }
+
+        Map<String, ScoreResult> departmentScores = new LinkedHashMap<>();
+        for (Department department : departments) {
+            ScoreResult score = scoreService.calculateDepartmentScore(department.getObjectives(), levels);
+            apply(department, score, levels);
+            departmentScores.put(department.getId(), score);
+        }
+        return new Recomputed(objectiveScores, departmentScores);
+    }
+
+    /**
+     * An objective was created or changed, or its key results were removed
+     */
+    public void objectiveChanged(Objective obj) {
+        refreshObjective(obj, scoreService.getScoreLevels());
+    }
+
+    /**
+     * A department was created, or its objectives were removed
+     */
+    public void departmentChanged(Department department) {
+        refreshDepartment(department, scoreService.getScoreLevels());
+    }
+
+    /**
+     * Recompute all persisted scores with the current levels
+     */
+    public void refreshAll() {
+        refreshAll(scoreService.getScoreLevels());
+    }
+
+    /**
+     * Recompute all persisted scores with levels saved in the current transaction
+     * (the shared table is only swapped after commit)
+     */
+    public void refreshAll(List<ScoreLevel> levels) {
+        refreshAll(ScoreLevelTable.compile(levels, UNPUBLISHED));
+    }
+
+    /**
+     * Recompute the persisted scores of the given departments and everything below them
+     * (bulk changes such as an import)
+     */
+    public void departmentsChanged(Collection<String> departmentIds) {
+        if (!departmentIds.isEmpty()) {
+            refreshDepartments(departmentRepository.findAllWithObjectivesByIdIn(departmentIds),
+                    scoreService.getScoreLevels());
+        }
+    }
+
+    private void refreshAll(ScoreLevelTable levels) {
+        List<Department> departments = departmentRepository.findAllWithObjectives();
+        refreshDepartments(departments, levels);
+
+        // Individual employee OKRs have no department
+        List<Objective> individual = objectiveRepository.findByDepartmentIsNull();
+        refreshSubtree(individual, levels);
+        log.info("Persisted scores recomputed: {} departments, {} individual objectives",
+                departments.size(), individual.size());
+    }
+
+    private void refreshDepartments(List<Department> departments, ScoreLevelTable levels) {
+        // Load key results on this thread - department subtrees are scored on the score pool
+        for (Department department : departments) {
+            department.getObjectives().forEach(obj -> obj.getKeyResults().size());
+        }
+        // Workers only compute; the managed entities are updated here, on the transaction's thread
+        List<List<Assignment>> scores = parallelScores.map(departments, department -> {
+            List<Assignment> subtree = scoreSubtree(department.getObjectives(), levels);
+            subtree.add(new Assignment(department,
+                    scoreService.calculateDepartmentScore(department.getObjectives(), levels)));
+            return subtree;
+        });
+        for (List<Assignment> subtree : scores) {
+            subtree.forEach(assignment -> apply(assignment.target(), assignment.score(), levels));
+        }
+    }
+
+    private void refreshSubtree(Collection<Objective> objectives, ScoreLevelTable levels) {
+        scoreSubtree(objectives, levels).forEach(assignment -> apply(assignment.target(), assignment.score(), levels));
+    }
+
+    /**
+     * Scores of the given objectives and their key results, without changing them
+     */
+    private List<Assignment> scoreSubtree(Collection<Objective> objectives, ScoreLevelTable levels) {
+        List<Assignment> scores = new ArrayList<>();
+        for (Objective obj : objectives) {
+            for (KeyResult kr : obj.getKeyResults()) {
+                scores.add(new Assignment(kr, scoreService.calculateKeyResultScore(kr, levels)));
+            }
+            scores.add(new Assignment(obj, scoreService.calculateObjectiveScore(obj.getKeyResults(), levels)));
+        }
+        return scores;
+    }
+
+    private void refreshObjective(Objective obj, ScoreLevelTable levels) {
+        apply(obj, scoreService.calculateObjectiveScore(obj.getKeyResults(), levels), levels);
+        if (obj.getDepartment() != null) {
+            refreshDepartment(obj.getDepartment(), levels);
+        }
+    }
+
+    private void refreshDepartment(Department department, ScoreLevelTable levels) {
+        apply(department, scoreService.calculateDepartmentScore(department.getObjectives(), levels), levels);
+    }
+
+    private static void apply(Scored target, ScoreResult score, ScoreLevelTable levels) {
+        target.setScore(score.getScore());
+        target.setScoreLevel(levels.indexOf(score.getLevel()));
+        target.setScorePercentage(score.getPercentage());
+    }
+
+    /**
+     * A computed score, not yet written to its entity
+     */
+    private record Assignment(Scored target, ScoreResult score) {
+    }
+
+    /**
+     * Scores recomputed by {@link #keyResultsChanged}
+     */
+    public record Recomputed(Map<String, ScoreResult> objectives, Map<String, ScoreResult> departments) {
+    }
+}
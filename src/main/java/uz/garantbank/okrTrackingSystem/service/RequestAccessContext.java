@@ -0,0 +1,75 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+import uz.garantbank.okrTrackingSystem.entity.User;
+import uz.garantbank.okrTrackingSystem.security.UserDetailsImpl;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Current user and assigned department IDs, resolved once per HTTP request.
+ *
+ * DepartmentAccessService answers permission checks for the current user from this context
+ * instead of loading the user (and its departments) for every check. The user comes from
+ * {@link UserSecurityCache}: a detached User with the security fields only.
+ */
+@Component
+@RequestScope
+public class RequestAccessContext {
+
+    private final UserSecurityCache userSecurityCache;
+
+    private boolean resolved;
+    private User user;
+    private Set<String> assignedDepartmentIds = Collections.emptySet();
+
+    public RequestAccessContext(UserSecurityCache userSecurityCache) {
+        this.userSecurityCache = userSecurityCache;
+    }
+
+    /**
+     * The authenticated user, or null if the request is not authenticated
+     */
+    public User getUser() {
+        resolve();
+        return user;
+    }
+
+    /**
+     * IDs of the departments assigned to the current user
+     */
+    public Set<String> getAssignedDepartmentIds() {
+        resolve();
+        return assignedDepartmentIds;
+    }
+
+    /**
+     * True if the given user is the current user of this request
+     */
+    public boolean isCurrentUser(User other) {
+        User current = getUser();
+        return current != null && other != null && current.getId().equals(other.getId());
+    }
+
+    private void resolve() {
+        if (resolved) {
+            return;
+        }
+        resolved = true;
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || !(auth.getPrincipal() instanceof UserDetailsImpl userDetails)) {
+            return;
+        }
+
+        UserSecurityCache.Snapshot snapshot = userSecurityCache.get(userDetails.getId());
+        if (snapshot != null) {
+            user = snapshot.toUser();
+            assignedDepartmentIds = snapshot.assignedDepartmentIds();
+        }
+    }
+}
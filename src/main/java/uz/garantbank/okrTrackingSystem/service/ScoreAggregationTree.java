@@ -0,0 +1,604 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.garantbank.okrTrackingSystem.dto.ScoreResult;
+import uz.garantbank.okrTrackingSystem.entity.Department;
+import uz.garantbank.okrTrackingSystem.entity.KeyResult;
+import uz.garantbank.okrTrackingSystem.entity.Objective;
+import uz.garantbank.okrTrackingSystem.repository.DepartmentRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory aggregation tree of committed OKR scores: Key Result → Objective → Department → Division.
+ *
+ * Each node keeps its current score and the weighted sum / total weight it was aggregated from.
+ * OkrService reports changes to key results, objectives and departments; they are applied after
+ * the surrounding transaction commits and only the nodes on the path up to the division are
+ * re-aggregated. Reads are map lookups.
+ *
+ * The tree is (re)built from the database on startup, after {@link #invalidate()}, and whenever
+ * the score level table changes. Lookups return null for ids the tree does not know
+ * (e.g. created in a transaction that has not committed yet) - callers then calculate directly.
+ */
+@Slf4j
+@Component
+public class ScoreAggregationTree {
+
+    private static final long NOT_BUILT = -1;
+
+    private final ScoreCalculationService scoreService;
+    private final DepartmentRepository departmentRepository;
+    private final TransactionTemplate readTransaction;
+
+    private volatile Index index = new Index();
+    // Version of the score level table the current index was built with
+    private volatile long builtVersion = NOT_BUILT;
+    // Committed OKR changes reported since startup
+    private final AtomicLong changeCount = new AtomicLong();
+
+    public ScoreAggregationTree(ScoreCalculationService scoreService,
+                                DepartmentRepository departmentRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.scoreService = scoreService;
+        this.departmentRepository = departmentRepository;
+        // Own transaction: a rebuild triggered from a read-write caller must neither load the org into the
+        // caller's persistence context nor see its uncommitted changes
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // ==================== READS ====================
+
+    public ScoreResult keyResultScore(String keyResultId) {
+        KeyResultNode node = fresh().keyResults.get(keyResultId);
+        return node != null ? node.score : null;
+    }
+
+    public ScoreResult objectiveScore(String objectiveId) {
+        ObjectiveNode node = fresh().objectives.get(objectiveId);
+        return node != null ? node.score : null;
+    }
+
+    public ScoreResult departmentScore(String departmentId) {
+        DepartmentNode node = fresh().departments.get(departmentId);
+        return node != null ? node.score : null;
+    }
+
+    public ScoreResult divisionScore(String divisionId) {
+        DivisionNode node = fresh().divisions.get(divisionId);
+        return node != null ? node.score : null;
+    }
+
+    /**
+     * Number of committed OKR changes (departments, objectives, key results) since startup.
+     * Every write path reports to the tree, so an unchanged count means unchanged OKR data.
+     */
+    public long changeCount() {
+        return changeCount.get();
+    }
+
+    // ==================== CHANGE NOTIFICATIONS ====================
+
+    /**
+     * Key result created or updated (actual value, weight, thresholds)
+     */
+    public void keyResultSaved(KeyResult kr) {
+        String id = kr.getId();
+        String objectiveId = kr.getObjective().getId();
+        Integer weight = kr.getWeight();
+        ScoreResult score = scoreService.calculateKeyResultScore(kr);
+        afterCommit(() -> applyKeyResult(id, objectiveId, weight, score));
+    }
+
+    /**
+     * Several key results updated in one transaction: each objective, department and
+     * division on the affected paths is re-aggregated once
+     */
+    public void keyResultsSaved(Collection<KeyResult> keyResults) {
+        List<KeyResultChange> changes = new ArrayList<>(keyResults.size());
+        for (KeyResult kr : keyResults) {
+            changes.add(new KeyResultChange(kr.getId(), kr.getObjective().getId(), kr.getWeight(),
+                    scoreService.calculateKeyResultScore(kr)));
+        }
+        afterCommit(() -> applyKeyResults(changes));
+    }
+
+    public void keyResultRemoved(String keyResultId) {
+        afterCommit(() -> applyKeyResultRemoved(keyResultId));
+    }
+
+    /**
+     * Objective created or updated (weight)
+     */
+    public void objectiveSaved(Objective obj) {
+        String id = obj.getId();
+        String departmentId = obj.getDepartment().getId();
+        Integer weight = obj.getWeight();
+        afterCommit(() -> applyObjective(id, departmentId, weight));
+    }
+
+    public void objectiveRemoved(String objectiveId) {
+        afterCommit(() -> applyObjectiveRemoved(objectiveId));
+    }
+
+    /**
+     * Department created or moved to another division
+     */
+    public void departmentSaved(Department department) {
+        String id = department.getId();
+        String divisionId = department.getDivision() != null ? department.getDivision().getId() : null;
+        afterCommit(() -> applyDepartment(id, divisionId));
+    }
+
+    public void departmentRemoved(String departmentId) {
+        afterCommit(() -> applyDepartmentRemoved(departmentId));
+    }
+
+    /**
+     * Drop the whole tree after commit; it is rebuilt from the database on the next read.
+     * Used for bulk changes (demo data) where path updates are not worth it.
+     */
+    public void invalidate() {
+        afterCommit(this::markNotBuilt);
+    }
+
+    // ==================== REBUILD ====================
+
+    /**
+     * Rebuild the whole tree from the database. Scores that differ from the previous tree
+     * (built with the same score levels) are logged as inconsistencies.
+     *
+     * @return number of nodes that differed from the previous tree, or -1 if there was no tree
+     *         built with the same score levels to compare with
+     */
+    public synchronized int rebuild() {
+        long version = scoreService.getScoreLevels().version();
+        Index fresh = readTransaction.execute(status -> load());
+
+        int mismatches = -1;
+        if (builtVersion == version) {
+            mismatches = countMismatches(index, fresh);
+            if (mismatches > 0) {
+                log.warn("Score aggregation tree was inconsistent with the database ({} nodes differ)", mismatches);
+            }
+        }
+
+        index = fresh;
+        builtVersion = version;
+        log.info("Score aggregation tree built: {} divisions, {} departments, {} objectives, {} key results",
+                fresh.divisions.size(), fresh.departments.size(), fresh.objectives.size(), fresh.keyResults.size());
+        return mismatches;
+    }
+
+    /**
+     * Takes the lock, so a rebuild that loaded data from before the commit finishes first and is discarded
+     */
+    private synchronized void markNotBuilt() {
+        builtVersion = NOT_BUILT;
+    }
+
+    private Index fresh() {
+        if (builtVersion != scoreService.getScoreLevels().version()) {
+            synchronized (this) {
+                if (builtVersion != scoreService.getScoreLevels().version()) {
+                    rebuild();
+                }
+            }
+        }
+        return index;
+    }
+
+    private Index load() {
+        Index idx = new Index();
+        for (Department dept : departmentRepository.findAllWithObjectives()) {
+            String divisionId = dept.getDivision() != null ? dept.getDivision().getId() : null;
+            DepartmentNode deptNode = new DepartmentNode(divisionId);
+            idx.departments.put(dept.getId(), deptNode);
+            if (divisionId != null) {
+                idx.divisions.computeIfAbsent(divisionId, id -> new DivisionNode()).departmentIds.add(dept.getId());
+            }
+
+            for (Objective obj : dept.getObjectives()) {
+                ObjectiveNode objNode = new ObjectiveNode(dept.getId(), obj.getWeight());
+                idx.objectives.put(obj.getId(), objNode);
+                deptNode.objectiveIds.add(obj.getId());
+
+                for (KeyResult kr : obj.getKeyResults()) {
+                    idx.keyResults.put(kr.getId(), new KeyResultNode(
+                            obj.getId(), kr.getWeight(), scoreService.calculateKeyResultScore(kr)));
+                    objNode.keyResultIds.add(kr.getId());
+                }
+            }
+        }
+
+        // Aggregate bottom-up
+        idx.objectives.values().forEach(node -> aggregate(idx, node));
+        idx.departments.values().forEach(node -> aggregate(idx, node));
+        idx.divisions.values().forEach(node -> aggregate(idx, node));
+        return idx;
+    }
+
+    private static int countMismatches(Index previous, Index fresh) {
+        return countMismatches(previous.keyResults, fresh.keyResults, node -> node.score)
+                + countMismatches(previous.objectives, fresh.objectives, node -> node.score)
+                + countMismatches(previous.departments, fresh.departments, node -> node.score)
+                + countMismatches(previous.divisions, fresh.divisions, node -> node.score);
+    }
+
+    /**
+     * Nodes whose score differs, plus nodes only one of the trees has (e.g. a removal that was missed)
+     */
+    private static <N> int countMismatches(Map<String, N> previous, Map<String, N> fresh,
+                                           Function<N, ScoreResult> score) {
+        int mismatches = 0;
+        for (Map.Entry<String, N> e : fresh.entrySet()) {
+            N old = previous.get(e.getKey());
+            if (old == null || !sameScore(score.apply(old), score.apply(e.getValue()))) mismatches++;
+        }
+        for (String id : previous.keySet()) {
+            if (!fresh.containsKey(id)) mismatches++;
+        }
+        return mismatches;
+    }
+
+    private static boolean sameScore(ScoreResult a, ScoreResult b) {
+        return a != null && b != null && Objects.equals(a.getScore(), b.getScore());
+    }
+
+    // ==================== PATH UPDATES (after commit) ====================
+
+    private synchronized void applyKeyResult(String id, String objectiveId, Integer weight, ScoreResult score) {
+        if (builtVersion == NOT_BUILT) return;
+        Index idx = index;
+        ObjectiveNode objNode = idx.objectives.get(objectiveId);
+        if (objNode == null) {
+            builtVersion = NOT_BUILT;
+            return;
+        }
+
+        KeyResultNode previous = idx.keyResults.put(id, new KeyResultNode(objectiveId, weight, score));
+        if (previous != null && !previous.objectiveId.equals(objectiveId)) {
+            ObjectiveNode oldParent = idx.objectives.get(previous.objectiveId);
+            if (oldParent != null) {
+                oldParent.keyResultIds.remove(id);
+                updatePath(idx, oldParent);
+            }
+        }
+        objNode.keyResultIds.add(id);
+        updatePath(idx, objNode);
+    }
+
+    private synchronized void applyKeyResults(List<KeyResultChange> changes) {
+        if (builtVersion == NOT_BUILT) return;
+        Index idx = index;
+        Set<ObjectiveNode> objectives = new LinkedHashSet<>();
+        for (KeyResultChange change : changes) {
+            ObjectiveNode objNode = idx.objectives.get(change.objectiveId());
+            if (objNode == null) {
+                builtVersion = NOT_BUILT;
+                return;
+            }
+            KeyResultNode previous = idx.keyResults.put(change.id(),
+                    new KeyResultNode(change.objectiveId(), change.weight(), change.score()));
+            if (previous != null && !previous.objectiveId.equals(change.objectiveId())) {
+                ObjectiveNode oldParent = idx.objectives.get(previous.objectiveId);
+                if (oldParent != null) {
+                    oldParent.keyResultIds.remove(change.id());
+                    objectives.add(oldParent);
+                }
+            }
+            objNode.keyResultIds.add(change.id());
+            objectives.add(objNode);
+        }
+
+        Set<DepartmentNode> departments = new LinkedHashSet<>();
+        for (ObjectiveNode objNode : objectives) {
+            aggregate(idx, objNode);
+            DepartmentNode deptNode = idx.departments.get(objNode.departmentId);
+            if (deptNode != null) {
+                departments.add(deptNode);
+            }
+        }
+        Set<DivisionNode> divisions = new LinkedHashSet<>();
+        for (DepartmentNode deptNode : departments) {
+            aggregate(idx, deptNode);
+            DivisionNode division = deptNode.divisionId != null ? idx.divisions.get(deptNode.divisionId) : null;
+            if (division != null) {
+                divisions.add(division);
+            }
+        }
+        for (DivisionNode division : divisions) {
+            aggregate(idx, division);
+        }
+    }
+
+    private synchronized void applyKeyResultRemoved(String id) {
+        if (builtVersion == NOT_BUILT) return;
+        Index idx = index;
+        KeyResultNode node = idx.keyResults.remove(id);
+        if (node == null) return;
+        ObjectiveNode objNode = idx.objectives.get(node.objectiveId);
+        if (objNode != null) {
+            objNode.keyResultIds.remove(id);
+            updatePath(idx, objNode);
+        }
+    }
+
+    private synchronized void applyObjective(String id, String departmentId, Integer weight) {
+        if (builtVersion == NOT_BUILT) return;
+        Index idx = index;
+        DepartmentNode deptNode = idx.departments.get(departmentId);
+        if (deptNode == null) {
+            builtVersion = NOT_BUILT;
+            return;
+        }
+
+        ObjectiveNode objNode = idx.objectives.get(id);
+        if (objNode == null) {
+            objNode = new ObjectiveNode(departmentId, weight);
+            idx.objectives.put(id, objNode);
+            aggregate(idx, objNode);
+        } else {
+            objNode.weight = weight;
+        }
+        deptNode.objectiveIds.add(id);
+        updatePath(idx, deptNode);
+    }
+
+    private synchronized void applyObjectiveRemoved(String id) {
+        if (builtVersion == NOT_BUILT) return;
+        Index idx = index;
+        ObjectiveNode objNode = idx.objectives.remove(id);
+        if (objNode == null) return;
+        objNode.keyResultIds.forEach(idx.keyResults::remove);
+        DepartmentNode deptNode = idx.departments.get(objNode.departmentId);
+        if (deptNode != null) {
+            deptNode.objectiveIds.remove(id);
+            updatePath(idx, deptNode);
+        }
+    }
+
+    private synchronized void applyDepartment(String id, String divisionId) {
+        if (builtVersion == NOT_BUILT) return;
+        Index idx = index;
+        DepartmentNode deptNode = idx.departments.get(id);
+        if (deptNode == null) {
+            deptNode = new DepartmentNode(divisionId);
+            idx.departments.put(id, deptNode);
+            aggregate(idx, deptNode);
+        } else if (!Objects.equals(deptNode.divisionId, divisionId)) {
+            removeFromDivision(idx, deptNode.divisionId, id);
+            deptNode.divisionId = divisionId;
+        }
+
+        if (divisionId != null) {
+            DivisionNode division = idx.divisions.computeIfAbsent(divisionId, key -> new DivisionNode());
+            division.departmentIds.add(id);
+            aggregate(idx, division);
+        }
+    }
+
+    private synchronized void applyDepartmentRemoved(String id) {
+        if (builtVersion == NOT_BUILT) return;
+        Index idx = index;
+        DepartmentNode deptNode = idx.departments.remove(id);
+        if (deptNode == null) return;
+        for (String objectiveId : deptNode.objectiveIds) {
+            ObjectiveNode objNode = idx.objectives.remove(objectiveId);
+            if (objNode != null) {
+                objNode.keyResultIds.forEach(idx.keyResults::remove);
+            }
+        }
+        removeFromDivision(idx, deptNode.divisionId, id);
+    }
+
+    /**
+     * Like a rebuild, only divisions with departments have a node
+     */
+    private void removeFromDivision(Index idx, String divisionId, String departmentId) {
+        DivisionNode division = divisionId != null ? idx.divisions.get(divisionId) : null;
+        if (division == null) return;
+        division.departmentIds.remove(departmentId);
+        if (division.departmentIds.isEmpty()) {
+            idx.divisions.remove(divisionId);
+        } else {
+            aggregate(idx, division);
+        }
+    }
+
+    private void updatePath(Index idx, ObjectiveNode objNode) {
+        aggregate(idx, objNode);
+        DepartmentNode deptNode = idx.departments.get(objNode.departmentId);
+        if (deptNode != null) {
+            updatePath(idx, deptNode);
+        }
+    }
+
+    private void updatePath(Index idx, DepartmentNode deptNode) {
+        aggregate(idx, deptNode);
+        DivisionNode division = deptNode.divisionId != null ? idx.divisions.get(deptNode.divisionId) : null;
+        if (division != null) {
+            aggregate(idx, division);
+        }
+    }
+
+    // ==================== AGGREGATION ====================
+    // Same formulas as ScoreCalculationService.calculateObjectiveScore / calculateDepartmentScore /
+    // calculateDivisionScore, applied to the children's current scores.
+
+    private void aggregate(Index idx, ObjectiveNode node) {
+        double weightedSum = 0;
+        double totalWeight = 0;
+        double simpleSum = 0;
+        int count = 0;
+        for (String krId : node.keyResultIds) {
+            KeyResultNode kr = idx.keyResults.get(krId);
+            if (kr == null) continue;
+            double weight = kr.weight != null ? kr.weight : 0;
+            weightedSum += kr.score.getScore() * weight;
+            totalWeight += weight;
+            simpleSum += kr.score.getScore();
+            count++;
+        }
+
+        node.weightedSum = weightedSum;
+        node.totalWeight = totalWeight;
+        if (count == 0) {
+            node.score = scoreService.emptyScore();
+        } else {
+            // Fallback to simple average if no weights defined
+            double avgScore = totalWeight > 0 ? weightedSum / totalWeight : simpleSum / count;
+            node.score = scoreService.createScoreResult(avgScore);
+        }
+    }
+
+    private void aggregate(Index idx, DepartmentNode node) {
+        long objectivesWithKRs = node.objectiveIds.stream()
+                .map(idx.objectives::get)
+                .filter(obj -> obj != null && !obj.keyResultIds.isEmpty())
+                .count();
+
+        double weightedSum = 0;
+        double totalWeight = 0;
+        if (objectivesWithKRs > 0) {
+            for (String objectiveId : node.objectiveIds) {
+                ObjectiveNode obj = idx.objectives.get(objectiveId);
+                if (obj == null || obj.keyResultIds.isEmpty()) continue;
+                double weight = obj.weight != null ? obj.weight : 100.0 / objectivesWithKRs;
+                weightedSum += obj.score.getScore() * weight;
+                totalWeight += weight;
+            }
+        }
+
+        node.weightedSum = weightedSum;
+        node.totalWeight = totalWeight;
+        node.score = objectivesWithKRs == 0
+                ? scoreService.emptyScore()
+                : scoreService.createScoreResult(totalWeight > 0 ? weightedSum / totalWeight : 0);
+    }
+
+    private void aggregate(Index idx, DivisionNode node) {
+        long departmentsWithObjectives = node.departmentIds.stream()
+                .map(idx.departments::get)
+                .filter(dept -> dept != null && !dept.objectiveIds.isEmpty())
+                .count();
+
+        double weightedSum = 0;
+        double totalWeight = 0;
+        if (departmentsWithObjectives > 0) {
+            // Equal weight for all departments with objectives
+            double weight = 100.0 / departmentsWithObjectives;
+            for (String departmentId : node.departmentIds) {
+                DepartmentNode dept = idx.departments.get(departmentId);
+                if (dept == null || dept.objectiveIds.isEmpty()) continue;
+                weightedSum += dept.score.getScore() * weight;
+                totalWeight += weight;
+            }
+        }
+
+        node.weightedSum = weightedSum;
+        node.totalWeight = totalWeight;
+        node.score = departmentsWithObjectives == 0
+                ? scoreService.emptyScore()
+                : scoreService.createScoreResult(totalWeight > 0 ? weightedSum / totalWeight : 0);
+    }
+
+    private void afterCommit(Runnable action) {
+        Runnable counted = () -> {
+            action.run();
+            changeCount.incrementAndGet();
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counted.run();
+                }
+            });
+        } else {
+            counted.run();
+        }
+    }
+
+    // ==================== NODES ====================
+    // Structure is only modified while holding the tree's lock; scores are published through volatile fields.
+
+    private record KeyResultChange(String id, String objectiveId, Integer weight, ScoreResult score) {
+    }
+
+    private static final class Index {
+        final Map<String, KeyResultNode> keyResults = new ConcurrentHashMap<>();
+        final Map<String, ObjectiveNode> objectives = new ConcurrentHashMap<>();
+        final Map<String, DepartmentNode> departments = new ConcurrentHashMap<>();
+        final Map<String, DivisionNode> divisions = new ConcurrentHashMap<>();
+    }
+
+    private static final class KeyResultNode {
+        final String objectiveId;
+        final Integer weight;
+        final ScoreResult score;
+
+        KeyResultNode(String objectiveId, Integer weight, ScoreResult score) {
+            this.objectiveId = objectiveId;
+            this.weight = weight;
+            this.score = score;
+        }
+    }
+
+    private static final class ObjectiveNode {
+        final String departmentId;
+        final Set<String> keyResultIds = new LinkedHashSet<>();
+        Integer weight;
+        double weightedSum;
+        double totalWeight;
+        volatile ScoreResult score;
+
+        ObjectiveNode(String departmentId, Integer weight) {
+            this.departmentId = departmentId;
+            this.weight = weight;
+        }
+    }
+
+    private static final class DepartmentNode {
+        final Set<String> objectiveIds = new LinkedHashSet<>();
+        String divisionId;
+        double weightedSum;
+        double totalWeight;
+        volatile ScoreResult score;
+
+        DepartmentNode(String divisionId) {
+            this.divisionId = divisionId;
+        }
+    }
+
+    private static final class DivisionNode {
+        final Set<String> departmentIds = new LinkedHashSet<>();
+        double weightedSum;
+        double totalWeight;
+        volatile ScoreResult score;
+    }
+}
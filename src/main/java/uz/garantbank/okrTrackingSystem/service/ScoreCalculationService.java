@@ -3,371 +3,86 @@ package uz.garantbank.okrTrackingSystem.service;
 import uz.garantbank.okrTrackingSystem.dto.*;
 import uz.garantbank.okrTrackingSystem.entity.*;
 import uz.garantbank.okrTrackingSystem.repository.EvaluationRepository;
-import uz.garantbank.okrTrackingSystem.repository.ScoreLevelRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import static java.lang.Double.parseDouble;
-
 @Slf4j
 @Service
 public class ScoreCalculationService {
 
-    private final ScoreLevelRepository scoreLevelRepository;
+    private final ScoreLevelRegistry scoreLevelRegistry;
     private final EvaluationRepository evaluationRepository;
 
-    // Thread-local cache to avoid N+1 queries within a single request
-    private final ThreadLocal<List<ScoreLevel>> scoreLevelCache = new ThreadLocal<>();
-
-    public ScoreCalculationService(ScoreLevelRepository scoreLevelRepository, EvaluationRepository evaluationRepository) {
-        this.scoreLevelRepository = scoreLevelRepository;
+    public ScoreCalculationService(ScoreLevelRegistry scoreLevelRegistry, EvaluationRepository evaluationRepository) {
+        this.scoreLevelRegistry = scoreLevelRegistry;
         this.evaluationRepository = evaluationRepository;
     }
 
     /**
-     * Get score levels with caching to avoid N+1 queries
+     * Get the current compiled score level table (shared, immutable - no DB access)
      */
-    private List<ScoreLevel> getScoreLevels() {
-        List<ScoreLevel> cached = scoreLevelCache.get();
-        if (cached == null) {
-            cached = scoreLevelRepository.findAllByOrderByDisplayOrderAsc();
-            scoreLevelCache.set(cached);
-        }
-        return cached;
+    public ScoreLevelTable getScoreLevels() {
+        return scoreLevelRegistry.current();
     }
 
-    /**
-     * Clear the thread-local cache (should be called after processing a request)
-     */
-    public void clearCache() {
-        scoreLevelCache.remove();
-    }
-
-    // Default fallback level definitions (used if DB is empty) - 0.0-1.0 normalized scale
-    private static final Map<String, LevelInfo> DEFAULT_LEVELS = Map.of(
-            "не_соответствует", new LevelInfo(0.0, 0.30, "#d9534f"),
-            "ниже_ожиданий", new LevelInfo(0.31, 0.50, "#f0ad4e"),
-            "на_уровне_ожиданий", new LevelInfo(0.51, 0.85, "#5cb85c"),
-            "превышает_ожидания", new LevelInfo(0.86, 0.97, "#28a745"),
-            "исключительно", new LevelInfo(0.98, 1.00, "#1e7b34")
-    );
-
-    // Qualitative grades mapping - 0.0-1.0 normalized scale
-    private static final Map<String, QualitativeGrade> QUALITATIVE_GRADES = Map.of(
-            "A", new QualitativeGrade(0.98, "исключительно"),
-            "B", new QualitativeGrade(0.86, "превышает_ожидания"),
-            "C", new QualitativeGrade(0.51, "на_уровне_ожиданий"),
-            "D", new QualitativeGrade(0.31, "ниже_ожиданий"),
-            "E", new QualitativeGrade(0.0, "не_соответствует")
-    );
-
-
     // calculate the score for a KR
 
     public ScoreResult calculateKeyResultScore(KeyResult kr) {
-        if (kr.getMetricType() == KeyResult.MetricType.QUALITATIVE) {
-            return calculateQualitativeScore(kr.getActualValue());
-        }
-
-        String actualValueStr = kr.getActualValue();
-        if (actualValueStr == null || actualValueStr.trim().isEmpty()) {
-            actualValueStr = "0";
-        }
-
-        double actualValue;
-        try {
-            actualValue = parseDouble(actualValueStr);
-        } catch (NumberFormatException e) {
-            log.warn("Invalid actual value '{}' for KR '{}', defaulting to 0", actualValueStr, kr.getName());
-            actualValue = 0;
-        }
-
-        // Log calculation inputs for debugging
-        log.debug("Calculating score for KR '{}': actual={}, type={}, thresholds=[below={}, meets={}, good={}, veryGood={}, exceptional={}]",
-                kr.getName(), actualValue, kr.getMetricType(),
-                kr.getThresholdBelow(), kr.getThresholdMeets(), kr.getThresholdGood(),
-                kr.getThresholdVeryGood(), kr.getThresholdExceptional());
-
-        ScoreResult result = calculateQuantitativeScore(
-                actualValue,
-                kr.getMetricType(),
-                kr.getThresholdBelow(),
-                kr.getThresholdMeets(),
-                kr.getThresholdGood(),
-                kr.getThresholdVeryGood(),
-                kr.getThresholdExceptional()
-        );
-
-        log.debug("KR '{}' score result: score={}, level={}", kr.getName(), result.getScore(), result.getLevel());
-
-        return result;
+        return calculateKeyResultScore(kr, getScoreLevels());
     }
 
-    private ScoreResult calculateQualitativeScore(String grade) {
-        String normalizedGrade = grade != null ? grade.toUpperCase().trim() : "E";
-
-        // Get dynamic score levels
-        List<ScoreLevel> scoreLevels = getScoreLevels();
-
-        if (scoreLevels.isEmpty()) {
-            // Fallback to hardcoded values if no levels configured
-            QualitativeGrade gradeInfo = QUALITATIVE_GRADES.getOrDefault(normalizedGrade,
-                    QUALITATIVE_GRADES.get("E"));
-            return ScoreResult.builder()
-                    .score(gradeInfo.score())
-                    .level(gradeInfo.level())
-                    .color(getColorForLevel(gradeInfo.level()))
-                    .percentage(scoreToPercentage(gradeInfo.score()))
-                    .build();
-        }
-
-        // Sort levels by scoreValue to get proper ordering
-        List<ScoreLevel> sortedLevels = scoreLevels.stream()
-                .sorted(Comparator.comparingDouble(ScoreLevel::getScoreValue))
-                .toList();
-
-        // Map grades A-E to score levels dynamically
-        // A = highest (exceptional), E = lowest (below)
-        int numLevels = sortedLevels.size();
-        int levelIndex;
-        switch (normalizedGrade) {
-            case "A" -> levelIndex = numLevels - 1;  // Highest level
-            case "B" -> levelIndex = Math.min(numLevels - 2, numLevels - 1);
-            case "C" -> levelIndex = numLevels / 2;  // Middle level
-            case "D" -> levelIndex = Math.max(1, 0);
-            case "E" -> levelIndex = 0;  // Lowest level
-            default -> levelIndex = 0;
-        }
-
-        // Ensure index is within bounds
-        levelIndex = Math.max(0, Math.min(levelIndex, numLevels - 1));
-
-        ScoreLevel selectedLevel = sortedLevels.get(levelIndex);
-        double score = selectedLevel.getScoreValue();
-        String level = selectedLevel.getName().toLowerCase().replace(" ", "_");
-
-        return ScoreResult.builder()
-                .score(score)
-                .level(level)
-                .color(selectedLevel.getColor())
-                .percentage(scoreToPercentage(score))
-                .build();
+    /**
+     * Key result score against the given levels (e.g. levels not published yet)
+     */
+    public ScoreResult calculateKeyResultScore(KeyResult kr, ScoreLevelTable levels) {
+        return ScoreKernel.toScoreResult(
+                keyResultScore(kr, new double[ScoreKernel.THRESHOLD_COUNT], levels), levels);
     }
 
-
-    //!!!
-    private ScoreResult calculateQuantitativeScore(
-            double actual, KeyResult.MetricType type,
-            Double below, Double meets, Double good, Double veryGood, Double exceptional) {
-
-        // Handle null threshold values with sensible defaults
-        // For LOWER_BETTER: thresholds should be in descending order (below > meets > good > veryGood > exceptional)
-        // For HIGHER_BETTER: thresholds should be in ascending order (below < meets < good < veryGood < exceptional)
-        if (below == null) below = (type == KeyResult.MetricType.LOWER_BETTER) ? 100.0 : 0.0;
-        if (meets == null) meets = (type == KeyResult.MetricType.LOWER_BETTER) ? 75.0 : 25.0;
-        if (good == null) good = 50.0;
-        if (veryGood == null) veryGood = (type == KeyResult.MetricType.LOWER_BETTER) ? 25.0 : 75.0;
-        if (exceptional == null) exceptional = (type == KeyResult.MetricType.LOWER_BETTER) ? 0.0 : 100.0;
-
-        // Get dynamic score levels from database (cached)
-        List<ScoreLevel> scoreLevels = getScoreLevels();
-
-        // If no custom levels, use default threshold-to-score mapping
-        if (scoreLevels.isEmpty()) {
-            return calculateWithDefaultLevels(actual, type, below, meets, good, veryGood, exceptional);
+    /**
+     * Packed key result score (see ScoreKernel). The thresholds array is scratch space
+     * reused across calls, so aggregating a whole org allocates no per-KR garbage.
+     */
+    private long keyResultScore(KeyResult kr, double[] thresholds, ScoreLevelTable levels) {
+        if (kr.getMetricType() == KeyResult.MetricType.QUALITATIVE) {
+            return ScoreKernel.qualitative(kr.getActualGrade(), levels);
         }
 
-        // Create threshold-to-score-level mapping
-        // Map the 5 backend thresholds to dynamic score levels
-        // scoreLevels are sorted by scoreValue ascending: [lowest, ..., highest]
-        int numLevels = scoreLevels.size();
-
-        // Build a list of threshold-score pairs, sorted by threshold value
-        // For missing thresholds (null), we'll skip them
-        List<ThresholdScore> thresholdScores = new ArrayList<>();
-
-        if (below != null) thresholdScores.add(new ThresholdScore(below, 0));
-        if (meets != null) thresholdScores.add(new ThresholdScore(meets, Math.min(1, numLevels - 1)));
-        if (good != null) thresholdScores.add(new ThresholdScore(good, Math.min(2, numLevels - 1)));
-        if (veryGood != null) thresholdScores.add(new ThresholdScore(veryGood, Math.min(3, numLevels - 1)));
-        if (exceptional != null) thresholdScores.add(new ThresholdScore(exceptional, numLevels - 1));
-
-        // Sort thresholds based on metric type
-        if (type == KeyResult.MetricType.HIGHER_BETTER) {
-            thresholdScores.sort(Comparator.comparingDouble(ts -> ts.threshold));
-        } else {
-            thresholdScores.sort((ts1, ts2) -> Double.compare(ts2.threshold, ts1.threshold));
-        }
+        // Parsed once on write; no value (or an invalid legacy value) scores as 0
+        double actualValue = kr.getActualNumeric() != null ? kr.getActualNumeric() : 0;
 
-        // Find which range the actual value falls into
-        double score = scoreLevels.get(0).getScoreValue();
-        String level = scoreLevels.get(0).getName().toLowerCase().replace(" ", "_");
-
-        if (type == KeyResult.MetricType.HIGHER_BETTER) {
-            // For HIGHER_BETTER, check from highest to lowest threshold
-            boolean found = false;
-            for (int i = thresholdScores.size() - 1; i >= 0; i--) {
-                ThresholdScore ts = thresholdScores.get(i);
-                if (actual >= ts.threshold) {
-                    int scoreIdx = ts.scoreLevelIndex;
-
-                    // If at the highest level, assign that score directly
-                    if (i == thresholdScores.size() - 1) {
-                        score = scoreLevels.get(scoreIdx).getScoreValue();
-                        level = scoreLevels.get(scoreIdx).getName().toLowerCase().replace(" ", "_");
-                    } else {
-                        // Interpolate between current and next threshold
-                        ThresholdScore nextTs = thresholdScores.get(i + 1);
-                        double ratio = (actual - ts.threshold) / Math.max(nextTs.threshold - ts.threshold, 0.001);
-                        double startScore = scoreLevels.get(scoreIdx).getScoreValue();
-                        double endScore = scoreLevels.get(nextTs.scoreLevelIndex).getScoreValue();
-                        score = startScore + ratio * (endScore - startScore);
-                        level = scoreLevels.get(scoreIdx).getName().toLowerCase().replace(" ", "_");
-                    }
-                    found = true;
-                    break;
-                }
-            }
+        boolean lowerBetter = kr.getMetricType() == KeyResult.MetricType.LOWER_BETTER;
+        fillThresholds(kr, lowerBetter, thresholds);
 
-            if (!found) {
-                // Below all thresholds
-                score = scoreLevels.get(0).getScoreValue();
-                level = scoreLevels.get(0).getName().toLowerCase().replace(" ", "_");
-            }
-        } else {
-            // For LOWER_BETTER, check from lowest to highest threshold (reversed)
-            boolean found = false;
-            for (int i = thresholdScores.size() - 1; i >= 0; i--) {
-                ThresholdScore ts = thresholdScores.get(i);
-                if (actual <= ts.threshold) {
-                    int scoreIdx = ts.scoreLevelIndex;
-
-                    // If at the best (lowest) level, assign that score directly
-                    if (i == thresholdScores.size() - 1) {
-                        score = scoreLevels.get(scoreIdx).getScoreValue();
-                        level = scoreLevels.get(scoreIdx).getName().toLowerCase().replace(" ", "_");
-                    } else {
-                        // Interpolate between current and next threshold
-                        ThresholdScore nextTs = thresholdScores.get(i + 1);
-                        double ratio = 1 - (actual - nextTs.threshold) / Math.max(ts.threshold - nextTs.threshold, 0.001);
-                        double startScore = scoreLevels.get(scoreIdx).getScoreValue();
-                        double endScore = scoreLevels.get(nextTs.scoreLevelIndex).getScoreValue();
-                        score = startScore + ratio * (endScore - startScore);
-                        level = scoreLevels.get(scoreIdx).getName().toLowerCase().replace(" ", "_");
-                    }
-                    found = true;
-                    break;
-                }
-            }
+        long packed = ScoreKernel.quantitative(actualValue, lowerBetter, thresholds, levels);
 
-            if (!found) {
-                // Above all thresholds (worst for LOWER_BETTER)
-                score = scoreLevels.get(0).getScoreValue();
-                level = scoreLevels.get(0).getName().toLowerCase().replace(" ", "_");
-            }
+        // Guarded: the varargs array and boxing would otherwise be paid on every call
+        if (log.isDebugEnabled()) {
+            log.debug("KR '{}' score: actual={}, type={}, thresholds={}, score={}, level={}",
+                    kr.getName(), actualValue, kr.getMetricType(), Arrays.toString(thresholds),
+                    ScoreKernel.score(packed, levels), levels.key(ScoreKernel.levelIndex(packed)));
         }
-
-        // Find actual min/max from score levels (don't assume sort order)
-        double minScore = scoreLevels.stream().mapToDouble(ScoreLevel::getScoreValue).min().orElse(0.0);
-        double maxScore = scoreLevels.stream().mapToDouble(ScoreLevel::getScoreValue).max().orElse(1.0);
-        score = Math.min(Math.max(score, minScore), maxScore);
-        score = Math.round(score * 100.0) / 100.0;
-
-        return ScoreResult.builder()
-                .score(score)
-                .level(level)
-                .color(getColorForLevel(level))
-                .percentage(scoreToPercentage(score))
-                .build();
+        return packed;
     }
 
-    // Helper class for threshold-score mapping
-    private static class ThresholdScore {
-        double threshold;
-        int scoreLevelIndex;
-
-        ThresholdScore(double threshold, int scoreLevelIndex) {
-            this.threshold = threshold;
-            this.scoreLevelIndex = scoreLevelIndex;
-        }
+    /**
+     * Copy the KR thresholds into the scratch array, replacing nulls with sensible defaults.
+     * For LOWER_BETTER: thresholds should be in descending order (below > meets > good > veryGood > exceptional)
+     * For HIGHER_BETTER: thresholds should be in ascending order (below < meets < good < veryGood < exceptional)
+     */
+    private static void fillThresholds(KeyResult kr, boolean lowerBetter, double[] t) {
+        t[ScoreKernel.BELOW] = valueOr(kr.getThresholdBelow(), lowerBetter ? 100.0 : 0.0);
+        t[ScoreKernel.MEETS] = valueOr(kr.getThresholdMeets(), lowerBetter ? 75.0 : 25.0);
+        t[ScoreKernel.GOOD] = valueOr(kr.getThresholdGood(), 50.0);
+        t[ScoreKernel.VERY_GOOD] = valueOr(kr.getThresholdVeryGood(), lowerBetter ? 25.0 : 75.0);
+        t[ScoreKernel.EXCEPTIONAL] = valueOr(kr.getThresholdExceptional(), lowerBetter ? 0.0 : 100.0);
     }
 
-    private ScoreResult calculateWithDefaultLevels(
-            double actual, KeyResult.MetricType type,
-            Double below, Double meets, Double good, Double veryGood, Double exceptional) {
-
-        // Default score values for 5 levels (0.0 to 1.0 normalized scale)
-        double scoreBelow = 0.0;
-        double scoreMeets = 0.31;
-        double scoreGood = 0.51;
-        double scoreVeryGood = 0.86;
-        double scoreExceptional = 0.98;
-
-        double score;
-        String level;
-
-        if (type == KeyResult.MetricType.HIGHER_BETTER) {
-            if (actual >= exceptional) {
-                score = scoreExceptional;
-                level = "исключительно";
-            } else if (actual >= veryGood) {
-                double ratio = (actual - veryGood) / Math.max(exceptional - veryGood, 1);
-                score = scoreVeryGood + ratio * (scoreExceptional - scoreVeryGood);
-                level = "превышает_ожидания";
-            } else if (actual >= good) {
-                double ratio = (actual - good) / Math.max(veryGood - good, 1);
-                score = scoreGood + ratio * (scoreVeryGood - scoreGood);
-                level = "на_уровне_ожиданий";
-            } else if (actual >= meets) {
-                double ratio = (actual - meets) / Math.max(good - meets, 1);
-                score = scoreMeets + ratio * (scoreGood - scoreMeets);
-                level = "ниже_ожиданий";
-            } else if (actual >= below) {
-                double ratio = (actual - below) / Math.max(meets - below, 1);
-                score = scoreBelow + ratio * (scoreMeets - scoreBelow);
-                level = "не_соответствует";
-            } else {
-                score = scoreBelow;
-                level = "не_соответствует";
-            }
-        } else {
-            if (actual <= exceptional) {
-                score = scoreExceptional;
-                level = "исключительно";
-            } else if (actual <= veryGood) {
-                double ratio = 1 - (actual - exceptional) / Math.max(veryGood - exceptional, 1);
-                score = scoreVeryGood + ratio * (scoreExceptional - scoreVeryGood);
-                level = "превышает_ожидания";
-            } else if (actual <= good) {
-                double ratio = 1 - (actual - veryGood) / Math.max(good - veryGood, 1);
-                score = scoreGood + ratio * (scoreVeryGood - scoreGood);
-                level = "на_уровне_ожиданий";
-            } else if (actual <= meets) {
-                double ratio = 1 - (actual - good) / Math.max(meets - good, 1);
-                score = scoreMeets + ratio * (scoreGood - scoreMeets);
-                level = "ниже_ожиданий";
-            } else if (actual <= below) {
-                double ratio = 1 - (actual - meets) / Math.max(below - meets, 1);
-                score = scoreBelow + ratio * (scoreMeets - scoreBelow);
-                level = "не_соответствует";
-            } else {
-                score = scoreBelow;
-                level = "не_соответствует";
-            }
-        }
-
-        score = Math.min(Math.max(score, scoreBelow), scoreExceptional);
-        score = Math.round(score * 100.0) / 100.0;
-
-        return ScoreResult.builder()
-                .score(score)
-                .level(level)
-                .color(getColorForLevel(level))
-                .percentage(scoreToPercentage(score))
-                .build();
+    private static double valueOr(Double value, double fallback) {
+        return value != null ? value : fallback;
     }
 
     /**
@@ -376,73 +91,88 @@ public class ScoreCalculationService {
      * Example: KR1(4.5 × 60%) + KR2(4.7 × 30%) + KR3(4.8 × 10%) = 4.59
      */
     public ScoreResult calculateObjectiveScore(Collection<KeyResult> keyResults) {
+        return calculateObjectiveScore(keyResults, getScoreLevels());
+    }
+
+    public ScoreResult calculateObjectiveScore(Collection<KeyResult> keyResults, ScoreLevelTable levels) {
         if (keyResults == null || keyResults.isEmpty()) {
-            return emptyScore();
+            return emptyScore(levels);
         }
+        double avgScore = objectiveAverage(keyResults, new double[ScoreKernel.THRESHOLD_COUNT], levels);
+        return createScoreResult(avgScore, levels);
+    }
 
+    private double objectiveAverage(Collection<KeyResult> keyResults, double[] thresholds, ScoreLevelTable levels) {
         double weightedSum = 0;
         double totalWeight = 0;
+        double total = 0;
 
         for (KeyResult kr : keyResults) {
-            ScoreResult krScore = calculateKeyResultScore(kr);
+            double krScore = ScoreKernel.score(keyResultScore(kr, thresholds, levels), levels);
             double weight = kr.getWeight() != null ? kr.getWeight() : 0;
-            weightedSum += krScore.getScore() * weight;
+            weightedSum += krScore * weight;
             totalWeight += weight;
+            total += krScore;
         }
 
-        double avgScore;
-        if (totalWeight > 0) {
-            // Weighted average: sum(score × weight) / sum(weights)
-            avgScore = weightedSum / totalWeight;
-        } else {
-            // Fallback to simple average if no weights defined
-            double total = 0;
-            for (KeyResult kr : keyResults) {
-                total += calculateKeyResultScore(kr).getScore();
-            }
-            avgScore = total / keyResults.size();
-        }
-
-        return createScoreResult(avgScore);
+        // Weighted average: sum(score × weight) / sum(weights),
+        // falling back to a simple average if no weights are defined
+        return totalWeight > 0 ? weightedSum / totalWeight : total / keyResults.size();
     }
 
     // CalculateDivisionScore
 
     public ScoreResult calculateDivisionScore(Collection<Department> departments) {
+        return calculateDivisionScore(departments, getScoreLevels());
+    }
+
+    public ScoreResult calculateDivisionScore(Collection<Department> departments, ScoreLevelTable levels) {
         if (departments == null || departments.isEmpty()) {
-            return emptyScore();
+            return emptyScore(levels);
         }
-        double weightedSum = 0;
-        double totalWeight = 0;
+        double[] thresholds = new double[ScoreKernel.THRESHOLD_COUNT];
 
         // Count departments with objectives for default weight calculation
-        long departmentsWithObjectives = departments.stream()
-                .filter(dept -> dept.getObjectives() != null && !dept.getObjectives().isEmpty())
-                .count();
+        int departmentsWithObjectives = 0;
+        for (Department dept : departments) {
+            if (dept.getObjectives() != null && !dept.getObjectives().isEmpty()) {
+                departmentsWithObjectives++;
+            }
+        }
 
         if (departmentsWithObjectives == 0) {
-            return emptyScore();
+            return emptyScore(levels);
         }
 
+        double scoreSum = 0;
         for (Department dept : departments) {
-            // skit departments with no objectives
+            // skip departments with no objectives
             if (dept.getObjectives() == null || dept.getObjectives().isEmpty()) {
                 continue;
             }
 
-            // Equal weight for all departments (can be customized if needed)
-            double weight = 100.0 / departmentsWithObjectives;
-
-            // Calculate department score
-            ScoreResult deptScore = calculateDepartmentScore(dept.getObjectives());
-            weightedSum += deptScore.getScore() * weight;
-            totalWeight += weight;
-
+            // Department score as it appears in the department's ScoreResult
+            double deptAverage = departmentAverage(dept.getObjectives(), thresholds, levels);
+            scoreSum += Double.isNaN(deptAverage)
+                    ? levels.score(0)
+                    : ScoreKernel.aggregateScore(deptAverage, levels);
         }
-        double avgScore = totalWeight > 0 ? weightedSum / totalWeight : 0;
-        return createScoreResult(avgScore);
+        return divisionScore(scoreSum, departmentsWithObjectives, levels);
+    }
 
+    /**
+     * Division score from already calculated department scores: equal weight for every
+     * department with objectives (departments without objectives are not counted)
+     */
+    public ScoreResult calculateDivisionScore(double departmentScoreSum, int departmentsWithObjectives) {
+        return divisionScore(departmentScoreSum, departmentsWithObjectives, getScoreLevels());
+    }
 
+    private ScoreResult divisionScore(double departmentScoreSum, int departmentsWithObjectives, ScoreLevelTable levels) {
+        if (departmentsWithObjectives == 0) {
+            return emptyScore(levels);
+        }
+        return createScoreResult(departmentScoreSum / departmentsWithObjectives, levels);
     }
 
     /**
@@ -455,7 +185,6 @@ public class ScoreCalculationService {
 
         // 1. Calculate automatic OKR score (aggregate of departments)
         ScoreResult autoScoreResult = calculateDivisionScore(departments);
-        Double autoScore = autoScoreResult.getScore();
 
         // 2. Get evaluations for this division (if you want division-level evaluations)
         Map<EvaluatorType, Evaluation> evals;
@@ -466,6 +195,17 @@ public class ScoreCalculationService {
             log.warn("Invalid division ID format for evaluation lookup: {}", divisionId);
             evals = Map.of();
         }
+        return calculateDivisionScoreWithEvaluations(autoScoreResult, evals);
+    }
+
+    /**
+     * Combine an automatic division OKR score with preloaded evaluations
+     * (see {@link #loadSubmittedEvaluations(String, Collection)})
+     */
+    public DivisionScoreResult calculateDivisionScoreWithEvaluations(
+            ScoreResult autoScoreResult,
+            Map<EvaluatorType, Evaluation> evals) {
+        Double autoScore = autoScoreResult.getScore();
 
         // 3. Extract evaluations (similar to department logic)
         Evaluation directorEval = evals.get(EvaluatorType.DIRECTOR);
@@ -500,22 +240,35 @@ public class ScoreCalculationService {
      * Calculate weighted score for a Department
      */
     public ScoreResult calculateDepartmentScore(Collection<Objective> objectives) {
+        return calculateDepartmentScore(objectives, getScoreLevels());
+    }
+
+    public ScoreResult calculateDepartmentScore(Collection<Objective> objectives, ScoreLevelTable levels) {
         if (objectives == null || objectives.isEmpty()) {
-            return emptyScore();
+            return emptyScore(levels);
         }
+        double avgScore = departmentAverage(objectives, new double[ScoreKernel.THRESHOLD_COUNT], levels);
+        return Double.isNaN(avgScore) ? emptyScore(levels) : createScoreResult(avgScore, levels);
+    }
 
-        double weightedSum = 0;
-        double totalWeight = 0;
-
+    /**
+     * Weighted average of objective scores, or NaN if no objective has key results
+     */
+    private double departmentAverage(Collection<Objective> objectives, double[] thresholds, ScoreLevelTable levels) {
         // Count objectives with key results for default weight calculation
-        long objectivesWithKRs = objectives.stream()
-                .filter(obj -> obj.getKeyResults() != null && !obj.getKeyResults().isEmpty())
-                .count();
+        int objectivesWithKRs = 0;
+        for (Objective obj : objectives) {
+            if (obj.getKeyResults() != null && !obj.getKeyResults().isEmpty()) {
+                objectivesWithKRs++;
+            }
+        }
 
         if (objectivesWithKRs == 0) {
-            return emptyScore();
+            return Double.NaN;
         }
 
+        double weightedSum = 0;
+        double totalWeight = 0;
         for (Objective obj : objectives) {
             // Skip objectives with no key results
             if (obj.getKeyResults() == null || obj.getKeyResults().isEmpty()) {
@@ -523,125 +276,64 @@ public class ScoreCalculationService {
             }
 
             double weight = obj.getWeight() != null ? obj.getWeight() : 100.0 / objectivesWithKRs;
-            ScoreResult objScore = calculateObjectiveScore(obj.getKeyResults());
-            weightedSum += objScore.getScore() * weight;
+            // Objective score as it appears in the objective's ScoreResult
+            double objScore = ScoreKernel.aggregateScore(objectiveAverage(obj.getKeyResults(), thresholds, levels), levels);
+            weightedSum += objScore * weight;
             totalWeight += weight;
         }
 
-        double avgScore = totalWeight > 0 ? weightedSum / totalWeight : 0;
-        return createScoreResult(avgScore);
+        return totalWeight > 0 ? weightedSum / totalWeight : 0;
+    }
+
+    /**
+     * Build a ScoreResult for an aggregated score (clamped, classified and colored)
+     */
+    public ScoreResult createScoreResult(double score) {
+        return createScoreResult(score, getScoreLevels());
     }
 
-    private ScoreResult createScoreResult(double score) {
+    private ScoreResult createScoreResult(double score, ScoreLevelTable levels) {
         // Clamp score to min/max range from score levels
-        List<ScoreLevel> levels = getScoreLevels();
-        if (!levels.isEmpty()) {
-            double minScore = levels.stream().mapToDouble(ScoreLevel::getScoreValue).min().orElse(0.0);
-            double maxScore = levels.stream().mapToDouble(ScoreLevel::getScoreValue).max().orElse(1.0);
-            score = Math.min(Math.max(score, minScore), maxScore);
-        }
+        score = levels.clamp(score);
 
-        String level = getLevelForScore(score);
+        String level = levels.levelForScore(score);
         return ScoreResult.builder()
                 .score(Math.round(score * 100.0) / 100.0)
                 .level(level)
-                .color(getColorForLevel(level))
-                .percentage(scoreToPercentage(score))
+                .color(levels.colorForLevel(level))
+                .percentage(levels.toPercentage(score))
                 .build();
     }
 
     private String getLevelForScore(double score) {
-        List<ScoreLevel> levels = getScoreLevels();
-
-        if (levels.isEmpty()) {
-            // Fallback to default logic (0.0-1.0 normalized scale)
-            if (score >= 0.98) return "исключительно";
-            if (score >= 0.86) return "превышает_ожидания";
-            if (score >= 0.51) return "на_уровне_ожиданий";
-            if (score >= 0.31) return "ниже_ожиданий";
-            return "не_соответствует";
-        }
-
-        // Find the appropriate level based on score value
-        for (int i = levels.size() - 1; i >= 0; i--) {
-            if (score >= levels.get(i).getScoreValue()) {
-                return levels.get(i).getName().toLowerCase().replace(" ", "_");
-            }
-        }
-
-        return levels.get(0).getName().toLowerCase().replace(" ", "_");
+        return getScoreLevels().levelForScore(score);
     }
 
     private String getColorForLevel(String level) {
-        List<ScoreLevel> levels = getScoreLevels();
-
-        if (levels.isEmpty()) {
-            return DEFAULT_LEVELS.getOrDefault(level, DEFAULT_LEVELS.get("не_соответствует")).color();
-        }
-
-        String normalizedLevel = level.replace("_", " ");
-        for (ScoreLevel scoreLevel : levels) {
-            if (scoreLevel.getName().equalsIgnoreCase(normalizedLevel)) {
-                return scoreLevel.getColor();
-            }
-        }
-
-        return levels.get(0).getColor();
+        return getScoreLevels().colorForLevel(level);
     }
 
     private double scoreToPercentage(double score) {
-        List<ScoreLevel> levels = getScoreLevels();
-
-        double minScore = 0.0;
-        double maxScore = 1.0;
-
-        if (!levels.isEmpty()) {
-            minScore = levels.stream().mapToDouble(ScoreLevel::getScoreValue).min().orElse(0.0);
-            maxScore = levels.stream().mapToDouble(ScoreLevel::getScoreValue).max().orElse(1.0);
-        }
-
-        double range = maxScore - minScore;
-        if (range == 0) return 0.0;
-
-        return Math.round(((score - minScore) / range) * 1000.0) / 10.0;
+        return getScoreLevels().toPercentage(score);
     }
 
-    private ScoreResult emptyScore() {
-        List<ScoreLevel> levels = getScoreLevels();
-
-        double minScore;
-        String level;
-        if (levels.isEmpty()) {
-            minScore = 0.0;
-            level = "не_соответствует";
-        } else {
-            // Find the level with the minimum score value
-            ScoreLevel minLevel = levels.stream()
-                    .min(Comparator.comparingDouble(ScoreLevel::getScoreValue))
-                    .orElse(levels.get(0));
-            minScore = minLevel.getScoreValue();
-            level = minLevel.getName().toLowerCase().replace(" ", "_");
-        }
+    /**
+     * Score result for an empty node (no key results / objectives / departments)
+     */
+    public ScoreResult emptyScore() {
+        return emptyScore(getScoreLevels());
+    }
 
+    private ScoreResult emptyScore(ScoreLevelTable levels) {
+        // Lowest level (built-in default is 0.0 / "не_соответствует")
         return ScoreResult.builder()
-                .score(minScore)
-                .level(level)
-                .color(getColorForLevel(level))
+                .score(levels.score(0))
+                .level(levels.key(0))
+                .color(levels.color(0))
                 .percentage(0.0)
                 .build();
     }
 
-    private double parseDouble(String value) {
-        try {
-            return value != null ? Double.parseDouble(value) : 0.0;
-        } catch (NumberFormatException e) {
-            return 0.0;
-        }
-    }
-
-    record LevelInfo(double min, double max, String color) {}
-    record QualitativeGrade(double score, String level) {}
-
     // ============= NEW METHODS FOR MULTI-SOURCE EVALUATION =============
 
     /**
@@ -650,9 +342,14 @@ public class ScoreCalculationService {
      */
     public DepartmentScoreResult calculateDepartmentScoreWithEvaluations(String departmentId, Collection<Objective> objectives) {
         // 1. Calculate automatic OKR score (existing logic) - 60% weight
-        ScoreResult autoScoreResult = calculateDepartmentScore(objectives);
-        Double autoScore = autoScoreResult.getScore();
+        return calculateDepartmentScoreWithEvaluations(departmentId, calculateDepartmentScore(objectives));
+    }
 
+    /**
+     * Combine an already calculated automatic OKR score (e.g. from ScoreAggregationTree)
+     * with Director, HR and Business Block evaluations
+     */
+    public DepartmentScoreResult calculateDepartmentScoreWithEvaluations(String departmentId, ScoreResult autoScoreResult) {
         // 2. Get evaluations for this department (handle UUID conversion safely)
         Map<EvaluatorType, Evaluation> evals;
         try {
@@ -660,9 +357,20 @@ public class ScoreCalculationService {
             evals = getEvaluationsForTarget("DEPARTMENT", targetId);
         } catch (IllegalArgumentException e) {
             // If departmentId is not a valid UUID, return empty evaluations
-            System.err.println("Warning: Invalid department ID format for evaluation lookup: " + departmentId);
+            log.warn("Invalid department ID format for evaluation lookup: {}", departmentId);
             evals = Map.of();
         }
+        return calculateDepartmentScoreWithEvaluations(autoScoreResult, evals);
+    }
+
+    /**
+     * Combine an automatic OKR score with preloaded evaluations
+     * (see {@link #loadSubmittedEvaluations(String, Collection)})
+     */
+    public DepartmentScoreResult calculateDepartmentScoreWithEvaluations(
+            ScoreResult autoScoreResult,
+            Map<EvaluatorType, Evaluation> evals) {
+        Double autoScore = autoScoreResult.getScore();
 
         // 3. Extract Director evaluation
         Evaluation directorEval = evals.get(EvaluatorType.DIRECTOR);
@@ -687,11 +395,9 @@ public class ScoreCalculationService {
             if (storedRating != null) {
                 businessBlockStars = storedRating.intValue(); // The raw star value (1-5)
                 // Convert stars to score using dynamic levels
-                List<ScoreLevel> levels = getScoreLevels();
-                double minScore = levels.isEmpty() ? 0.0 : levels.stream().mapToDouble(ScoreLevel::getScoreValue).min().orElse(0.0);
-                double maxScore = levels.isEmpty() ? 1.0 : levels.stream().mapToDouble(ScoreLevel::getScoreValue).max().orElse(1.0);
+                ScoreLevelTable levels = getScoreLevels();
                 // Map 1-5 stars to minScore-maxScore range
-                businessBlockScore = minScore + (businessBlockStars - 1) * (maxScore - minScore) / 4.0;
+                businessBlockScore = levels.minScore() + (businessBlockStars - 1) * levels.range() / 4.0;
             }
             businessBlockComment = businessBlockEval.getComment();
         }
@@ -744,15 +450,10 @@ public class ScoreCalculationService {
      * Get submitted evaluations for a target, grouped by evaluator type
      */
     private Map<EvaluatorType, Evaluation> getEvaluationsForTarget(String targetType, UUID targetId) {
-        log.info("Fetching evaluations for targetType={}, targetId={}", targetType, targetId);
         List<Evaluation> evals = evaluationRepository.findByTargetTypeAndTargetIdAndStatus(
                 targetType, targetId, EvaluationStatus.SUBMITTED
         );
-        log.info("Found {} submitted evaluations for targetId={}", evals.size(), targetId);
-        for (Evaluation e : evals) {
-            log.info("  - Evaluation: id={}, evaluatorType={}, targetId={}, status={}",
-                    e.getId(), e.getEvaluatorType(), e.getTargetId(), e.getStatus());
-        }
+        log.debug("Found {} submitted evaluations for targetType={}, targetId={}", evals.size(), targetType, targetId);
         return evals.stream()
                 .collect(Collectors.toMap(
                         Evaluation::getEvaluatorType,
@@ -761,14 +462,45 @@ public class ScoreCalculationService {
                 ));
     }
 
+    /**
+     * Load submitted evaluations for many targets in one query.
+     * Result is keyed by target ID (as passed in), then by evaluator type; targets without
+     * evaluations (or with non-UUID IDs) map to an empty map.
+     */
+    public Map<String, Map<EvaluatorType, Evaluation>> loadSubmittedEvaluations(String targetType, Collection<String> targetIds) {
+        Map<UUID, String> idsByUuid = new HashMap<>();
+        Map<String, Map<EvaluatorType, Evaluation>> result = new HashMap<>();
+        for (String targetId : targetIds) {
+            result.put(targetId, new EnumMap<>(EvaluatorType.class));
+            try {
+                idsByUuid.put(UUID.fromString(targetId), targetId);
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid {} ID format for evaluation lookup: {}", targetType, targetId);
+            }
+        }
+        if (idsByUuid.isEmpty()) {
+            return result;
+        }
+
+        List<Evaluation> evals = evaluationRepository.findByTargetTypeAndTargetIdInAndStatus(
+                targetType, idsByUuid.keySet(), EvaluationStatus.SUBMITTED
+        );
+        log.debug("Found {} submitted evaluations for {} {} targets", evals.size(), idsByUuid.size(), targetType);
+        for (Evaluation e : evals) {
+            // Keep first if duplicates (shouldn't happen due to validation)
+            result.get(idsByUuid.get(e.getTargetId())).putIfAbsent(e.getEvaluatorType(), e);
+        }
+        return result;
+    }
+
     /**
      * Convert HR letter grade to numeric score using dynamic score levels
      * A = highest (exceptional), B = very_good, C = good, D = meets/lowest
      */
     private Double convertHrLetterToNumeric(String letter) {
-        List<ScoreLevel> scoreLevels = getScoreLevels();
+        ScoreLevelTable levels = getScoreLevels();
 
-        if (scoreLevels.isEmpty()) {
+        if (!levels.isConfigured()) {
             // Fallback to 0.0-1.0 normalized scale
             return switch(letter) {
                 case "A" -> 0.98;
@@ -779,17 +511,13 @@ public class ScoreCalculationService {
             };
         }
 
-        // Sort levels by scoreValue
-        List<ScoreLevel> sortedLevels = scoreLevels.stream()
-                .sorted(Comparator.comparingDouble(ScoreLevel::getScoreValue))
-                .toList();
-
-        int numLevels = sortedLevels.size();
+        // Levels are sorted by scoreValue
+        int numLevels = levels.size();
         return switch(letter) {
-            case "A" -> sortedLevels.get(numLevels - 1).getScoreValue();  // Highest
-            case "B" -> sortedLevels.get(Math.max(numLevels - 2, 0)).getScoreValue();
-            case "C" -> sortedLevels.get(numLevels / 2).getScoreValue();  // Middle
-            case "D" -> sortedLevels.get(Math.min(1, numLevels - 1)).getScoreValue();
+            case "A" -> levels.score(numLevels - 1);  // Highest
+            case "B" -> levels.score(Math.max(numLevels - 2, 0));
+            case "C" -> levels.score(numLevels / 2);  // Middle
+            case "D" -> levels.score(Math.min(1, numLevels - 1));
             default -> null;
         };
     }
@@ -803,23 +531,16 @@ public class ScoreCalculationService {
             return null;
         }
 
-        List<ScoreLevel> scoreLevels = getScoreLevels();
-
-        double minScore, maxScore;
-        if (scoreLevels.isEmpty()) {
-            minScore = 0.0;
-            maxScore = 1.0;
-        } else {
-            minScore = scoreLevels.stream().mapToDouble(ScoreLevel::getScoreValue).min().orElse(0.0);
-            maxScore = scoreLevels.stream().mapToDouble(ScoreLevel::getScoreValue).max().orElse(1.0);
-        }
+        ScoreLevelTable levels = getScoreLevels();
+        double minScore = levels.minScore();
+        double maxScore = levels.maxScore();
 
         if (numericScore < minScore || numericScore > maxScore) {
             return null;
         }
 
         // Map score to 1-5 star range
-        double range = maxScore - minScore;
+        double range = levels.range();
         if (range == 0) return 5;
 
         double stars = 1 + ((numericScore - minScore) / range) * 4;
@@ -0,0 +1,233 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import uz.garantbank.okrTrackingSystem.dto.ScoreResult;
+import uz.garantbank.okrTrackingSystem.entity.KeyResult;
+
+/**
+ * Allocation-free scoring kernel for key results.
+ *
+ * Works on primitive thresholds ({@code double[5]}: below, meets, good, veryGood, exceptional)
+ * and a compiled {@link ScoreLevelTable}, and returns a packed {@code long}:
+ * <ul>
+ *     <li>bits 0-31: score in hundredths (signed), already clamped and rounded</li>
+ *     <li>bits 32-47: level index into the table</li>
+ *     <li>bit 48: score is the level's own score value (qualitative grades)</li>
+ * </ul>
+ * A {@link ScoreResult} is only built by {@link #toScoreResult} at the DTO boundary,
+ * always against the same table the packed value was computed with.
+ */
+final class ScoreKernel {
+
+    static final int BELOW = 0;
+    static final int MEETS = 1;
+    static final int GOOD = 2;
+    static final int VERY_GOOD = 3;
+    static final int EXCEPTIONAL = 4;
+    static final int THRESHOLD_COUNT = 5;
+
+    // Built-in level scores, same as the default ScoreLevelTable (index = level index)
+    private static final double[] DEFAULT_SCORES = {0.0, 0.31, 0.51, 0.86, 0.98};
+
+    private static final long LEVEL_SCORE_FLAG = 1L << 48;
+
+    private ScoreKernel() {
+    }
+
+    // ==================== KERNEL ====================
+
+    /**
+     * Score a numeric actual value against five thresholds (nulls already replaced by defaults)
+     */
+    static long quantitative(double actual, boolean lowerBetter, double[] t, ScoreLevelTable levels) {
+        if (!levels.isConfigured()) {
+            return lowerBetter ? defaultLowerBetter(actual, t) : defaultHigherBetter(actual, t);
+        }
+
+        // Thresholds sorted by value (ascending for HIGHER_BETTER, descending for LOWER_BETTER),
+        // kept as a permutation packed into an int: 3 bits per position
+        int numLevels = levels.size();
+        int order = sortOrder(t, lowerBetter);
+
+        double score = levels.score(0);
+        int level = 0;
+        for (int i = THRESHOLD_COUNT - 1; i >= 0; i--) {
+            int k = at(order, i);
+            if (lowerBetter ? actual <= t[k] : actual >= t[k]) {
+                int scoreIdx = levelIndexForThreshold(k, numLevels);
+                if (i == THRESHOLD_COUNT - 1) {
+                    // Best threshold reached, assign that level's score directly
+                    score = levels.score(scoreIdx);
+                } else {
+                    // Interpolate between current and next threshold
+                    int next = at(order, i + 1);
+                    double ratio = lowerBetter
+                            ? 1 - (actual - t[next]) / Math.max(t[k] - t[next], 0.001)
+                            : (actual - t[k]) / Math.max(t[next] - t[k], 0.001);
+                    double startScore = levels.score(scoreIdx);
+                    double endScore = levels.score(levelIndexForThreshold(next, numLevels));
+                    score = startScore + ratio * (endScore - startScore);
+                }
+                level = scoreIdx;
+                break;
+            }
+        }
+
+        return pack(levels.clamp(score), level);
+    }
+
+    /**
+     * Score a qualitative grade (null counts as E).
+     * Grades map onto the levels from the top: A = highest, B = second highest, C = middle, D = second, E = lowest.
+     */
+    static long qualitative(KeyResult.Grade grade, ScoreLevelTable levels) {
+        int numLevels = levels.size();
+        int levelIndex;
+        if (grade == null) {
+            levelIndex = 0;
+        } else {
+            levelIndex = switch (grade) {
+                case A -> numLevels - 1;
+                case B -> numLevels - 2;
+                case C -> numLevels / 2;
+                case D -> 1;
+                case E -> 0;
+            };
+        }
+        levelIndex = Math.max(0, Math.min(levelIndex, numLevels - 1));
+        return LEVEL_SCORE_FLAG | ((long) levelIndex << 32);
+    }
+
+    /**
+     * Score of an aggregated node as it appears in its ScoreResult (clamped, rounded)
+     */
+    static double aggregateScore(double average, ScoreLevelTable levels) {
+        return round(levels.clamp(average));
+    }
+
+    // ==================== PACKED RESULT ====================
+
+    static double score(long packed, ScoreLevelTable levels) {
+        if ((packed & LEVEL_SCORE_FLAG) != 0) {
+            return levels.score(levelIndex(packed));
+        }
+        return (int) packed / 100.0;
+    }
+
+    static int levelIndex(long packed) {
+        return (int) ((packed >>> 32) & 0xFFFF);
+    }
+
+    static ScoreResult toScoreResult(long packed, ScoreLevelTable levels) {
+        double score = score(packed, levels);
+        String level = levels.key(levelIndex(packed));
+        return ScoreResult.builder()
+                .score(score)
+                .level(level)
+                .color(levels.colorForLevel(level))
+                .percentage(levels.toPercentage(score))
+                .build();
+    }
+
+    private static long pack(double score, int levelIndex) {
+        long hundredths = Math.round(score * 100.0);
+        return ((long) levelIndex << 32) | (hundredths & 0xFFFFFFFFL);
+    }
+
+    private static double round(double score) {
+        return Math.round(score * 100.0) / 100.0;
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Built-in levels: fixed scores per threshold band, level = band the value falls into
+     */
+    private static long defaultHigherBetter(double actual, double[] t) {
+        double score;
+        int level;
+        if (actual >= t[EXCEPTIONAL]) {
+            score = DEFAULT_SCORES[4];
+            level = 4;
+        } else if (actual >= t[VERY_GOOD]) {
+            score = interpolate(3, (actual - t[VERY_GOOD]) / Math.max(t[EXCEPTIONAL] - t[VERY_GOOD], 1));
+            level = 3;
+        } else if (actual >= t[GOOD]) {
+            score = interpolate(2, (actual - t[GOOD]) / Math.max(t[VERY_GOOD] - t[GOOD], 1));
+            level = 2;
+        } else if (actual >= t[MEETS]) {
+            score = interpolate(1, (actual - t[MEETS]) / Math.max(t[GOOD] - t[MEETS], 1));
+            level = 1;
+        } else if (actual >= t[BELOW]) {
+            score = interpolate(0, (actual - t[BELOW]) / Math.max(t[MEETS] - t[BELOW], 1));
+            level = 0;
+        } else {
+            score = DEFAULT_SCORES[0];
+            level = 0;
+        }
+        return pack(clampDefault(score), level);
+    }
+
+    private static long defaultLowerBetter(double actual, double[] t) {
+        double score;
+        int level;
+        if (actual <= t[EXCEPTIONAL]) {
+            score = DEFAULT_SCORES[4];
+            level = 4;
+        } else if (actual <= t[VERY_GOOD]) {
+            score = interpolate(3, 1 - (actual - t[EXCEPTIONAL]) / Math.max(t[VERY_GOOD] - t[EXCEPTIONAL], 1));
+            level = 3;
+        } else if (actual <= t[GOOD]) {
+            score = interpolate(2, 1 - (actual - t[VERY_GOOD]) / Math.max(t[GOOD] - t[VERY_GOOD], 1));
+            level = 2;
+        } else if (actual <= t[MEETS]) {
+            score = interpolate(1, 1 - (actual - t[GOOD]) / Math.max(t[MEETS] - t[GOOD], 1));
+            level = 1;
+        } else if (actual <= t[BELOW]) {
+            score = interpolate(0, 1 - (actual - t[MEETS]) / Math.max(t[BELOW] - t[MEETS], 1));
+            level = 0;
+        } else {
+            score = DEFAULT_SCORES[0];
+            level = 0;
+        }
+        return pack(clampDefault(score), level);
+    }
+
+    private static double interpolate(int fromLevel, double ratio) {
+        double start = DEFAULT_SCORES[fromLevel];
+        return start + ratio * (DEFAULT_SCORES[fromLevel + 1] - start);
+    }
+
+    private static double clampDefault(double score) {
+        return Math.min(Math.max(score, DEFAULT_SCORES[0]), DEFAULT_SCORES[4]);
+    }
+
+    /**
+     * Level index a threshold maps to: below = lowest, exceptional = highest, others by position
+     */
+    private static int levelIndexForThreshold(int threshold, int numLevels) {
+        return threshold == EXCEPTIONAL ? numLevels - 1 : Math.min(threshold, numLevels - 1);
+    }
+
+    /**
+     * Stable sort of the five thresholds by value, returned as a packed permutation
+     * (position p holds the threshold index in bits 3p..3p+2)
+     */
+    private static int sortOrder(double[] t, boolean descending) {
+        int order = 0;
+        for (int k = 0; k < THRESHOLD_COUNT; k++) {
+            int rank = 0;
+            for (int j = 0; j < THRESHOLD_COUNT; j++) {
+                int cmp = descending ? Double.compare(t[k], t[j]) : Double.compare(t[j], t[k]);
+                if (cmp < 0 || (cmp == 0 && j < k)) {
+                    rank++;
+                }
+            }
+            order |= k << (3 * rank);
+        }
+        return order;
+    }
+
+    private static int at(int order, int position) {
+        return (order >>> (3 * position)) & 7;
+    }
+}
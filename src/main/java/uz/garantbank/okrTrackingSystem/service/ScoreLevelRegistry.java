@@ -0,0 +1,75 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uz.garantbank.okrTrackingSystem.entity.ScoreLevel;
+import uz.garantbank.okrTrackingSystem.repository.ScoreLevelRepository;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide holder of the current {@link ScoreLevelTable}.
+ *
+ * Every scoring path reads levels from here instead of querying ScoreLevelRepository.
+ * The table is replaced as a whole (never mutated) when score levels change, and the
+ * swap happens only after the surrounding transaction commits.
+ */
+@Slf4j
+@Component
+public class ScoreLevelRegistry {
+
+    private final ScoreLevelRepository scoreLevelRepository;
+    private final AtomicLong versions = new AtomicLong();
+
+    private volatile ScoreLevelTable current;
+
+    public ScoreLevelRegistry(ScoreLevelRepository scoreLevelRepository) {
+        this.scoreLevelRepository = scoreLevelRepository;
+    }
+
+    /**
+     * Get the current score level table (loaded from the database on first use)
+     */
+    public ScoreLevelTable current() {
+        ScoreLevelTable table = current;
+        if (table == null) {
+            synchronized (this) {
+                table = current;
+                if (table == null) {
+                    table = ScoreLevelTable.compile(
+                            scoreLevelRepository.findAllByOrderByDisplayOrderAsc(), versions.incrementAndGet());
+                    current = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Publish new score levels. Inside a transaction the table is swapped after commit,
+     * so a rolled-back update never becomes visible.
+     */
+    public void publish(List<ScoreLevel> levels) {
+        List<ScoreLevel> snapshot = List.copyOf(levels);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    install(snapshot);
+                }
+            });
+        } else {
+            install(snapshot);
+        }
+    }
+
+    private synchronized void install(List<ScoreLevel> levels) {
+        ScoreLevelTable table = ScoreLevelTable.compile(levels, versions.incrementAndGet());
+        current = table;
+        log.info("Score level table v{} installed ({} levels, configured={})",
+                table.version(), table.size(), table.isConfigured());
+    }
+}
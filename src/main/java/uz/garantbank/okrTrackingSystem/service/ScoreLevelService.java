@@ -14,9 +14,15 @@ import java.util.stream.Collectors;
 public class ScoreLevelService {
 
     private final ScoreLevelRepository scoreLevelRepository;
+    private final ScoreLevelRegistry scoreLevelRegistry;
+    private final PersistedScoreService persistedScores;
 
-    public ScoreLevelService(ScoreLevelRepository scoreLevelRepository) {
+    public ScoreLevelService(ScoreLevelRepository scoreLevelRepository,
+                             ScoreLevelRegistry scoreLevelRegistry,
+                             PersistedScoreService persistedScores) {
         this.scoreLevelRepository = scoreLevelRepository;
+        this.scoreLevelRegistry = scoreLevelRegistry;
+        this.persistedScores = persistedScores;
     }
 
     @PostConstruct
@@ -62,6 +68,9 @@ public class ScoreLevelService {
             );
             scoreLevelRepository.saveAll(defaultLevels);
         }
+
+        // Publish the compiled table shared by all scoring paths
+        scoreLevelRegistry.publish(scoreLevelRepository.findAllByOrderByDisplayOrderAsc());
     }
 
     public List<ScoreLevelDTO> getAllScoreLevels() {
@@ -72,8 +81,8 @@ public class ScoreLevelService {
 
     @Transactional
     public List<ScoreLevelDTO> updateScoreLevels(List<ScoreLevelDTO> levelDTOs) {
-        // Delete all existing levels
-        scoreLevelRepository.deleteAll();
+        // Delete all existing levels (one DELETE, nothing references them)
+        scoreLevelRepository.deleteAllInBatch();
 
         // Create new levels from the provided list
         List<ScoreLevel> newLevels = levelDTOs.stream()
@@ -88,6 +97,11 @@ public class ScoreLevelService {
 
         List<ScoreLevel> savedLevels = scoreLevelRepository.saveAll(newLevels);
 
+        // Swap the shared score level table once this transaction commits
+        scoreLevelRegistry.publish(savedLevels);
+        // Persisted scores and level indices change with the levels, in the same transaction
+        persistedScores.refreshAll(savedLevels);
+
         return savedLevels.stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
@@ -109,8 +123,9 @@ public class ScoreLevelService {
 
     @Transactional
     public void resetToDefaults() {
-        scoreLevelRepository.deleteAll();
+        scoreLevelRepository.deleteAllInBatch();
         initializeDefaultLevels();
+        persistedScores.refreshAll(scoreLevelRepository.findAllByOrderByDisplayOrderAsc());
     }
 
     private ScoreLevelDTO toDTO(ScoreLevel entity) {
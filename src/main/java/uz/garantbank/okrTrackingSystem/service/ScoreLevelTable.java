@@ -0,0 +1,195 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import uz.garantbank.okrTrackingSystem.entity.ScoreLevel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, pre-compiled snapshot of the configured score levels.
+ *
+ * Levels are sorted by score value ascending (index 0 = lowest level). Level keys
+ * ("на_уровне_ожиданий"), colors, min/max and range are computed once when the
+ * snapshot is built, so lookups never touch the database or allocate.
+ * Instances are published by {@link ScoreLevelRegistry}.
+ */
+public final class ScoreLevelTable {
+
+    // Built-in levels used when no score levels are configured (0.0-1.0 normalized scale)
+    private static final String[] DEFAULT_NAMES = {
+            "Не соответствует", "Ниже ожиданий", "На уровне ожиданий", "Превышает ожидания", "Исключительно"
+    };
+    private static final double[] DEFAULT_SCORES = {0.0, 0.31, 0.51, 0.86, 0.98};
+    private static final String[] DEFAULT_COLORS = {"#d9534f", "#f0ad4e", "#5cb85c", "#28a745", "#1e7b34"};
+
+    private final long version;
+    private final boolean configured;
+    private final String[] names;
+    private final String[] keys;
+    private final double[] scores;
+    private final String[] colors;
+    private final double minScore;
+    private final double maxScore;
+    private final double range;
+    private final Map<String, String> colorByKey;
+    private final Map<String, Integer> indexByKey;
+
+    private ScoreLevelTable(long version, boolean configured,
+                            String[] names, double[] scores, String[] colors,
+                            double minScore, double maxScore) {
+        this.version = version;
+        this.configured = configured;
+        this.names = names;
+        this.scores = scores;
+        this.colors = colors;
+        this.minScore = minScore;
+        this.maxScore = maxScore;
+        this.range = maxScore - minScore;
+
+        this.keys = new String[names.length];
+        Map<String, String> colorMap = new HashMap<>();
+        Map<String, Integer> indexMap = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            keys[i] = normalizeKey(names[i]);
+            colorMap.putIfAbsent(keys[i], colors[i]);
+            indexMap.putIfAbsent(keys[i], i);
+        }
+        this.colorByKey = Collections.unmodifiableMap(colorMap);
+        this.indexByKey = Collections.unmodifiableMap(indexMap);
+    }
+
+    /**
+     * Compile a table from score level entities (any order).
+     * An empty list yields the built-in default levels.
+     */
+    public static ScoreLevelTable compile(List<ScoreLevel> levels, long version) {
+        if (levels == null || levels.isEmpty()) {
+            // Defaults keep the historical 0.0-1.0 range for percentages
+            return new ScoreLevelTable(version, false,
+                    DEFAULT_NAMES.clone(), DEFAULT_SCORES.clone(), DEFAULT_COLORS.clone(), 0.0, 1.0);
+        }
+
+        List<ScoreLevel> sorted = new ArrayList<>(levels);
+        sorted.sort(Comparator.comparingDouble(ScoreLevel::getScoreValue)
+                .thenComparing(ScoreLevel::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        int n = sorted.size();
+        String[] names = new String[n];
+        double[] scores = new double[n];
+        String[] colors = new String[n];
+        for (int i = 0; i < n; i++) {
+            ScoreLevel level = sorted.get(i);
+            names[i] = level.getName();
+            scores[i] = level.getScoreValue();
+            colors[i] = level.getColor();
+        }
+        return new ScoreLevelTable(version, true, names, scores, colors, scores[0], scores[n - 1]);
+    }
+
+    /**
+     * Normalize a level name to the key used in API responses ("На уровне ожиданий" -> "на_уровне_ожиданий")
+     */
+    public static String normalizeKey(String name) {
+        return name.toLowerCase().replace(" ", "_");
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * True if the levels come from the database, false if the built-in defaults are used
+     */
+    public boolean isConfigured() {
+        return configured;
+    }
+
+    public int size() {
+        return scores.length;
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    public String key(int index) {
+        return keys[index];
+    }
+
+    public double score(int index) {
+        return scores[index];
+    }
+
+    public String color(int index) {
+        return colors[index];
+    }
+
+    public double minScore() {
+        return minScore;
+    }
+
+    public double maxScore() {
+        return maxScore;
+    }
+
+    public double range() {
+        return range;
+    }
+
+    /**
+     * Index of the highest level whose score value is <= the given score (0 if below all levels)
+     */
+    public int indexForScore(double score) {
+        for (int i = scores.length - 1; i > 0; i--) {
+            if (score >= scores[i]) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Level key for a score value
+     */
+    public String levelForScore(double score) {
+        return keys[indexForScore(score)];
+    }
+
+    /**
+     * Index of a level key, falling back to the lowest level
+     */
+    public int indexOf(String levelKey) {
+        Integer index = levelKey != null ? indexByKey.get(levelKey) : null;
+        return index != null ? index : 0;
+    }
+
+    /**
+     * Color for a level key, falling back to the lowest level's color
+     */
+    public String colorForLevel(String levelKey) {
+        String color = levelKey != null ? colorByKey.get(levelKey) : null;
+        return color != null ? color : colors[0];
+    }
+
+    /**
+     * Clamp a score into the configured [min, max] range (no-op for built-in defaults)
+     */
+    public double clamp(double score) {
+        if (!configured) {
+            return score;
+        }
+        return Math.min(Math.max(score, minScore), maxScore);
+    }
+
+    /**
+     * Convert a score to a percentage of the level range, rounded to one decimal
+     */
+    public double toPercentage(double score) {
+        if (range == 0) return 0.0;
+        return Math.round(((score - minScore) / range) * 1000.0) / 10.0;
+    }
+}
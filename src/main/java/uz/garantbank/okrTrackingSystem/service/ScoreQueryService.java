@@ -0,0 +1,109 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uz.garantbank.okrTrackingSystem.dto.ScoreRow;
+import uz.garantbank.okrTrackingSystem.dto.ScoreRowDTO;
+import uz.garantbank.okrTrackingSystem.repository.DepartmentRepository;
+import uz.garantbank.okrTrackingSystem.repository.KeyResultRepository;
+import uz.garantbank.okrTrackingSystem.repository.ObjectiveRepository;
+
+import java.util.Map;
+
+/**
+ * Filter / sort / page key results, objectives and departments by their persisted score columns.
+ * The filtering and ordering happen in the database; only the requested page is loaded.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ScoreQueryService {
+
+    // Public sort names -> entity properties (the same for all three node types)
+    private static final Map<String, String> SORT_PROPERTIES = Map.of(
+            "score", "score",
+            "level", "scoreLevel",
+            "percentage", "scorePercentage",
+            "name", "name");
+
+    private final KeyResultRepository keyResultRepository;
+    private final ObjectiveRepository objectiveRepository;
+    private final DepartmentRepository departmentRepository;
+    private final ScoreLevelRegistry scoreLevelRegistry;
+
+    public Page<ScoreRowDTO> findKeyResults(Integer minLevel, Integer maxLevel, String departmentId,
+                                            int page, int size, String sort) {
+        ScoreLevelTable levels = scoreLevelRegistry.current();
+        return keyResultRepository.findScoreRows(min(minLevel), max(maxLevel, levels), departmentId,
+                        pageable(page, size, sort))
+                .map(row -> toDTO(row, levels));
+    }
+
+    public Page<ScoreRowDTO> findObjectives(Integer minLevel, Integer maxLevel, String departmentId,
+                                            int page, int size, String sort) {
+        ScoreLevelTable levels = scoreLevelRegistry.current();
+        return objectiveRepository.findScoreRows(min(minLevel), max(maxLevel, levels), departmentId,
+                        pageable(page, size, sort))
+                .map(row -> toDTO(row, levels));
+    }
+
+    public Page<ScoreRowDTO> findDepartments(Integer minLevel, Integer maxLevel, String divisionId,
+                                             int page, int size, String sort) {
+        ScoreLevelTable levels = scoreLevelRegistry.current();
+        return departmentRepository.findScoreRows(min(minLevel), max(maxLevel, levels), divisionId,
+                        pageable(page, size, sort))
+                .map(row -> toDTO(row, levels));
+    }
+
+    // ==================== HELPERS ====================
+
+    private static int min(Integer minLevel) {
+        return minLevel != null ? minLevel : 0;
+    }
+
+    private static int max(Integer maxLevel, ScoreLevelTable levels) {
+        return maxLevel != null ? maxLevel : levels.size() - 1;
+    }
+
+    /**
+     * Parse "property,direction" into a page request; ties are broken by id so pages are stable
+     */
+    private static Pageable pageable(int page, int size, String sort) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page number must not be negative");
+        }
+        String[] parts = sort.split(",");
+        String property = SORT_PROPERTIES.get(parts[0].trim());
+        if (property == null) {
+            throw new IllegalArgumentException("Unsupported sort property: " + parts[0].trim()
+                    + " (allowed: " + String.join(", ", SORT_PROPERTIES.keySet()) + ")");
+        }
+        Sort.Direction direction = parts.length > 1 ? Sort.Direction.fromString(parts[1].trim()) : Sort.Direction.ASC;
+        return PageRequest.of(page, size, Sort.by(direction, property).and(Sort.by(Sort.Direction.ASC, "id")));
+    }
+
+    private static ScoreRowDTO toDTO(ScoreRow row, ScoreLevelTable levels) {
+        int levelIndex = row.scoreLevel() != null ? row.scoreLevel() : 0;
+        String level = levels.key(Math.min(levelIndex, levels.size() - 1));
+        return ScoreRowDTO.builder()
+                .id(row.id())
+                .name(row.name())
+                .score(row.score())
+                .levelIndex(row.scoreLevel())
+                .level(level)
+                .color(levels.colorForLevel(level))
+                .percentage(row.scorePercentage())
+                .objectiveId(row.objectiveId())
+                .objectiveName(row.objectiveName())
+                .departmentId(row.departmentId())
+                .departmentName(row.departmentName())
+                .divisionId(row.divisionId())
+                .divisionName(row.divisionName())
+                .build();
+    }
+}
@@ -0,0 +1,407 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uz.garantbank.okrTrackingSystem.dto.SyntheticOrgRequest;
+import uz.garantbank.okrTrackingSystem.dto.SyntheticOrgRequest.ActualDistribution;
+import uz.garantbank.okrTrackingSystem.dto.SyntheticOrgResultDTO;
+import uz.garantbank.okrTrackingSystem.entity.EvaluationStatus;
+import uz.garantbank.okrTrackingSystem.entity.EvaluatorType;
+import uz.garantbank.okrTrackingSystem.entity.KeyResult;
+import uz.garantbank.okrTrackingSystem.entity.ObjectiveLevel;
+import uz.garantbank.okrTrackingSystem.entity.Role;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates a large synthetic organization (divisions, departments, users, objectives, key results
+ * and submitted evaluations) for load and performance testing.
+ *
+ * Replaces all existing OKR data, evaluations and non-ADMIN users. Rows are written with plain JDBC
+ * batches, then the persisted scores are computed once for the whole org. The same request always
+ * produces the same rows: names, values and IDs (time-ordered v7 layout) come from the seed.
+ *
+ * Tokens of the replaced users stop working: users that are gone have no security snapshot, and
+ * users regenerated under the same ID get their tokens revoked (users.tokens_valid_after).
+ */
+@Slf4j
+@Service
+public class SyntheticOrgGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_KEY_RESULTS = 500_000;
+
+    // Timestamp part of generated IDs: 2024-01-01T00:00Z plus one millisecond per row, so IDs sort in insert order
+    private static final long ID_EPOCH_MILLIS = 1_704_067_200_000L;
+
+    private static final KeyResult.Grade[] GRADES = KeyResult.Grade.values();
+    private static final String[] HR_GRADES = {"A", "B", "C", "D"};
+
+    // Parents before children, so every flushed batch only references rows already written
+    private static final String INSERT_USER = "INSERT INTO users (id, username, email, password, full_name, role, " +
+            "is_active, can_edit_assigned_departments, read_only, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, TRUE, ?, FALSE, ?, ?)";
+    private static final String INSERT_DIVISION = "INSERT INTO division (id, name, leader_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_DEPARTMENT = "INSERT INTO department (id, name, division_id, leader_id, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_DEPARTMENT = "INSERT INTO user_departments (user_id, department_id) " +
+            "VALUES (?, ?)";
+    private static final String INSERT_OBJECTIVE = "INSERT INTO objectives (id, name, weight, department_id, level) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_KEY_RESULT = "INSERT INTO key_results (id, name, description, metric_type, " +
+            "unit, weight, threshold_below, threshold_meets, threshold_good, threshold_very_good, " +
+            "threshold_exceptional, actual_value, actual_numeric, actual_grade, progress, objective_id) " +
+            "VALUES (?, ?, '', ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_EVALUATION = "INSERT INTO evaluations (id, evaluator_id, evaluator_type, " +
+            "target_type, target_id, numeric_rating, letter_rating, status, created_at, updated_at, submitted_at) " +
+            "VALUES (?, ?, ?, 'DEPARTMENT', ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_REPLACED_USERS = "SELECT id FROM users WHERE role <> 'ADMIN'";
+    private static final String REVOKE_TOKENS = "UPDATE users SET tokens_valid_after = ? WHERE id = ?";
+
+    private static final List<String> CLEAR_STATEMENTS = List.of(
+            "DELETE FROM evaluations",
+            "DELETE FROM user_departments",
+            "DELETE FROM key_results",
+            "DELETE FROM objectives",
+            "DELETE FROM department",
+            "DELETE FROM division",
+            "DELETE FROM users WHERE role <> 'ADMIN'"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final PersistedScoreService persistedScores;
+    private final ScoreAggregationTree scoreTree;
+    private final ScoreLevelRegistry scoreLevelRegistry;
+    private final UserSecurityCache userSecurityCache;
+
+    public SyntheticOrgGenerator(JdbcTemplate jdbcTemplate,
+                                 PasswordEncoder passwordEncoder,
+                                 PersistedScoreService persistedScores,
+                                 ScoreAggregationTree scoreTree,
+                                 ScoreLevelRegistry scoreLevelRegistry,
+                                 UserSecurityCache userSecurityCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.persistedScores = persistedScores;
+        this.scoreTree = scoreTree;
+        this.scoreLevelRegistry = scoreLevelRegistry;
+        this.userSecurityCache = userSecurityCache;
+    }
+
+    @Transactional
+    public SyntheticOrgResultDTO generate(SyntheticOrgRequest request) {
+        int[] mix = validate(request);
+        long start = System.nanoTime();
+
+        List<UUID> replacedUsers = jdbcTemplate.queryForList(SELECT_REPLACED_USERS, UUID.class);
+        CLEAR_STATEMENTS.forEach(jdbcTemplate::update);
+        Run run = new Run(request, mix, passwordEncoder.encode(request.getPassword()));
+        run.generate();
+        revokeTokens(replacedUsers);
+        long inserted = System.nanoTime();
+
+        persistedScores.refreshAll();
+        scoreTree.invalidate();
+        // Deleted users must not keep a cached snapshot, or their tokens would stay valid until it expires
+        userSecurityCache.invalidateAll();
+        long scored = System.nanoTime();
+
+        SyntheticOrgResultDTO result = SyntheticOrgResultDTO.builder()
+                .seed(request.getSeed())
+                .divisions(run.divisions)
+                .departments(run.departments)
+                .objectives(run.objectives)
+                .keyResults(run.keyResults)
+                .users(run.users)
+                .evaluations(run.evaluations)
+                .insertMillis((inserted - start) / 1_000_000)
+                .scoringMillis((scored - inserted) / 1_000_000)
+                .build();
+        log.info("Synthetic org generated: {}", result);
+        return result;
+    }
+
+    /**
+     * Revoke the tokens of replaced users that were generated again under the same ID
+     * (the update does nothing for IDs that are gone)
+     */
+    private void revokeTokens(List<UUID> userIds) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        for (int from = 0; from < userIds.size(); from += BATCH_SIZE) {
+            List<Object[]> rows = new ArrayList<>();
+            for (UUID userId : userIds.subList(from, Math.min(from + BATCH_SIZE, userIds.size()))) {
+                rows.add(new Object[]{now, userId});
+            }
+            jdbcTemplate.batchUpdate(REVOKE_TOKENS, rows);
+        }
+    }
+
+    /**
+     * Check the request and parse the metric mix into {higher, lower, qualitative} shares
+     */
+    private static int[] validate(SyntheticOrgRequest request) {
+        requireRange("divisions", request.getDivisions(), 1, 1000);
+        requireRange("departmentsPerDivision", request.getDepartmentsPerDivision(), 1, 1000);
+        requireRange("objectivesPerDepartment", request.getObjectivesPerDepartment(), 1, 50);
+        requireRange("keyResultsPerObjective", request.getKeyResultsPerObjective(), 1, 50);
+        requireRange("employeesPerDepartment", request.getEmployeesPerDepartment(), 0, 1000);
+        long keyResults = (long) request.getDivisions() * request.getDepartmentsPerDivision()
+                * request.getObjectivesPerDepartment() * request.getKeyResultsPerObjective();
+        if (keyResults > MAX_KEY_RESULTS) {
+            throw new IllegalArgumentException("At most " + MAX_KEY_RESULTS + " key results can be generated, requested " + keyResults);
+        }
+        requireShare("emptyActualRate", request.getEmptyActualRate());
+        requireShare("evaluationCoverage", request.getEvaluationCoverage());
+        if (request.getActualSpread() < 0) {
+            throw new IllegalArgumentException("actualSpread must not be negative");
+        }
+        if (request.getActualDistribution() == null) {
+            throw new IllegalArgumentException("actualDistribution is required");
+        }
+        if (request.getPassword() == null || request.getPassword().length() < 6) {
+            throw new IllegalArgumentException("password must be at least 6 characters");
+        }
+
+        String[] parts = request.getMetricMix() == null ? new String[0] : request.getMetricMix().split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("metricMix must look like 60:25:15, got " + request.getMetricMix());
+        }
+        int[] mix = new int[3];
+        try {
+            for (int i = 0; i < 3; i++) {
+                mix[i] = Integer.parseInt(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("metricMix must look like 60:25:15, got " + request.getMetricMix());
+        }
+        if (mix[0] < 0 || mix[1] < 0 || mix[2] < 0 || mix[0] + mix[1] + mix[2] == 0) {
+            throw new IllegalArgumentException("metricMix needs at least one positive share");
+        }
+        return mix;
+    }
+
+    private static void requireRange(String name, int value, int min, int max) {
+        if (value < min || value > max) {
+            throw new IllegalArgumentException(name + " must be between " + min + " and " + max + ", got " + value);
+        }
+    }
+
+    private static void requireShare(String name, double value) {
+        if (!(value >= 0 && value <= 1)) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1, got " + value);
+        }
+    }
+
+    /**
+     * State of one generation: the seeded random source, pending batches and counts
+     */
+    private final class Run {
+
+        private final SyntheticOrgRequest request;
+        private final int[] mix;
+        private final String passwordHash;
+        private final SplittableRandom random;
+        private final LocalDateTime now = LocalDateTime.now();
+        private final double directorMin;
+        private final double directorMax;
+
+        // Pending rows per insert statement, in parent-before-child order
+        private final Map<String, List<Object[]>> pending = new LinkedHashMap<>();
+        private int pendingRows;
+        private long idSequence;
+
+        int divisions;
+        int departments;
+        int objectives;
+        int keyResults;
+        int users;
+        int evaluations;
+
+        Run(SyntheticOrgRequest request, int[] mix, String passwordHash) {
+            this.request = request;
+            this.mix = mix;
+            this.passwordHash = passwordHash;
+            this.random = new SplittableRandom(request.getSeed());
+            ScoreLevelTable levels = scoreLevelRegistry.current();
+            this.directorMin = levels.minScore();
+            this.directorMax = levels.maxScore();
+            for (String sql : List.of(INSERT_USER, INSERT_DIVISION, INSERT_DEPARTMENT, INSERT_USER_DEPARTMENT,
+                    INSERT_OBJECTIVE, INSERT_KEY_RESULT, INSERT_EVALUATION)) {
+                pending.put(sql, new ArrayList<>());
+            }
+        }
+
+        void generate() {
+            UUID director = user("gen-director", "Generated Director", Role.DIRECTOR, false);
+            UUID hr = user("gen-hr", "Generated HR", Role.HR, false);
+
+            for (int dv = 0; dv < request.getDivisions(); dv++) {
+                UUID businessBlock = user(String.format("gen-bb-%03d", dv), "Business Block " + dv, Role.BUSINESS_BLOCK, false);
+                UUID divisionId = nextId();
+                add(INSERT_DIVISION, divisionId, "Division " + dv, businessBlock, now, now);
+                divisions++;
+
+                for (int dp = 0; dp < request.getDepartmentsPerDivision(); dp++) {
+                    String name = dv + "." + dp;
+                    UUID leader = user("gen-lead-" + name, "Leader " + name, Role.DEPARTMENT_LEADER, true);
+                    UUID departmentId = nextId();
+                    add(INSERT_DEPARTMENT, departmentId, "Department " + name, divisionId, leader, now, now);
+                    add(INSERT_USER_DEPARTMENT, leader, departmentId);
+                    departments++;
+
+                    for (int e = 0; e < request.getEmployeesPerDepartment(); e++) {
+                        UUID employee = user("gen-emp-" + name + "." + e, "Employee " + name + "." + e, Role.EMPLOYEE, false);
+                        add(INSERT_USER_DEPARTMENT, employee, departmentId);
+                    }
+
+                    department(departmentId);
+                    evaluations(departmentId, director, hr, businessBlock);
+                }
+            }
+            flush();
+        }
+
+        private void department(UUID departmentId) {
+            int objectiveCount = request.getObjectivesPerDepartment();
+            for (int o = 0; o < objectiveCount; o++) {
+                UUID objectiveId = nextId();
+                add(INSERT_OBJECTIVE, objectiveId, "Objective " + (o + 1), weight(o, objectiveCount),
+                        departmentId, ObjectiveLevel.DEPARTMENT.name());
+                objectives++;
+
+                int keyResultCount = request.getKeyResultsPerObjective();
+                for (int k = 0; k < keyResultCount; k++) {
+                    keyResult(objectiveId, "KR" + (o + 1) + "." + (k + 1), weight(k, keyResultCount));
+                }
+            }
+        }
+
+        private void keyResult(UUID objectiveId, String name, int weight) {
+            KeyResult.MetricType type = metricType();
+            Double[] t = new Double[5];
+            if (type != KeyResult.MetricType.QUALITATIVE) {
+                // Five ascending thresholds; LOWER_BETTER uses them in reverse
+                double base = random.nextInt(10, 100);
+                double step = random.nextInt(5, 25);
+                for (int i = 0; i < 5; i++) {
+                    double value = base + i * step;
+                    t[type == KeyResult.MetricType.LOWER_BETTER ? 4 - i : i] = value;
+                }
+            }
+
+            String actual = null;
+            Double numeric = null;
+            String grade = null;
+            // Always draw, so the empty rate does not shift the values of the remaining key results
+            double position = actualPosition();
+            if (random.nextDouble() >= request.getEmptyActualRate()) {
+                if (type == KeyResult.MetricType.QUALITATIVE) {
+                    grade = GRADES[Math.max(0, Math.min(GRADES.length - 1, (int) Math.ceil((1 - position) * 4)))].name();
+                    actual = grade;
+                } else {
+                    // Position 0 = below threshold, 1 = exceptional threshold, for either direction
+                    double value = t[0] + position * (t[4] - t[0]);
+                    actual = String.format(Locale.ROOT, "%.2f", value);
+                    numeric = Double.parseDouble(actual);
+                }
+            }
+
+            add(INSERT_KEY_RESULT, nextId(), name, type.name(), type == KeyResult.MetricType.QUALITATIVE ? "" : "%",
+                    weight, t[0], t[1], t[2], t[3], t[4], actual, numeric, grade, random.nextInt(101), objectiveId);
+            keyResults++;
+        }
+
+        private void evaluations(UUID departmentId, UUID director, UUID hr, UUID businessBlock) {
+            double coverage = request.getEvaluationCoverage();
+            if (random.nextDouble() < coverage) {
+                double rating = directorMin + random.nextDouble() * (directorMax - directorMin);
+                evaluation(director, EvaluatorType.DIRECTOR, departmentId, Math.round(rating * 100) / 100.0, null);
+            }
+            if (random.nextDouble() < coverage) {
+                evaluation(hr, EvaluatorType.HR, departmentId, null, HR_GRADES[random.nextInt(HR_GRADES.length)]);
+            }
+            if (random.nextDouble() < coverage) {
+                evaluation(businessBlock, EvaluatorType.BUSINESS_BLOCK, departmentId, (double) random.nextInt(1, 6), null);
+            }
+        }
+
+        private void evaluation(UUID evaluator, EvaluatorType type, UUID departmentId, Double numeric, String letter) {
+            add(INSERT_EVALUATION, nextId(), evaluator, type.name(), departmentId, numeric, letter,
+                    EvaluationStatus.SUBMITTED.name(), now, now, now);
+            evaluations++;
+        }
+
+        private UUID user(String username, String fullName, Role role, boolean canEdit) {
+            UUID id = nextId();
+            add(INSERT_USER, id, username, username + "@okr-tracker.test", passwordHash, fullName, role.name(),
+                    canEdit, now, now);
+            users++;
+            return id;
+        }
+
+        private KeyResult.MetricType metricType() {
+            int n = random.nextInt(mix[0] + mix[1] + mix[2]);
+            if (n < mix[0]) return KeyResult.MetricType.HIGHER_BETTER;
+            if (n < mix[0] + mix[1]) return KeyResult.MetricType.LOWER_BETTER;
+            return KeyResult.MetricType.QUALITATIVE;
+        }
+
+        /**
+         * Position of an actual value in its threshold range (0 = below, 1 = exceptional), may fall outside
+         */
+        private double actualPosition() {
+            return switch (request.getActualDistribution()) {
+                case UNIFORM -> -0.25 + random.nextDouble() * 1.5;
+                case NORMAL -> request.getActualMean() + random.nextGaussian() * request.getActualSpread();
+            };
+        }
+
+        /**
+         * Equal weights summing to 100, the remainder goes to the first items
+         */
+        private int weight(int index, int count) {
+            return 100 / count + (index < 100 % count ? 1 : 0);
+        }
+
+        /**
+         * Time-ordered UUID in the v7 layout, built from the seed instead of the clock
+         */
+        private UUID nextId() {
+            long millis = ID_EPOCH_MILLIS + idSequence++;
+            long msb = (millis << 16) | 0x7000L | (random.nextInt() & 0x0FFF);
+            long lsb = (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+            return new UUID(msb, lsb);
+        }
+
+        private void add(String sql, Object... row) {
+            pending.get(sql).add(row);
+            if (++pendingRows >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            for (Map.Entry<String, List<Object[]>> entry : pending.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    jdbcTemplate.batchUpdate(entry.getKey(), entry.getValue());
+                    entry.getValue().clear();
+                }
+            }
+            pendingRows = 0;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uz.garantbank.okrTrackingSystem.dto.CacheStatsDTO;
+import uz.garantbank.okrTrackingSystem.entity.Department;
+import uz.garantbank.okrTrackingSystem.entity.Role;
+import uz.garantbank.okrTrackingSystem.entity.User;
+import uz.garantbank.okrTrackingSystem.repository.UserRepository;
+
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded in-process cache of the user fields permission checks and token validation need
+ * (role, active, readOnly, canEditAssignedDepartments, assigned department IDs, tokens valid after).
+ *
+ * Entries expire after {@code app.security.user-cache.ttl-seconds} and the least recently used
+ * entry is evicted above {@code app.security.user-cache.max-size}. UserService invalidates a user
+ * after the transaction that changed it commits. A load that overlaps an invalidation is returned
+ * but not cached, so a stale snapshot never outlives the change.
+ */
+@Slf4j
+@Component
+public class UserSecurityCache {
+
+    /**
+     * Security-relevant state of a user at load time
+     */
+    public record Snapshot(
+            UUID id,
+            String username,
+            Role role,
+            boolean active,
+            boolean readOnly,
+            boolean canEditAssignedDepartments,
+            Set<String> assignedDepartmentIds,
+            // Epoch millisecond up to which issued tokens are revoked, null if never revoked
+            Long tokensValidAfter
+    ) {
+        /**
+         * Detached User carrying only the snapshot fields (no assigned departments loaded)
+         */
+        public User toUser() {
+            return User.builder()
+                    .id(id)
+                    .username(username)
+                    .role(role)
+                    .isActive(active)
+                    .readOnly(readOnly)
+                    .canEditAssignedDepartments(canEditAssignedDepartments)
+                    .build();
+        }
+    }
+
+    private record CachedSnapshot(Snapshot snapshot, long loadedAt) {
+    }
+
+    private final UserRepository userRepository;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<UUID, CachedSnapshot> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Bumped on every invalidation; loads that overlap one are not cached
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserSecurityCache(UserRepository userRepository,
+                             @Value("${app.security.user-cache.max-size:1000}") int maxSize,
+                             @Value("${app.security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Snapshot of the user, loaded on a miss; null if the user does not exist
+     */
+    public Snapshot get(UUID userId) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            CachedSnapshot entry = entries.get(userId);
+            if (entry != null && now - entry.loadedAt() < ttlMillis) {
+                hits.increment();
+                return entry.snapshot();
+            }
+        }
+        misses.increment();
+
+        long invalidationsBefore = invalidationCount.get();
+        Snapshot snapshot = load(userId);
+        if (snapshot == null) {
+            return null;
+        }
+
+        synchronized (entries) {
+            if (invalidationCount.get() == invalidationsBefore) {
+                entries.put(userId, new CachedSnapshot(snapshot, now));
+                evictOverflow();
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Drop the user's snapshot once the current transaction commits (immediately without one)
+     */
+    public void invalidate(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    /**
+     * Drop every snapshot once the current transaction commits (bulk user changes, e.g. generated data)
+     */
+    public void invalidateAll() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAll();
+                }
+            });
+        } else {
+            evictAll();
+        }
+    }
+
+    public CacheStatsDTO stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long requests = hitCount + missCount;
+        return CacheStatsDTO.builder()
+                .size(size)
+                .maxSize(maxSize)
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRate(requests > 0 ? (double) hitCount / requests : 0.0)
+                .evictions(evictions.sum())
+                .invalidations(invalidationCount.get())
+                .build();
+    }
+
+    private void evict(UUID userId) {
+        synchronized (entries) {
+            invalidationCount.incrementAndGet();
+            entries.remove(userId);
+        }
+        log.debug("User security snapshot invalidated: {}", userId);
+    }
+
+    private void evictAll() {
+        synchronized (entries) {
+            invalidationCount.incrementAndGet();
+            entries.clear();
+        }
+        log.debug("All user security snapshots invalidated");
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<UUID, CachedSnapshot>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private Snapshot load(UUID userId) {
+        return userRepository.findByIdWithDepartments(userId)
+                .map(user -> new Snapshot(
+                        user.getId(),
+                        user.getUsername(),
+                        user.getRole(),
+                        user.isActive(),
+                        user.isReadOnly(),
+                        user.isCanEditAssignedDepartments(),
+                        user.getAssignedDepartments().stream()
+                                .map(Department::getId)
+                                .collect(Collectors.toUnmodifiableSet()),
+                        user.getTokensValidAfter() != null
+                                ? user.getTokensValidAfter().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                                : null))
+                .orElse(null);
+    }
+}
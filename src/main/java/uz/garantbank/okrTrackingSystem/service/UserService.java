@@ -4,15 +4,20 @@ package uz.garantbank.okrTrackingSystem.service;
 import uz.garantbank.okrTrackingSystem.dto.*;
 import uz.garantbank.okrTrackingSystem.dto.user.*;
 import uz.garantbank.okrTrackingSystem.entity.Department;
+import uz.garantbank.okrTrackingSystem.entity.Evaluation;
+import uz.garantbank.okrTrackingSystem.entity.EvaluatorType;
 import uz.garantbank.okrTrackingSystem.entity.Role;
-import uz.garantbank.okrTrackingSystem.entity.ScoreLevel;
 import uz.garantbank.okrTrackingSystem.entity.User;
 import uz.garantbank.okrTrackingSystem.repository.DepartmentRepository;
-import uz.garantbank.okrTrackingSystem.repository.ScoreLevelRepository;
 import uz.garantbank.okrTrackingSystem.repository.UserRepository;
+import uz.garantbank.okrTrackingSystem.security.TokenRevocationService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -32,10 +37,13 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final DepartmentRepository departmentRepository;
-    private final ScoreLevelRepository scoreLevelRepository;
     private final PasswordEncoder passwordEncoder;
     private final FileUploadService fileUploadService;
     private final ScoreCalculationService scoreCalculationService;
+    private final ScoreAggregationTree scoreTree;
+    private final ParallelScoreService parallelScores;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserSecurityCache userSecurityCache;
 
     /**
      * Register a new user (legacy method for backward compatibility)
@@ -135,11 +143,16 @@ public class UserService {
         // Admin-only fields
         if (isAdmin) {
             log.info("Admin updating user {}: role={}, isActive={}", id, request.getRole(), request.getIsActive());
-            if (request.getRole() != null) {
+            if (request.getRole() != null && request.getRole() != user.getRole()) {
                 user.setRole(request.getRole());
+                // Issued tokens carry the old role
+                tokenRevocationService.revokeAll(user.getId());
             }
             if (request.getIsActive() != null) {
                 log.info("Setting isActive from {} to {}", user.isActive(), request.getIsActive());
+                if (user.isActive() && !request.getIsActive()) {
+                    tokenRevocationService.revokeAll(user.getId());
+                }
                 user.setActive(request.getIsActive());
             }
             if (request.getAssignedDepartmentIds() != null) {
@@ -165,6 +178,7 @@ public class UserService {
         }
 
         user = userRepository.save(user);
+        userSecurityCache.invalidate(user.getId());
         return convertToDTO(user);
     }
 
@@ -181,7 +195,9 @@ public class UserService {
             fileUploadService.deleteProfilePhoto(user.getProfilePhotoUrl());
         }
 
+        // Tokens of users that no longer exist are rejected once the cached snapshot is dropped
         userRepository.delete(user);
+        userSecurityCache.invalidate(id);
     }
 
     /**
@@ -196,6 +212,7 @@ public class UserService {
         assignDepartmentsInternal(user, departmentIds);
 
         user = userRepository.save(user);
+        userSecurityCache.invalidate(userId);
         return convertToDTO(user);
     }
 
@@ -209,6 +226,7 @@ public class UserService {
 
         user.getAssignedDepartments().removeIf(d -> d.getId().equals(departmentId));
         user = userRepository.save(user);
+        userSecurityCache.invalidate(userId);
         return convertToDTO(user);
     }
 
@@ -322,17 +340,6 @@ public class UserService {
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
     }
 
-    /**
-     * Update last login timestamp
-     */
-    @Transactional
-    public void updateLastLogin(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-        user.setLastLogin(java.time.LocalDateTime.now());
-        userRepository.save(user);
-    }
-
     /**
      * Internal helper to assign departments to a user
      */
@@ -372,6 +379,7 @@ public class UserService {
                 .canEditAssignedDepartments(user.isCanEditAssignedDepartments())
                 .readOnly(user.isReadOnly())
                 .lastLogin(user.getLastLogin())
+                .lastSeen(user.getLastSeen())
                 .assignedDepartments(deptSummaries)
                 .createdAt(user.getCreatedAt())
                 .build();
@@ -394,19 +402,67 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public List<UserWithScoreDTO> getAllUsersWithScores() {
-        try {
-            return userRepository.findAllWithDepartments().stream()
-                    .map(this::convertToUserWithScoreDTO)
-                    .collect(Collectors.toList());
-        } finally {
-            scoreCalculationService.clearCache();
+        List<User> users = userRepository.findAllWithDepartments();
+
+        Map<String, Department> departments = new HashMap<>();
+        for (User user : users) {
+            for (Department dept : user.getAssignedDepartments()) {
+                departments.putIfAbsent(dept.getId(), dept);
+            }
+        }
+
+        // Evaluations of all assigned departments in one query
+        Map<String, Map<EvaluatorType, Evaluation>> evaluations =
+                scoreCalculationService.loadSubmittedEvaluations("DEPARTMENT", departments.keySet());
+
+        // OKR score per department from the aggregation tree
+        // (the entity fallback touches lazy collections, so it stays on this thread)
+        Map<String, ScoreResult> okrScores = new HashMap<>();
+        for (Department dept : departments.values()) {
+            ScoreResult okrScore = scoreTree.departmentScore(dept.getId());
+            if (okrScore == null) {
+                okrScore = scoreCalculationService.calculateDepartmentScore(dept.getObjectives());
+            }
+            okrScores.put(dept.getId(), okrScore);
+        }
+
+        // Each department's combined score exactly once, on the score pool - shared by all its users
+        Map<String, DepartmentScoreResult> departmentScores =
+                parallelScores.calculateDepartmentScoresWithEvaluations(okrScores, evaluations);
+
+        return users.stream()
+                .map(user -> convertToUserWithScoreDTO(user, departmentScores))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Page of users with scores, optionally sorted by overall score (users without a score come last).
+     * Only the "overallScore" sort property is supported.
+     */
+    @Transactional(readOnly = true)
+    public Page<UserWithScoreDTO> getUsersWithScores(Pageable pageable) {
+        List<UserWithScoreDTO> users = new ArrayList<>(getAllUsersWithScores());
+
+        for (Sort.Order order : pageable.getSort()) {
+            if (!"overallScore".equals(order.getProperty())) {
+                throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            }
+            Comparator<Double> scoreOrder = order.isAscending()
+                    ? Comparator.naturalOrder()
+                    : Comparator.reverseOrder();
+            users.sort(Comparator.comparing(UserWithScoreDTO::getOverallScore,
+                    Comparator.nullsLast(scoreOrder)));
         }
+
+        int from = (int) Math.min(pageable.getOffset(), users.size());
+        int to = (int) Math.min((long) from + pageable.getPageSize(), users.size());
+        return new PageImpl<>(users.subList(from, to), pageable, users.size());
     }
 
     /**
      * Convert User entity to UserWithScoreDTO with calculated overall score
      */
-    private UserWithScoreDTO convertToUserWithScoreDTO(User user) {
+    private UserWithScoreDTO convertToUserWithScoreDTO(User user, Map<String, DepartmentScoreResult> scoresByDepartment) {
         List<DepartmentSummaryDTO> deptSummaries = new ArrayList<>();
         List<Double> departmentScores = new ArrayList<>();
 
@@ -417,9 +473,8 @@ public class UserService {
                         .name(dept.getName())
                         .build());
 
-                // Calculate department score (finalScore if available, otherwise OKR score)
-                DepartmentScoreResult scoreResult = scoreCalculationService
-                        .calculateDepartmentScoreWithEvaluations(dept.getId(), dept.getObjectives());
+                // Department score (finalScore if available, otherwise OKR score)
+                DepartmentScoreResult scoreResult = scoresByDepartment.get(dept.getId());
 
                 Double score = scoreResult.getFinalCombinedScore();
                 if (score == null) {
@@ -444,17 +499,11 @@ public class UserService {
                     .orElse(0.0);
             overallScore = Math.round(overallScore * 100.0) / 100.0;
 
-            // Get score level and color from the calculation service
-            ScoreResult tempScore = ScoreResult.builder()
-                    .score(overallScore)
-                    .build();
-
-            // Calculate level and color using a helper
-            ScoreResult fullScore = scoreCalculationService.calculateDepartmentScore(Collections.emptySet());
-            // Use the createScoreResult-like logic
-            scoreLevel = getLevelForScore(overallScore);
-            scoreColor = getColorForLevel(scoreLevel);
-            scorePercentage = scoreToPercentage(overallScore);
+            // Level, color and percentage from the shared score level table
+            ScoreLevelTable levels = scoreCalculationService.getScoreLevels();
+            scoreLevel = levels.levelForScore(overallScore);
+            scoreColor = levels.colorForLevel(scoreLevel);
+            scorePercentage = levels.toPercentage(overallScore);
         }
 
         return UserWithScoreDTO.builder()
@@ -479,79 +528,4 @@ public class UserService {
                 .scorePercentage(scorePercentage)
                 .build();
     }
-
-    /**
-     * Get score level for a given score value using dynamic score levels
-     */
-    private String getLevelForScore(double score) {
-        List<ScoreLevel> levels = scoreLevelRepository.findAllByOrderByDisplayOrderAsc();
-
-        if (levels.isEmpty()) {
-            // Fallback to default logic (0.0-1.0 normalized scale)
-            if (score >= 0.98) return "исключительно";
-            if (score >= 0.86) return "превышает_ожидания";
-            if (score >= 0.51) return "на_уровне_ожиданий";
-            if (score >= 0.31) return "ниже_ожиданий";
-            return "не_соответствует";
-        }
-
-        // Sort by score value descending to find the appropriate level
-        List<ScoreLevel> sortedLevels = levels.stream()
-                .sorted(Comparator.comparingDouble(ScoreLevel::getScoreValue).reversed())
-                .toList();
-
-        for (ScoreLevel level : sortedLevels) {
-            if (score >= level.getScoreValue()) {
-                return level.getName().toLowerCase().replace(" ", "_");
-            }
-        }
-
-        return sortedLevels.get(sortedLevels.size() - 1).getName().toLowerCase().replace(" ", "_");
-    }
-
-    /**
-     * Get color for a given score level using dynamic score levels
-     */
-    private String getColorForLevel(String level) {
-        List<ScoreLevel> levels = scoreLevelRepository.findAllByOrderByDisplayOrderAsc();
-
-        if (levels.isEmpty()) {
-            return switch (level) {
-                case "исключительно" -> "#1e7b34";
-                case "превышает_ожидания" -> "#28a745";
-                case "на_уровне_ожиданий" -> "#5cb85c";
-                case "ниже_ожиданий" -> "#f0ad4e";
-                default -> "#d9534f";
-            };
-        }
-
-        String normalizedLevel = level.replace("_", " ");
-        for (ScoreLevel scoreLevel : levels) {
-            if (scoreLevel.getName().equalsIgnoreCase(normalizedLevel)) {
-                return scoreLevel.getColor();
-            }
-        }
-
-        return levels.get(0).getColor();
-    }
-
-    /**
-     * Convert score to percentage using dynamic score levels
-     */
-    private double scoreToPercentage(double score) {
-        List<ScoreLevel> levels = scoreLevelRepository.findAllByOrderByDisplayOrderAsc();
-
-        double minScore = 0.0;
-        double maxScore = 1.0;
-
-        if (!levels.isEmpty()) {
-            minScore = levels.stream().mapToDouble(ScoreLevel::getScoreValue).min().orElse(0.0);
-            maxScore = levels.stream().mapToDouble(ScoreLevel::getScoreValue).max().orElse(1.0);
-        }
-
-        double range = maxScore - minScore;
-        if (range == 0) return 0.0;
-
-        return Math.round(((score - minScore) / range) * 1000.0) / 10.0;
-    }
 }
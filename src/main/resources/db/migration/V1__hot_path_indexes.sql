@@ -0,0 +1,36 @@
+-- Indexes for the lookups done by the repositories.
+-- ddl-auto=update only creates primary keys, unique constraints, foreign keys and the @Index
+-- declarations on entities (persisted score columns), so every other lookup column is listed here.
+-- Single foreign key columns (objectives.department_id and employee_id, key_results.objective_id,
+-- department.division_id, division.leader_id) are not: H2 indexes every foreign key itself, and a
+-- second index on the same column would only be maintained on every write.
+
+-- EvaluationRepository: findByTargetTypeAndTargetId, ...AndStatus, ...TargetIdInAndStatus,
+-- ...AndEvaluatorTypeAndStatus (all prefixes of this index)
+CREATE INDEX IF NOT EXISTS idx_evaluations_target
+    ON evaluations (target_type, target_id, status, evaluator_type);
+
+-- EvaluationRepository: findByEvaluatorId, existsByEvaluatorAndTargetTypeAndTargetIdAndEvaluatorType
+CREATE INDEX IF NOT EXISTS idx_evaluations_evaluator
+    ON evaluations (evaluator_id, target_type, target_id, evaluator_type);
+
+-- DepartmentRepository: findRollupRows (ORDER BY name)
+CREATE INDEX IF NOT EXISTS idx_department_name
+    ON department (name);
+
+-- UserRepository: findByAssignedDepartmentId, findDepartmentLeadersInDepartments
+-- (the primary key is (user_id, department_id) and cannot serve lookups by department)
+CREATE INDEX IF NOT EXISTS idx_user_departments_department
+    ON user_departments (department_id, user_id);
+
+-- DivisionRepository: existsByName, findByName, findAllSummaries (ORDER BY name)
+CREATE INDEX IF NOT EXISTS idx_division_name
+    ON division (name);
+
+-- UserRepository: findByRole, findDepartmentLeadersInDepartments
+CREATE INDEX IF NOT EXISTS idx_users_role
+    ON users (role);
+
+-- ScoreLevelRepository: findAllByOrderByDisplayOrderAsc
+CREATE INDEX IF NOT EXISTS idx_score_levels_display_order
+    ON score_levels (display_order);
@@ -0,0 +1,114 @@
+package uz.garantbank.okrTrackingSystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks with EXPLAIN that the hot repository lookups are served by the expected index once the
+ * schema migrations have run. Lookups by a foreign key column use the index H2 creates for the
+ * foreign key, whose name is generated, so it is looked up in the information schema.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:explain;DB_CLOSE_DELAY=-1")
+class SchemaIndexExplainTest {
+
+    private static final String ID = "'01890a5d-ac96-774b-bcce-b302099a8057'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Arguments> migrationIndexQueries() {
+        return Stream.of(
+                Arguments.of("findByTargetTypeAndTargetIdAndStatus", "IDX_EVALUATIONS_TARGET",
+                        "SELECT * FROM evaluations WHERE target_type = 'DEPARTMENT' AND target_id = " + ID
+                                + " AND status = 'SUBMITTED'"),
+                Arguments.of("findByTargetTypeAndTargetIdInAndStatus", "IDX_EVALUATIONS_TARGET",
+                        "SELECT * FROM evaluations WHERE target_type = 'DEPARTMENT' AND target_id IN (" + ID
+                                + ") AND status = 'SUBMITTED'"),
+                Arguments.of("findByTargetTypeAndTargetIdAndEvaluatorTypeAndStatus", "IDX_EVALUATIONS_TARGET",
+                        "SELECT * FROM evaluations WHERE target_type = 'DEPARTMENT' AND target_id = " + ID
+                                + " AND evaluator_type = 'HR' AND status = 'SUBMITTED'"),
+                Arguments.of("existsByEvaluatorAndTargetTypeAndTargetIdAndEvaluatorType", "IDX_EVALUATIONS_EVALUATOR",
+                        "SELECT id FROM evaluations WHERE evaluator_id = " + ID + " AND target_type = 'DEPARTMENT'"
+                                + " AND target_id = " + ID + " AND evaluator_type = 'HR'"),
+                Arguments.of("findByAssignedDepartmentId", "IDX_USER_DEPARTMENTS_DEPARTMENT",
+                        "SELECT user_id FROM user_departments WHERE department_id = " + ID),
+                Arguments.of("findByName", "IDX_DIVISION_NAME",
+                        "SELECT * FROM division WHERE name = 'Default Division'"),
+                Arguments.of("findByRole", "IDX_USERS_ROLE",
+                        "SELECT * FROM users WHERE role = 'DIRECTOR'")
+        );
+    }
+
+    static Stream<Arguments> foreignKeyQueries() {
+        return Stream.of(
+                Arguments.of("findByEvaluatorId", "EVALUATIONS", "EVALUATOR_ID",
+                        "SELECT * FROM evaluations WHERE evaluator_id = " + ID),
+                Arguments.of("findByDepartmentId", "OBJECTIVES", "DEPARTMENT_ID",
+                        "SELECT * FROM objectives WHERE department_id = " + ID),
+                Arguments.of("findByObjectiveId", "KEY_RESULTS", "OBJECTIVE_ID",
+                        "SELECT * FROM key_results WHERE objective_id = " + ID),
+                Arguments.of("findByDivisionId", "DEPARTMENT", "DIVISION_ID",
+                        "SELECT * FROM department WHERE division_id = " + ID),
+                Arguments.of("findByDivisionLeaderId", "DIVISION", "LEADER_ID",
+                        "SELECT * FROM division WHERE leader_id = " + ID),
+                Arguments.of("findByDepartmentIdWithKeyResults", "OBJECTIVES", "DEPARTMENT_ID",
+                        "SELECT o.id, k.id FROM objectives o LEFT JOIN key_results k ON k.objective_id = o.id "
+                                + "WHERE o.department_id = " + ID)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("migrationIndexQueries")
+    void hotQueryUsesMigrationIndex(String repositoryMethod, String expectedIndex, String sql) {
+        String plan = explain(sql);
+
+        assertThat(plan).as(repositoryMethod).doesNotContain("tableScan");
+        assertThat(plan).as(repositoryMethod).containsIgnoringCase(expectedIndex);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("foreignKeyQueries")
+    void foreignKeyLookupUsesIndexOnColumn(String repositoryMethod, String table, String column, String sql) {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS " +
+                        "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = ? AND COLUMN_NAME = ? AND ORDINAL_POSITION = 1",
+                String.class, table, column);
+        String plan = explain(sql);
+
+        assertThat(indexes).as(repositoryMethod).isNotEmpty();
+        assertThat(plan).as(repositoryMethod).doesNotContain("tableScan");
+        assertThat(indexes).as(repositoryMethod).anyMatch(plan::contains);
+    }
+
+    @Test
+    void noIndexDuplicatesForeignKeyIndexOrIsUnused() {
+        // Single-column indexes on foreign key columns, and users.updated_at, which nothing looks up by
+        Integer redundant = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_SCHEMA = SCHEMA() AND INDEX_NAME IN " +
+                        "('IDX_OBJECTIVES_DEPARTMENT', 'IDX_OBJECTIVES_EMPLOYEE', 'IDX_KEY_RESULTS_OBJECTIVE', " +
+                        "'IDX_DEPARTMENT_DIVISION', 'IDX_DIVISION_LEADER', 'IDX_USERS_UPDATED_AT')", Integer.class);
+
+        assertThat(redundant).isZero();
+    }
+
+    @Test
+    void everyMigrationIsRecorded() throws Exception {
+        Integer recorded = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_migrations", Integer.class);
+
+        assertThat(recorded).isEqualTo(SchemaMigrationRunner.findMigrations().size());
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
@@ -0,0 +1,99 @@
+package uz.garantbank.okrTrackingSystem.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import uz.garantbank.okrTrackingSystem.entity.Role;
+import uz.garantbank.okrTrackingSystem.entity.User;
+import uz.garantbank.okrTrackingSystem.repository.UserRepository;
+import uz.garantbank.okrTrackingSystem.service.UserSecurityCache;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tokens issued up to a revocation are rejected, tokens issued after it are accepted,
+ * even within the same second. The users table is a mocked repository holding one user.
+ */
+class TokenRevocationServiceTest {
+
+    private final UUID userId = UUID.randomUUID();
+    // users.tokens_valid_after of the user
+    private final AtomicReference<LocalDateTime> tokensValidAfter = new AtomicReference<>();
+
+    private JwtTokenProvider tokenProvider;
+    private TokenRevocationService revocationService;
+    private UserDetailsImpl principal;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .id(userId)
+                .username("leader")
+                .role(Role.DEPARTMENT_LEADER)
+                .isActive(true)
+                .build();
+        principal = UserDetailsImpl.build(user);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.revokeTokens(eq(userId), any())).thenAnswer(invocation -> {
+            tokensValidAfter.set(invocation.getArgument(1));
+            return 1;
+        });
+        when(userRepository.findByIdWithDepartments(userId)).thenAnswer(invocation -> {
+            user.setTokensValidAfter(tokensValidAfter.get());
+            return Optional.of(user);
+        });
+
+        UserSecurityCache cache = new UserSecurityCache(userRepository, 100, 300);
+        revocationService = new TokenRevocationService(userRepository, cache);
+
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret",
+                "TestSecretKeyThatIsAtLeast256BitsLongForTheHS256SigningAlgorithm");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 60_000L);
+        tokenProvider.init();
+    }
+
+    @Test
+    void loginRightAfterRevocationIsAccepted() {
+        String before = tokenProvider.generateToken(principal);
+        assertThat(isRevoked(before)).isFalse();
+
+        revocationService.revokeAll(userId);
+        long revokedAt = tokensValidAfter.get().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        // Next millisecond: the new token is issued after the revocation, most likely in the same second
+        while (System.currentTimeMillis() <= revokedAt) {
+            Thread.onSpinWait();
+        }
+        String after = tokenProvider.generateToken(principal);
+
+        assertThat(isRevoked(before)).as("token issued before the revocation").isTrue();
+        assertThat(isRevoked(after)).as("token issued right after the revocation").isFalse();
+    }
+
+    @Test
+    void tokenWithoutMillisecondClaimUsesWholeSeconds() {
+        String token = tokenProvider.generateToken(principal);
+        Claims claims = tokenProvider.parseToken(token);
+        claims.remove(JwtTokenProvider.CLAIM_ISSUED_AT_MS);
+
+        assertThat(tokenProvider.getIssuedAtMillis(claims)).isEqualTo(claims.getIssuedAt().getTime());
+        assertThat(tokenProvider.getIssuedAtMillis(claims) % 1000).isZero();
+    }
+
+    private boolean isRevoked(String token) {
+        return revocationService.isRevoked(userId, tokenProvider.getIssuedAtMillis(tokenProvider.parseToken(token)));
+    }
+}
@@ -0,0 +1,119 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.garantbank.okrTrackingSystem.dto.ScoreLevelDTO;
+import uz.garantbank.okrTrackingSystem.entity.Evaluation;
+import uz.garantbank.okrTrackingSystem.entity.EvaluationStatus;
+import uz.garantbank.okrTrackingSystem.entity.EvaluatorType;
+import uz.garantbank.okrTrackingSystem.entity.Role;
+import uz.garantbank.okrTrackingSystem.entity.User;
+import uz.garantbank.okrTrackingSystem.repository.EvaluationRepository;
+import uz.garantbank.okrTrackingSystem.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round trips per bulk write path, counted with {@link SqlStatementCounter}:
+ * rows of one table must go out as one JDBC batch (up to hibernate.jdbc.batch_size rows),
+ * and bulk status changes as a single UPDATE.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulkwrites;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "uz.garantbank.okrTrackingSystem.service.SqlStatementCounter"
+})
+class BulkWriteStatementCountTest {
+
+    @Autowired
+    private OkrService okrService;
+
+    @Autowired
+    private ScoreLevelService scoreLevelService;
+
+    @Autowired
+    private EvaluationService evaluationService;
+
+    @Autowired
+    private EvaluationRepository evaluationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void loadDemoDataInsertsEachTableInOneBatch() {
+        SqlStatementCounter.reset();
+
+        okrService.loadDemoData();
+
+        // 7 users, 6 objectives, 21 key results, 3 department assignments
+        assertThat(SqlStatementCounter.count("insert into users")).isEqualTo(1);
+        assertThat(SqlStatementCounter.count("insert into objectives")).isEqualTo(1);
+        assertThat(SqlStatementCounter.count("insert into key_results")).isEqualTo(1);
+        assertThat(SqlStatementCounter.count("insert into user_departments")).isEqualTo(1);
+        assertThat(SqlStatementCounter.count("delete from evaluations")).isEqualTo(1);
+    }
+
+    @Test
+    void updateScoreLevelsReplacesLevelsWithOneDeleteAndOneInsertBatch() {
+        List<ScoreLevelDTO> levels = IntStream.range(0, 7)
+                .mapToObj(i -> ScoreLevelDTO.builder()
+                        .name("Level " + i)
+                        .scoreValue(i / 6.0)
+                        .color("#00000" + i)
+                        .displayOrder(i)
+                        .build())
+                .toList();
+        SqlStatementCounter.reset();
+
+        scoreLevelService.updateScoreLevels(levels);
+
+        assertThat(SqlStatementCounter.count("delete from score_levels")).isEqualTo(1);
+        assertThat(SqlStatementCounter.count("insert into score_levels")).isEqualTo(1);
+
+        scoreLevelService.resetToDefaults();
+    }
+
+    @Test
+    void draftMigrationIsASingleUpdate() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User evaluator = userRepository.save(User.builder()
+                    .username("evaluator-" + UUID.randomUUID())
+                    .email(UUID.randomUUID() + "@okr-tracker.com")
+                    .password("x")
+                    .fullName("Evaluator")
+                    .role(Role.HR)
+                    .build());
+            List<Evaluation> drafts = new ArrayList<>();
+            for (int i = 0; i < 120; i++) {
+                drafts.add(Evaluation.builder()
+                        .evaluator(evaluator)
+                        .evaluatorType(EvaluatorType.HR)
+                        .targetType("DEPARTMENT")
+                        .targetId(UUID.randomUUID())
+                        .letterRating("B")
+                        .status(EvaluationStatus.DRAFT)
+                        .build());
+            }
+            evaluationRepository.saveAll(drafts);
+        });
+        SqlStatementCounter.reset();
+
+        evaluationService.migrateDraftEvaluationsToSubmitted();
+
+        assertThat(SqlStatementCounter.total()).isEqualTo(1);
+        assertThat(SqlStatementCounter.count("update evaluations")).isEqualTo(1);
+        assertThat(evaluationRepository.findAll())
+                .allMatch(e -> e.getStatus() == EvaluationStatus.SUBMITTED && e.getSubmittedAt() != null);
+    }
+}
@@ -0,0 +1,128 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import uz.garantbank.okrTrackingSystem.dto.DepartmentDTO;
+import uz.garantbank.okrTrackingSystem.dto.ExcelImportResultDTO;
+import uz.garantbank.okrTrackingSystem.dto.KeyResultDTO;
+import uz.garantbank.okrTrackingSystem.dto.ObjectiveDTO;
+import uz.garantbank.okrTrackingSystem.dto.ThresholdDTO;
+import uz.garantbank.okrTrackingSystem.entity.Division;
+import uz.garantbank.okrTrackingSystem.entity.KeyResult;
+import uz.garantbank.okrTrackingSystem.entity.Role;
+import uz.garantbank.okrTrackingSystem.entity.User;
+import uz.garantbank.okrTrackingSystem.repository.DivisionRepository;
+import uz.garantbank.okrTrackingSystem.repository.UserRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uz.garantbank.okrTrackingSystem.entity.KeyResult.MetricType.HIGHER_BETTER;
+import static uz.garantbank.okrTrackingSystem.entity.KeyResult.MetricType.LOWER_BETTER;
+import static uz.garantbank.okrTrackingSystem.entity.KeyResult.MetricType.QUALITATIVE;
+
+/**
+ * An exported workbook imported again must recreate the same key results: unset values stay unset
+ * (no placeholder grade or 0), grades and numbers come back exactly as they were stored.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:excelroundtrip;DB_CLOSE_DELAY=-1")
+class ExcelRoundTripTest {
+
+    private static final String DEPARTMENT = "Round trip department";
+    private static final ThresholdDTO PERCENT = ThresholdDTO.builder()
+            .below(0.0).meets(25.0).good(50.0).veryGood(75.0).exceptional(100.0).build();
+
+    @Autowired
+    private OkrService okrService;
+
+    @Autowired
+    private ExcelExportService exportService;
+
+    @Autowired
+    private ExcelImportService importService;
+
+    @Autowired
+    private DivisionRepository divisionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void exportThenImportKeepsKeyResults() throws Exception {
+        Division division = new Division();
+        division.setName("Round trip division");
+        division = divisionRepository.save(division);
+        User admin = userRepository.save(User.builder()
+                .username("roundtrip-admin")
+                .email("roundtrip-admin@okr-tracker.com")
+                .password("-")
+                .role(Role.ADMIN)
+                .build());
+
+        DepartmentDTO department = okrService.createDepartment(DepartmentDTO.builder()
+                .name(DEPARTMENT).divisionId(division.getId()).build());
+        ObjectiveDTO objective = okrService.createObjective(department.getId(), ObjectiveDTO.builder()
+                .name("Round trip objective").weight(100).build());
+        createKeyResult(objective, "Unset number", HIGHER_BETTER, PERCENT, null);
+        createKeyResult(objective, "Unset grade", QUALITATIVE, new ThresholdDTO(), null);
+        createKeyResult(objective, "Grade", QUALITATIVE, new ThresholdDTO(), "B");
+        createKeyResult(objective, "Precise number", HIGHER_BETTER, ThresholdDTO.builder()
+                .below(0.125).meets(1234.5678901234).good(5e6).veryGood(123456789012.25).exceptional(2e12).build(),
+                "1234567.891234567");
+        createKeyResult(objective, "Small number", LOWER_BETTER, ThresholdDTO.builder()
+                .below(0.001).meets(0.0005).good(0.00025).veryGood(0.0001).exceptional(0.00001).build(),
+                "0.000125");
+        Map<String, KeyResultDTO> exported = keyResults();
+
+        ByteArrayOutputStream workbook = new ByteArrayOutputStream();
+        exportService.writeExcel(okrService.getAllDepartments(), workbook);
+        okrService.deleteDepartment(department.getId());
+
+        ExcelImportResultDTO result = importService.importExcel(new MockMultipartFile("file", "okr_export.xlsx",
+                "application/octet-stream", workbook.toByteArray()), division.getId(), admin);
+
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getKeyResultsCreated()).isEqualTo(exported.size());
+        Map<String, KeyResultDTO> imported = keyResults();
+        assertThat(imported).containsOnlyKeys(exported.keySet());
+        exported.forEach((name, before) -> {
+            KeyResultDTO after = imported.get(name);
+            assertThat(after.getMetricType()).as(name).isEqualTo(before.getMetricType());
+            assertThat(after.getActualValue()).as(name).isEqualTo(before.getActualValue());
+            assertThat(after.getThresholds()).as(name).isEqualTo(before.getThresholds());
+            assertThat(after.getScore()).as(name).isEqualTo(before.getScore());
+        });
+        assertThat(imported.get("Unset grade").getActualValue()).isNull();
+        assertThat(imported.get("Unset number").getActualValue()).isNull();
+    }
+
+    private void createKeyResult(ObjectiveDTO objective, String name, KeyResult.MetricType type,
+                                 ThresholdDTO thresholds, String actualValue) {
+        okrService.createKeyResult(objective.getId(), KeyResultDTO.builder()
+                .name(name)
+                .metricType(type)
+                .weight(20)
+                .thresholds(thresholds)
+                .actualValue(actualValue)
+                .build());
+    }
+
+    /**
+     * Key results of the test department as the API returns them, by name
+     */
+    private Map<String, KeyResultDTO> keyResults() {
+        Map<String, KeyResultDTO> keyResults = new LinkedHashMap<>();
+        List<DepartmentDTO> departments = okrService.getAllDepartments();
+        departments.stream()
+                .filter(dept -> DEPARTMENT.equals(dept.getName()))
+                .flatMap(dept -> dept.getObjectives().stream())
+                .flatMap(obj -> obj.getKeyResults().stream())
+                .forEach(kr -> keyResults.put(kr.getName(), kr));
+        return keyResults;
+    }
+}
@@ -0,0 +1,102 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uz.garantbank.okrTrackingSystem.dto.DepartmentScoreResult;
+import uz.garantbank.okrTrackingSystem.dto.ScoreResult;
+import uz.garantbank.okrTrackingSystem.entity.Evaluation;
+import uz.garantbank.okrTrackingSystem.entity.EvaluatorType;
+import uz.garantbank.okrTrackingSystem.repository.EvaluationRepository;
+import uz.garantbank.okrTrackingSystem.repository.ScoreLevelRepository;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Scores calculated on the score pool must be identical to the sequential path, in the same order.
+ */
+class ParallelScoreServiceTest {
+
+    private static final int DEPARTMENTS = 2_000;
+    private static final String[] HR_GRADES = {"A", "B", "C", "D"};
+
+    private ScoreCalculationService scoreService;
+    private ParallelScoreService parallel;
+    private ParallelScoreService sequential;
+
+    @BeforeEach
+    void setUp() {
+        // No configured levels: the built-in defaults are used
+        ScoreLevelRegistry registry = new ScoreLevelRegistry(mock(ScoreLevelRepository.class));
+        scoreService = new ScoreCalculationService(registry, mock(EvaluationRepository.class));
+        parallel = new ParallelScoreService(scoreService, 4, 1);
+        sequential = new ParallelScoreService(scoreService, 4, Integer.MAX_VALUE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallel.shutdown();
+        sequential.shutdown();
+    }
+
+    @Test
+    void combinedDepartmentScoresMatchSequentialAboveThreshold() {
+        SplittableRandom random = new SplittableRandom(42);
+        ScoreLevelTable levels = scoreService.getScoreLevels();
+        Map<String, ScoreResult> okrScores = new LinkedHashMap<>();
+        Map<String, Map<EvaluatorType, Evaluation>> evaluations = new LinkedHashMap<>();
+
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            String id = UUID.randomUUID().toString();
+            okrScores.put(id, i % 10 == 0
+                    ? scoreService.emptyScore()
+                    : scoreService.createScoreResult(levels.minScore() + random.nextDouble() * levels.range()));
+
+            // Every combination of present / missing evaluations
+            Map<EvaluatorType, Evaluation> evals = new EnumMap<>(EvaluatorType.class);
+            if (random.nextBoolean()) {
+                evals.put(EvaluatorType.DIRECTOR, Evaluation.builder()
+                        .numericRating(levels.minScore() + random.nextDouble() * levels.range()).build());
+            }
+            if (random.nextBoolean()) {
+                evals.put(EvaluatorType.HR, Evaluation.builder()
+                        .letterRating(HR_GRADES[random.nextInt(HR_GRADES.length)]).build());
+            }
+            if (random.nextBoolean()) {
+                evals.put(EvaluatorType.BUSINESS_BLOCK, Evaluation.builder()
+                        .numericRating((double) random.nextInt(1, 6)).build());
+            }
+            evaluations.put(id, evals);
+        }
+
+        Map<String, DepartmentScoreResult> expected =
+                sequential.calculateDepartmentScoresWithEvaluations(okrScores, evaluations);
+        Map<String, DepartmentScoreResult> actual =
+                parallel.calculateDepartmentScoresWithEvaluations(okrScores, evaluations);
+
+        assertThat(actual).containsExactlyEntriesOf(expected);
+        assertThat(expected).hasSize(DEPARTMENTS);
+        // Same result as scoring each department directly
+        okrScores.forEach((id, okrScore) -> assertThat(actual.get(id)).isEqualTo(
+                scoreService.calculateDepartmentScoreWithEvaluations(okrScore, evaluations.get(id))));
+    }
+
+    @Test
+    void mapReturnsResultsInInputOrderAboveThreshold() {
+        List<Integer> items = IntStream.range(0, DEPARTMENTS).boxed().toList();
+
+        List<String> results = parallel.map(items, i -> "item-" + i);
+
+        assertThat(results).isEqualTo(sequential.map(items, i -> "item-" + i));
+        assertThat(results).hasSize(DEPARTMENTS).startsWith("item-0").endsWith("item-" + (DEPARTMENTS - 1));
+    }
+}
@@ -0,0 +1,226 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import uz.garantbank.okrTrackingSystem.entity.Department;
+import uz.garantbank.okrTrackingSystem.entity.Division;
+import uz.garantbank.okrTrackingSystem.entity.KeyResult;
+import uz.garantbank.okrTrackingSystem.entity.Objective;
+import uz.garantbank.okrTrackingSystem.repository.DepartmentRepository;
+import uz.garantbank.okrTrackingSystem.repository.EvaluationRepository;
+import uz.garantbank.okrTrackingSystem.repository.ScoreLevelRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Incremental path updates must leave the tree exactly as a full rebuild from the same data would.
+ * The "database" is the entity graph returned by the mocked repository; every change is made to it
+ * first and then reported to the tree, like OkrService does. Without a transaction the reported
+ * changes are applied immediately.
+ */
+class ScoreAggregationTreeTest {
+
+    private static final KeyResult.MetricType[] TYPES = KeyResult.MetricType.values();
+    private static final String[] GRADES = {"A", "B", "C", "D", "E"};
+
+    private final SplittableRandom random = new SplittableRandom(7);
+    private final List<Department> departments = new ArrayList<>();
+    private final List<Division> divisions = new ArrayList<>();
+    private ScoreAggregationTree tree;
+
+    @BeforeEach
+    void setUp() {
+        // No configured levels: the built-in defaults are used
+        ScoreLevelRegistry registry = new ScoreLevelRegistry(mock(ScoreLevelRepository.class));
+        ScoreCalculationService scoreService = new ScoreCalculationService(registry, mock(EvaluationRepository.class));
+        DepartmentRepository departmentRepository = mock(DepartmentRepository.class);
+        when(departmentRepository.findAllWithObjectives()).thenAnswer(invocation -> new ArrayList<>(departments));
+        tree = new ScoreAggregationTree(scoreService, departmentRepository, mock(PlatformTransactionManager.class));
+
+        for (int i = 0; i < 3; i++) {
+            divisions.add(division());
+        }
+        // The last division has a single department, so moving it away empties the division
+        for (int i = 0; i < 5; i++) {
+            Department department = department(divisions.get(Math.min(i / 2, 2)));
+            for (int o = 0; o < 3; o++) {
+                Objective objective = objective(department, o == 2 ? 40 : 30);
+                for (int k = 0; k < 4; k++) {
+                    keyResult(objective);
+                }
+            }
+        }
+    }
+
+    @Test
+    void incrementalUpdatesMatchRebuild() {
+        assertThat(tree.rebuild()).as("first build has nothing to compare with").isEqualTo(-1);
+        assertThat(tree.rebuild()).isZero();
+
+        // Single key result value
+        KeyResult single = firstKeyResult(0, 0);
+        changeActualValue(single);
+        tree.keyResultSaved(single);
+
+        // Several key results across departments in one bulk update
+        List<KeyResult> bulk = new ArrayList<>();
+        for (int d = 0; d < departments.size(); d++) {
+            KeyResult kr = firstKeyResult(d, 1);
+            changeActualValue(kr);
+            bulk.add(kr);
+        }
+        tree.keyResultsSaved(bulk);
+
+        // New key result
+        KeyResult added = keyResult(objectives(1).get(0));
+        tree.keyResultSaved(added);
+
+        // Removed key result
+        Objective withRemoval = objectives(2).get(0);
+        KeyResult removed = withRemoval.getKeyResults().iterator().next();
+        withRemoval.getKeyResults().remove(removed);
+        tree.keyResultRemoved(removed.getId());
+
+        // Removed objective (with its key results)
+        Objective removedObjective = objectives(3).get(2);
+        departments.get(3).getObjectives().remove(removedObjective);
+        tree.objectiveRemoved(removedObjective.getId());
+
+        // New objective with key results
+        Objective newObjective = objective(departments.get(4), 25);
+        tree.objectiveSaved(newObjective);
+        List<KeyResult> newKeyResults = List.of(keyResult(newObjective), keyResult(newObjective));
+        tree.keyResultsSaved(newKeyResults);
+
+        // Objective weight changed (weight is part of the objective's hash code)
+        Objective reweighted = objectives(0).get(1);
+        departments.get(0).getObjectives().remove(reweighted);
+        reweighted.setWeight(70);
+        departments.get(0).getObjectives().add(reweighted);
+        tree.objectiveSaved(reweighted);
+
+        // Department moved to another division
+        Department moved = departments.get(1);
+        moved.setDivision(divisions.get(1));
+        tree.departmentSaved(moved);
+
+        // The only department of a division moved away: the division disappears
+        Department last = departments.get(4);
+        last.setDivision(divisions.get(0));
+        tree.departmentSaved(last);
+
+        // New department in a new division
+        Division newDivision = division();
+        Department newDepartment = department(newDivision);
+        tree.departmentSaved(newDepartment);
+        Objective newDepartmentObjective = objective(newDepartment, 100);
+        tree.objectiveSaved(newDepartmentObjective);
+        tree.keyResultSaved(keyResult(newDepartmentObjective));
+
+        // Removed department
+        Department removedDepartment = departments.remove(2);
+        tree.departmentRemoved(removedDepartment.getId());
+
+        assertThat(tree.rebuild()).isZero();
+    }
+
+    @Test
+    void rebuildDetectsUnreportedChange() {
+        tree.rebuild();
+
+        // Jump to the opposite end of the scale, so the score certainly changes; not reported to the tree
+        KeyResult kr = firstKeyResult(0, 0);
+        kr.getObjective().getKeyResults().remove(kr);
+        if (kr.getMetricType() == KeyResult.MetricType.QUALITATIVE) {
+            kr.applyActualValue("A".equals(kr.getActualValue()) ? "E" : "A");
+        } else {
+            double actual = kr.getActualNumeric() != null ? kr.getActualNumeric() : 0;
+            kr.applyActualValue(actual < 60 ? "120" : "0");
+        }
+        kr.getObjective().getKeyResults().add(kr);
+
+        assertThat(tree.rebuild()).isPositive();
+    }
+
+    // ==================== FIXTURES ====================
+
+    private Division division() {
+        Division division = new Division();
+        division.setId(UUID.randomUUID().toString());
+        division.setName("Division " + divisions.size());
+        return division;
+    }
+
+    private Department department(Division division) {
+        Department department = Department.builder()
+                .id(UUID.randomUUID().toString())
+                .name("Department " + departments.size())
+                .division(division)
+                .build();
+        departments.add(department);
+        return department;
+    }
+
+    private Objective objective(Department department, int weight) {
+        Objective objective = Objective.builder()
+                .id(UUID.randomUUID().toString())
+                .name("Objective " + UUID.randomUUID())
+                .weight(weight)
+                .department(department)
+                .build();
+        department.getObjectives().add(objective);
+        return objective;
+    }
+
+    private KeyResult keyResult(Objective objective) {
+        KeyResult kr = KeyResult.builder()
+                .id(UUID.randomUUID().toString())
+                .name("Key result " + UUID.randomUUID())
+                .metricType(TYPES[random.nextInt(TYPES.length)])
+                .weight(random.nextInt(10, 60))
+                .objective(objective)
+                .build();
+        kr.applyActualValue(randomActualValue(kr));
+        objective.getKeyResults().add(kr);
+        return kr;
+    }
+
+    /**
+     * New actual value; the key result's hash code depends on it, so it is re-added to its objective
+     */
+    private void changeActualValue(KeyResult kr) {
+        kr.getObjective().getKeyResults().remove(kr);
+        String previous = kr.getActualValue();
+        String value;
+        do {
+            value = randomActualValue(kr);
+        } while (value == null || value.equals(previous));
+        kr.applyActualValue(value);
+        kr.getObjective().getKeyResults().add(kr);
+    }
+
+    private String randomActualValue(KeyResult kr) {
+        if (random.nextInt(8) == 0) {
+            return null;
+        }
+        return kr.getMetricType() == KeyResult.MetricType.QUALITATIVE
+                ? GRADES[random.nextInt(GRADES.length)]
+                : String.valueOf(random.nextInt(0, 120));
+    }
+
+    private List<Objective> objectives(int department) {
+        return new ArrayList<>(departments.get(department).getObjectives());
+    }
+
+    private KeyResult firstKeyResult(int department, int objective) {
+        return objectives(department).get(objective).getKeyResults().iterator().next();
+    }
+}
@@ -0,0 +1,369 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import uz.garantbank.okrTrackingSystem.dto.ScoreResult;
+import uz.garantbank.okrTrackingSystem.entity.KeyResult;
+import uz.garantbank.okrTrackingSystem.entity.ScoreLevel;
+import uz.garantbank.okrTrackingSystem.repository.EvaluationRepository;
+import uz.garantbank.okrTrackingSystem.repository.ScoreLevelRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static uz.garantbank.okrTrackingSystem.entity.KeyResult.MetricType.HIGHER_BETTER;
+import static uz.garantbank.okrTrackingSystem.entity.KeyResult.MetricType.LOWER_BETTER;
+import static uz.garantbank.okrTrackingSystem.entity.KeyResult.MetricType.QUALITATIVE;
+
+/**
+ * Key result scores from ScoreKernel (through ScoreCalculationService) for each metric type,
+ * with the built-in levels and with levels configured in the database.
+ *
+ * Every row is checked twice: against the expected score and level written in the table, and
+ * against {@link LegacyScoring}, a copy of the list-based calculation ScoreKernel replaced.
+ */
+class ScoreCalculationServiceTest {
+
+    private static final double[] DEFAULT_THRESHOLDS = null;
+
+    // Four levels on a 1-5 scale: fewer levels than thresholds, so very good and exceptional share the top level
+    private static final List<ScoreLevel> CONFIGURED = List.of(
+            level("Провал", 1.0, "#111111", 1),
+            level("Слабо", 2.0, "#222222", 2),
+            level("Норма", 3.0, "#333333", 3),
+            level("Отлично", 5.0, "#555555", 4));
+
+    static Stream<Arguments> defaultLevelCases() {
+        return Stream.of(
+                // Default thresholds 0 / 25 / 50 / 75 / 100
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, null, 0.0, "не_соответствует"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "-5", 0.0, "не_соответствует"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "0", 0.0, "не_соответствует"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "24.99", 0.31, "не_соответствует"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "25", 0.31, "ниже_ожиданий"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "50", 0.51, "на_уровне_ожиданий"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "60", 0.65, "на_уровне_ожиданий"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "75", 0.86, "превышает_ожидания"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "99.99", 0.98, "превышает_ожидания"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "100", 0.98, "исключительно"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "120", 0.98, "исключительно"),
+                // Own thresholds
+                Arguments.of(HIGHER_BETTER, new double[]{10, 20, 30, 40, 50}, "45", 0.92, "превышает_ожидания"),
+                // Bands narrower than 1 are interpolated over a width of 1
+                Arguments.of(HIGHER_BETTER, new double[]{0, 0.5, 1, 1.5, 2}, "1.25", 0.6, "на_уровне_ожиданий"),
+
+                // Default thresholds 100 / 75 / 50 / 25 / 0; no value scores as 0, the best result
+                Arguments.of(LOWER_BETTER, DEFAULT_THRESHOLDS, null, 0.98, "исключительно"),
+                Arguments.of(LOWER_BETTER, DEFAULT_THRESHOLDS, "-1", 0.98, "исключительно"),
+                Arguments.of(LOWER_BETTER, DEFAULT_THRESHOLDS, "0", 0.98, "исключительно"),
+                Arguments.of(LOWER_BETTER, DEFAULT_THRESHOLDS, "25", 0.86, "превышает_ожидания"),
+                Arguments.of(LOWER_BETTER, DEFAULT_THRESHOLDS, "40", 0.65, "на_уровне_ожиданий"),
+                Arguments.of(LOWER_BETTER, DEFAULT_THRESHOLDS, "50", 0.51, "на_уровне_ожиданий"),
+                Arguments.of(LOWER_BETTER, DEFAULT_THRESHOLDS, "75", 0.31, "ниже_ожиданий"),
+                Arguments.of(LOWER_BETTER, DEFAULT_THRESHOLDS, "100", 0.0, "не_соответствует"),
+                Arguments.of(LOWER_BETTER, DEFAULT_THRESHOLDS, "101", 0.0, "не_соответствует"),
+                Arguments.of(LOWER_BETTER, new double[]{50, 40, 30, 20, 10}, "15", 0.92, "превышает_ожидания"),
+
+                Arguments.of(QUALITATIVE, DEFAULT_THRESHOLDS, "A", 0.98, "исключительно"),
+                Arguments.of(QUALITATIVE, DEFAULT_THRESHOLDS, " b ", 0.86, "превышает_ожидания"),
+                Arguments.of(QUALITATIVE, DEFAULT_THRESHOLDS, "C", 0.51, "на_уровне_ожиданий"),
+                Arguments.of(QUALITATIVE, DEFAULT_THRESHOLDS, "D", 0.31, "ниже_ожиданий"),
+                Arguments.of(QUALITATIVE, DEFAULT_THRESHOLDS, "E", 0.0, "не_соответствует"),
+                Arguments.of(QUALITATIVE, DEFAULT_THRESHOLDS, null, 0.0, "не_соответствует"),
+                Arguments.of(QUALITATIVE, DEFAULT_THRESHOLDS, "X", 0.0, "не_соответствует")
+        );
+    }
+
+    static Stream<Arguments> configuredLevelCases() {
+        return Stream.of(
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "-1", 1.0, "провал"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "0", 1.0, "провал"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "10", 1.4, "провал"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "25", 2.0, "слабо"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "60", 3.8, "норма"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "75", 5.0, "отлично"),
+                Arguments.of(HIGHER_BETTER, DEFAULT_THRESHOLDS, "100", 5.0, "отлично"),
+                // Bands narrower than 1 are interpolated over their real width here
+                Arguments.of(HIGHER_BETTER, new double[]{0, 0.5, 1, 1.5, 2}, "0.75", 2.5, "слабо"),
+
+                Arguments.of(LOWER_BETTER, DEFAULT_THRESHOLDS, "0", 5.0, "отлично"),
+                Arguments.of(LOWER_BETTER, DEFAULT_THRESHOLDS, "40", 3.8, "норма"),
+                Arguments.of(LOWER_BETTER, DEFAULT_THRESHOLDS, "50", 3.0, "норма"),
+                Arguments.of(LOWER_BETTER, DEFAULT_THRESHOLDS, "80", 1.8, "провал"),
+                Arguments.of(LOWER_BETTER, DEFAULT_THRESHOLDS, "100", 1.0, "провал"),
+                Arguments.of(LOWER_BETTER, DEFAULT_THRESHOLDS, "150", 1.0, "провал"),
+
+                Arguments.of(QUALITATIVE, DEFAULT_THRESHOLDS, "A", 5.0, "отлично"),
+                Arguments.of(QUALITATIVE, DEFAULT_THRESHOLDS, "B", 3.0, "норма"),
+                Arguments.of(QUALITATIVE, DEFAULT_THRESHOLDS, "C", 3.0, "норма"),
+                Arguments.of(QUALITATIVE, DEFAULT_THRESHOLDS, "D", 2.0, "слабо"),
+                Arguments.of(QUALITATIVE, DEFAULT_THRESHOLDS, "E", 1.0, "провал"),
+                Arguments.of(QUALITATIVE, DEFAULT_THRESHOLDS, null, 1.0, "провал")
+        );
+    }
+
+    @ParameterizedTest(name = "{0} {1} actual={2}")
+    @MethodSource("defaultLevelCases")
+    void scoresWithDefaultLevels(KeyResult.MetricType type, double[] thresholds, String actual,
+                                 double expectedScore, String expectedLevel) {
+        assertScore(List.of(), keyResult(type, thresholds, actual), expectedScore, expectedLevel);
+    }
+
+    @ParameterizedTest(name = "{0} {1} actual={2}")
+    @MethodSource("configuredLevelCases")
+    void scoresWithConfiguredLevels(KeyResult.MetricType type, double[] thresholds, String actual,
+                                    double expectedScore, String expectedLevel) {
+        assertScore(CONFIGURED, keyResult(type, thresholds, actual), expectedScore, expectedLevel);
+    }
+
+    @Test
+    void quantitativeScoresMatchLegacyAcrossRange() {
+        for (List<ScoreLevel> levels : List.of(List.<ScoreLevel>of(), CONFIGURED)) {
+            ScoreCalculationService service = service(levels);
+            LegacyScoring legacy = new LegacyScoring(levels);
+            for (KeyResult.MetricType type : List.of(HIGHER_BETTER, LOWER_BETTER)) {
+                for (int hundredths = -1000; hundredths <= 12000; hundredths += 7) {
+                    KeyResult kr = keyResult(type, null, String.valueOf(hundredths / 100.0));
+                    assertThat(service.calculateKeyResultScore(kr))
+                            .as("%s actual=%s levels=%d", type, kr.getActualValue(), levels.size())
+                            .isEqualTo(legacy.calculateKeyResultScore(kr));
+                }
+            }
+        }
+    }
+
+    private static void assertScore(List<ScoreLevel> levels, KeyResult kr, double expectedScore, String expectedLevel) {
+        ScoreResult result = service(levels).calculateKeyResultScore(kr);
+
+        assertThat(result.getScore()).isEqualTo(expectedScore);
+        assertThat(result.getLevel()).isEqualTo(expectedLevel);
+        assertThat(result).isEqualTo(new LegacyScoring(levels).calculateKeyResultScore(kr));
+    }
+
+    // ==================== FIXTURES ====================
+
+    private static ScoreCalculationService service(List<ScoreLevel> levels) {
+        ScoreLevelRepository repository = mock(ScoreLevelRepository.class);
+        when(repository.findAllByOrderByDisplayOrderAsc()).thenReturn(levels);
+        return new ScoreCalculationService(new ScoreLevelRegistry(repository), mock(EvaluationRepository.class));
+    }
+
+    private static ScoreLevel level(String name, double scoreValue, String color, int displayOrder) {
+        return ScoreLevel.builder()
+                .name(name)
+                .scoreValue(scoreValue)
+                .color(color)
+                .displayOrder(displayOrder)
+                .build();
+    }
+
+    private static KeyResult keyResult(KeyResult.MetricType type, double[] thresholds, String actual) {
+        KeyResult kr = KeyResult.builder()
+                .name("KR")
+                .metricType(type)
+                .build();
+        if (thresholds != null) {
+            kr.setThresholdBelow(thresholds[0]);
+            kr.setThresholdMeets(thresholds[1]);
+            kr.setThresholdGood(thresholds[2]);
+            kr.setThresholdVeryGood(thresholds[3]);
+            kr.setThresholdExceptional(thresholds[4]);
+        }
+        kr.applyActualValue(actual);
+        return kr;
+    }
+
+    /**
+     * The key result scoring as it was before ScoreKernel: level lists instead of a compiled table,
+     * actual values parsed on every call. Kept as the reference the kernel must agree with.
+     */
+    private static final class LegacyScoring {
+
+        private static final String[] DEFAULT_LEVELS = {
+                "не_соответствует", "ниже_ожиданий", "на_уровне_ожиданий", "превышает_ожидания", "исключительно"
+        };
+        private static final double[] DEFAULT_SCORES = {0.0, 0.31, 0.51, 0.86, 0.98};
+        private static final String[] DEFAULT_COLORS = {"#d9534f", "#f0ad4e", "#5cb85c", "#28a745", "#1e7b34"};
+
+        private final List<ScoreLevel> scoreLevels;
+
+        LegacyScoring(List<ScoreLevel> scoreLevels) {
+            this.scoreLevels = scoreLevels;
+        }
+
+        ScoreResult calculateKeyResultScore(KeyResult kr) {
+            if (kr.getMetricType() == QUALITATIVE) {
+                return calculateQualitativeScore(kr.getActualValue());
+            }
+
+            String actualValueStr = kr.getActualValue();
+            if (actualValueStr == null || actualValueStr.trim().isEmpty()) {
+                actualValueStr = "0";
+            }
+            double actualValue;
+            try {
+                actualValue = Double.parseDouble(actualValueStr);
+            } catch (NumberFormatException e) {
+                actualValue = 0;
+            }
+
+            return calculateQuantitativeScore(actualValue, kr.getMetricType(),
+                    kr.getThresholdBelow(), kr.getThresholdMeets(), kr.getThresholdGood(),
+                    kr.getThresholdVeryGood(), kr.getThresholdExceptional());
+        }
+
+        private ScoreResult calculateQualitativeScore(String grade) {
+            String normalizedGrade = grade != null ? grade.toUpperCase().trim() : "E";
+
+            if (scoreLevels.isEmpty()) {
+                int index = switch (normalizedGrade) {
+                    case "A" -> 4;
+                    case "B" -> 3;
+                    case "C" -> 2;
+                    case "D" -> 1;
+                    default -> 0;
+                };
+                return result(DEFAULT_SCORES[index], DEFAULT_LEVELS[index]);
+            }
+
+            List<ScoreLevel> sortedLevels = scoreLevels.stream()
+                    .sorted(Comparator.comparingDouble(ScoreLevel::getScoreValue))
+                    .toList();
+            int numLevels = sortedLevels.size();
+            int levelIndex = switch (normalizedGrade) {
+                case "A" -> numLevels - 1;
+                case "B" -> Math.min(numLevels - 2, numLevels - 1);
+                case "C" -> numLevels / 2;
+                case "D" -> 1;
+                default -> 0;
+            };
+            levelIndex = Math.max(0, Math.min(levelIndex, numLevels - 1));
+
+            ScoreLevel selectedLevel = sortedLevels.get(levelIndex);
+            return result(selectedLevel.getScoreValue(), key(selectedLevel));
+        }
+
+        private ScoreResult calculateQuantitativeScore(
+                double actual, KeyResult.MetricType type,
+                Double below, Double meets, Double good, Double veryGood, Double exceptional) {
+            boolean lowerBetter = type == LOWER_BETTER;
+            if (below == null) below = lowerBetter ? 100.0 : 0.0;
+            if (meets == null) meets = lowerBetter ? 75.0 : 25.0;
+            if (good == null) good = 50.0;
+            if (veryGood == null) veryGood = lowerBetter ? 25.0 : 75.0;
+            if (exceptional == null) exceptional = lowerBetter ? 0.0 : 100.0;
+
+            if (scoreLevels.isEmpty()) {
+                return calculateWithDefaultLevels(actual, lowerBetter,
+                        new double[]{below, meets, good, veryGood, exceptional});
+            }
+
+            int numLevels = scoreLevels.size();
+            List<double[]> thresholdScores = new ArrayList<>(List.of(
+                    new double[]{below, 0},
+                    new double[]{meets, Math.min(1, numLevels - 1)},
+                    new double[]{good, Math.min(2, numLevels - 1)},
+                    new double[]{veryGood, Math.min(3, numLevels - 1)},
+                    new double[]{exceptional, numLevels - 1}));
+            if (lowerBetter) {
+                thresholdScores.sort((ts1, ts2) -> Double.compare(ts2[0], ts1[0]));
+            } else {
+                thresholdScores.sort(Comparator.comparingDouble(ts -> ts[0]));
+            }
+
+            double score = scoreLevels.get(0).getScoreValue();
+            String level = key(scoreLevels.get(0));
+            for (int i = thresholdScores.size() - 1; i >= 0; i--) {
+                double[] ts = thresholdScores.get(i);
+                if (lowerBetter ? actual <= ts[0] : actual >= ts[0]) {
+                    int scoreIdx = (int) ts[1];
+                    if (i == thresholdScores.size() - 1) {
+                        score = scoreLevels.get(scoreIdx).getScoreValue();
+                    } else {
+                        double[] nextTs = thresholdScores.get(i + 1);
+                        double ratio = lowerBetter
+                                ? 1 - (actual - nextTs[0]) / Math.max(ts[0] - nextTs[0], 0.001)
+                                : (actual - ts[0]) / Math.max(nextTs[0] - ts[0], 0.001);
+                        double startScore = scoreLevels.get(scoreIdx).getScoreValue();
+                        double endScore = scoreLevels.get((int) nextTs[1]).getScoreValue();
+                        score = startScore + ratio * (endScore - startScore);
+                    }
+                    level = key(scoreLevels.get(scoreIdx));
+                    break;
+                }
+            }
+
+            double minScore = scoreLevels.stream().mapToDouble(ScoreLevel::getScoreValue).min().orElse(0.0);
+            double maxScore = scoreLevels.stream().mapToDouble(ScoreLevel::getScoreValue).max().orElse(1.0);
+            score = Math.min(Math.max(score, minScore), maxScore);
+            return result(Math.round(score * 100.0) / 100.0, level);
+        }
+
+        private ScoreResult calculateWithDefaultLevels(double actual, boolean lowerBetter, double[] t) {
+            // Bands from the best one down: exceptional, very good, good, meets, below
+            double score = DEFAULT_SCORES[0];
+            int level = 0;
+            for (int band = 4; band >= 0; band--) {
+                if (lowerBetter ? actual <= t[band] : actual >= t[band]) {
+                    if (band == 4) {
+                        score = DEFAULT_SCORES[4];
+                    } else {
+                        double ratio = lowerBetter
+                                ? 1 - (actual - t[band + 1]) / Math.max(t[band] - t[band + 1], 1)
+                                : (actual - t[band]) / Math.max(t[band + 1] - t[band], 1);
+                        score = DEFAULT_SCORES[band] + ratio * (DEFAULT_SCORES[band + 1] - DEFAULT_SCORES[band]);
+                    }
+                    level = band;
+                    break;
+                }
+            }
+            score = Math.min(Math.max(score, DEFAULT_SCORES[0]), DEFAULT_SCORES[4]);
+            return result(Math.round(score * 100.0) / 100.0, DEFAULT_LEVELS[level]);
+        }
+
+        private ScoreResult result(double score, String level) {
+            return ScoreResult.builder()
+                    .score(score)
+                    .level(level)
+                    .color(colorForLevel(level))
+                    .percentage(scoreToPercentage(score))
+                    .build();
+        }
+
+        private String colorForLevel(String level) {
+            if (scoreLevels.isEmpty()) {
+                for (int i = 0; i < DEFAULT_LEVELS.length; i++) {
+                    if (DEFAULT_LEVELS[i].equals(level)) {
+                        return DEFAULT_COLORS[i];
+                    }
+                }
+                return DEFAULT_COLORS[0];
+            }
+            for (ScoreLevel scoreLevel : scoreLevels) {
+                if (key(scoreLevel).equals(level)) {
+                    return scoreLevel.getColor();
+                }
+            }
+            return scoreLevels.get(0).getColor();
+        }
+
+        private double scoreToPercentage(double score) {
+            double minScore = scoreLevels.stream().mapToDouble(ScoreLevel::getScoreValue).min().orElse(0.0);
+            double maxScore = scoreLevels.stream().mapToDouble(ScoreLevel::getScoreValue).max().orElse(1.0);
+            double range = maxScore - minScore;
+            if (range == 0) return 0.0;
+            return Math.round(((score - minScore) / range) * 1000.0) / 10.0;
+        }
+
+        private static String key(ScoreLevel level) {
+            return level.getName().toLowerCase().replace(" ", "_");
+        }
+    }
+}
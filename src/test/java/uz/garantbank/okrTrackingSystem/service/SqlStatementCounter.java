@@ -0,0 +1,38 @@
+package uz.garantbank.okrTrackingSystem.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL statement Hibernate prepares. A JDBC batch is prepared once,
+ * so the recorded statements correspond to database round trips.
+ * Registered by class name via hibernate.session_factory.statement_inspector, hence the static state.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql.replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT));
+        return sql;
+    }
+
+    static void reset() {
+        STATEMENTS.clear();
+    }
+
+    static int total() {
+        return STATEMENTS.size();
+    }
+
+    /**
+     * Statements starting with the given prefix, e.g. "insert into key_results"
+     */
+    static long count(String prefix) {
+        return STATEMENTS.stream().filter(sql -> sql.startsWith(prefix)).count();
+    }
+}